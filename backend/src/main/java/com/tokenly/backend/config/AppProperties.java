@@ -1,5 +1,8 @@
 package com.tokenly.backend.config;
 
+import com.tokenly.backend.enums.ChallengeStoreMode;
+import com.tokenly.backend.enums.LoginAuditOverflow;
+import com.tokenly.backend.enums.SessionStoreMode;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
@@ -12,6 +15,16 @@ public class AppProperties {
     private final Url url = new Url();
     private final Auth auth = new Auth();
     private final Branding branding = new Branding();
+    private final Revocation revocation = new Revocation();
+    private final Introspection introspection = new Introspection();
+    private final Verification verification = new Verification();
+    private final Sessions sessions = new Sessions();
+    private final Hashing hashing = new Hashing();
+    private final Oidc oidc = new Oidc();
+    private final Challenges challenges = new Challenges();
+    private final LoginAudit loginAudit = new LoginAudit();
+    private final EmailOutbox emailOutbox = new EmailOutbox();
+    private final SmtpPool smtpPool = new SmtpPool();
 
     @Data
     public static class Url {
@@ -25,6 +38,100 @@ public class AppProperties {
         private int passwordResetTokenExpiryHours = 1;
         private int otpExpiryMinutes = 10;
         private int magicLinkExpiryMinutes = 15;
+        private long policyCacheTtlMs = 300_000; // backstop for a missed invalidation message
+    }
+
+    @Data
+    public static class Revocation {
+        private int bloomExpectedInsertions = 100_000;
+        private double bloomFalsePositiveRate = 0.01;
+        private long rebuildIntervalMs = 300_000;
+        private int epochRetentionMinutes = 1440; // must cover the longest access-token TTL
+    }
+
+    @Data
+    public static class Introspection {
+        private int maxBatchSize = 100;
+        private int maxCacheSeconds = 60;
+    }
+
+    @Data
+    public static class Verification {
+        private int cacheSize = 50_000;
+    }
+
+    @Data
+    public static class Sessions {
+        private SessionStoreMode store = SessionStoreMode.HYBRID;
+        private boolean redisWriteBehind = true; // redis store only: mirror sessions into MySQL
+        private String snapshotPath = ""; // memory store only: empty disables snapshots
+        private long snapshotIntervalMs = 60_000;
+        private int journalBatchSize = 500;
+        private long journalFlushIntervalMs = 1_000;
+        private int journalQueueCapacity = 100_000;
+        private String purgeCron = "0 0 2 * * *";
+        private int purgeRetentionDays = 7;
+        private int purgeBatchSize = 1_000;
+        private long purgePauseMs = 50;
+        private long purgeTimeBudgetMs = 600_000;
+        private long activityFlushIntervalMs = 60_000; // at most one last-use write per session per interval
+        private int activityMaxPending = 100_000;
+    }
+
+    @Data
+    public static class Hashing {
+        private int threads = 0; // 0 = one per available core
+        private int queueCapacity = 64;
+        private long waitTimeoutMs = 5_000; // queueing plus hashing, before the caller gets a 503
+        private long calibrationTargetMs = 250; // latency a single login hash should stay under
+        private int calibrationSamples = 3; // timed hashes per parameter set; the median is reported
+        private int rehashQueueCapacity = 1_000; // pending upgrades beyond this are dropped until the next login
+    }
+
+    @Data
+    public static class Oidc {
+        private String googleCertsUrl = "https://www.googleapis.com/oauth2/v1/certs";
+        private int keyRefreshAheadSeconds = 300; // refresh this long before the keys' Cache-Control expiry
+        private long keyRefreshCheckMs = 60_000;
+    }
+
+    @Data
+    public static class Challenges {
+        private ChallengeStoreMode store = ChallengeStoreMode.REDIS;
+        private int maxOtpAttempts = 5; // wrong codes before the code is discarded
+        private int memoryMaxEntries = 100_000; // memory store only: oldest pending challenges are evicted beyond this
+    }
+
+    @Data
+    public static class LoginAudit {
+        private int bufferCapacity = 65_536; // rounded up to a power of two
+        private int batchSize = 500; // rows per INSERT statement
+        private long flushIntervalMs = 1_000;
+        private LoginAuditOverflow overflow = LoginAuditOverflow.DROP;
+        private long blockTimeoutMs = 50; // block policy only: longest a login waits for buffer room
+    }
+
+    @Data
+    public static class EmailOutbox {
+        private int workers = 2; // delivery threads per node; 0 leaves delivery to other nodes
+        private int batchSize = 20;
+        private long pollIntervalMs = 1_000;
+        private int leaseSeconds = 120; // a claimed email is offered again after this if never marked sent
+        private int maxAttempts = 8;
+        private long initialBackoffMs = 5_000; // doubled per failed attempt
+        private long maxBackoffMs = 3_600_000;
+        private int retentionDays = 7; // sent and abandoned emails are purged after this
+        private String purgeCron = "0 30 3 * * *";
+    }
+
+    @Data
+    public static class SmtpPool {
+        private int maxConnections = 4; // concurrent connections to the SMTP host
+        private int maxMessagesPerConnection = 100; // many providers close the session around here
+        private long idleTimeoutMs = 30_000; // close idle connections before the server does
+        private long validateAfterIdleMs = 5_000; // NOOP a connection idle this long before reusing it
+        private long borrowTimeoutMs = 10_000;
+        private long evictionIntervalMs = 10_000;
     }
 
     @Data
@@ -1,5 +1,6 @@
 package com.tokenly.backend.config;
 
+import com.tokenly.backend.security.PasswordHashingExecutor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -9,7 +10,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class PasswordConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor hashingExecutor) {
+        return hashingExecutor.offload(new BCryptPasswordEncoder(12));
     }
 }
@@ -6,11 +6,14 @@ import com.tokenly.backend.dto.request.auth.*;
 import com.tokenly.backend.dto.responce.auth.AuthResponse;
 import com.tokenly.backend.entity.Application;
 import com.tokenly.backend.entity.User;
+import com.tokenly.backend.exception.UnauthorizedException;
 import com.tokenly.backend.mapper.AuthMapper;
 import com.tokenly.backend.service.AuthService;
 import com.tokenly.backend.service.SessionService;
 import com.tokenly.backend.service.UserService;
 import com.tokenly.backend.security.JwtService;
+import com.tokenly.backend.security.revocation.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -33,6 +36,7 @@ public class AuthController {
     private final UserService userService;
     private final SessionService sessionService;
     private final JwtService jwtService;
+    private final TokenRevocationService revocationService;
     private final AuthMapper authMapper;
     private final AppProperties appProperties;
 
@@ -109,13 +113,24 @@ public class AuthController {
         }
 
         String token = authHeader.substring(7);
-        UUID userId = jwtService.extractUserId(token);
+        Claims claims = jwtService.validateToken(token).getBody();
+        // Another application's token must not end that application's session
+        if (!application.getId().toString().equals(claims.get("appId", String.class))) {
+            throw new UnauthorizedException("Token was not issued for this application");
+        }
 
-        User user = userService.getUserById(application, userId);
-        
-        // Revoke all sessions for this user (simple implementation)
-        // TODO: Track session ID in JWT for single-session logout
-        sessionService.revokeAllUserSessions(user);
+        // The presented access token stops working immediately, not at its exp
+        revocationService.revokeToken(claims.getId(), claims.getExpiration().toInstant());
+
+        // End only the session this token was issued under; the user's other devices stay signed in
+        String sessionId = claims.get("sid", String.class);
+        if (sessionId != null) {
+            sessionService.revokeSessionIfPresent(UUID.fromString(sessionId));
+        } else {
+            // Tokens issued before they carried a session id
+            User user = userService.getUserById(application, UUID.fromString(claims.getSubject()));
+            sessionService.revokeAllUserSessions(user);
+        }
 
         return ResponseEntity.ok(ApiResponse.success("Logged out successfully", null));
     }
@@ -0,0 +1,78 @@
+package com.tokenly.backend.controller;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.dto.common.ApiResponse;
+import com.tokenly.backend.dto.request.auth.IntrospectionRequest;
+import com.tokenly.backend.dto.responce.auth.IntrospectionResponse;
+import com.tokenly.backend.dto.responce.auth.TokenIntrospection;
+import com.tokenly.backend.entity.ApiKey;
+import com.tokenly.backend.entity.Application;
+import com.tokenly.backend.exception.BadRequestException;
+import com.tokenly.backend.exception.UnauthorizedException;
+import com.tokenly.backend.security.util.ApiSecretVerifier;
+import com.tokenly.backend.service.TokenIntrospectionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/auth/introspect")
+@RequiredArgsConstructor
+@Tag(name = "Token Introspection", description = "Batched access-token validation for gateways and backend services")
+public class IntrospectionController {
+
+    private static final String API_SECRET_HEADER = "X-API-SECRET";
+
+    private final TokenIntrospectionService introspectionService;
+    private final ApiSecretVerifier apiSecretVerifier;
+    private final AppProperties appProperties;
+
+    @PostMapping
+    @Operation(summary = "Introspect tokens", description = "Requires the application's sk_ secret in the X-API-SECRET header")
+    public ResponseEntity<ApiResponse<IntrospectionResponse>> introspect(
+            @RequestAttribute Application application,
+            @RequestAttribute ApiKey apiKey,
+            @RequestHeader(value = API_SECRET_HEADER, required = false) String secret,
+            @Valid @RequestBody IntrospectionRequest request
+    ) {
+        if (!apiSecretVerifier.matches(apiKey, secret)) {
+            throw new UnauthorizedException("A valid secret key is required for introspection");
+        }
+
+        AppProperties.Introspection config = appProperties.getIntrospection();
+        if (request.getTokens().size() > config.getMaxBatchSize()) {
+            throw new BadRequestException("At most " + config.getMaxBatchSize() + " tokens per request");
+        }
+
+        List<TokenIntrospection> results = introspectionService.introspect(application, request.getTokens());
+
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl(results, config.getMaxCacheSeconds()))
+                .body(ApiResponse.success(new IntrospectionResponse(results)));
+    }
+
+    /**
+     * The answer holds until the earliest active token expires; the cap bounds how long
+     * a cached answer can hide a revocation.
+     */
+    private CacheControl cacheControl(List<TokenIntrospection> results, int maxCacheSeconds) {
+        long now = Instant.now().getEpochSecond();
+        long maxAge = results.stream()
+                .filter(TokenIntrospection::isActive)
+                .filter(result -> result.getExp() != null)
+                .mapToLong(result -> result.getExp() - now)
+                .min()
+                .orElse(maxCacheSeconds);
+
+        maxAge = Math.max(0, Math.min(maxAge, maxCacheSeconds));
+        return CacheControl.maxAge(Duration.ofSeconds(maxAge)).cachePrivate();
+    }
+}
@@ -60,12 +60,14 @@ public class AdminApiKeyController {
         Application application = getAndVerifyApplication(client, applicationId);
         log.info("Generating new API key '{}' for application: {}", 
                  request.getKeyName(), application.getAppName());
-        ApiKey apiKey = apiKeyService.generateApiKey(application, request.getKeyName());
+        ApiKeyService.ApiKeyWithPlaintext created = apiKeyService.createApiKey(application, request.getKeyName());
+        ApiKey apiKey = created.apiKey();
         
         ApiKeyResponse response = ApiKeyResponse.builder()
                 .publicKey(apiKey.getPublicKey())
                 .expiresAt(apiKey.getExpiresAt())
                 .active(apiKey.isActive())
+                .secretKey(created.secretKey())
                 .build();
         
         return ResponseEntity.ok(ApiResponse.success("API key generated successfully", response));
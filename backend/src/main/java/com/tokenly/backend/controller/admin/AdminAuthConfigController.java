@@ -2,6 +2,8 @@ package com.tokenly.backend.controller.admin;
 
 import com.tokenly.backend.dto.common.ApiResponse;
 import com.tokenly.backend.dto.request.admin.UpdateAuthConfigRequest;
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.dto.responce.admin.HashCalibrationResponse;
 import com.tokenly.backend.dto.responce.auth.AuthConfigResponse;
 import com.tokenly.backend.entity.Application;
 import com.tokenly.backend.entity.AuthConfig;
@@ -9,10 +11,14 @@ import com.tokenly.backend.entity.Client;
 import com.tokenly.backend.enums.AuthMode;
 import com.tokenly.backend.enums.LoginMethod;
 import com.tokenly.backend.enums.PasswordHashAlgorithm;
+import com.tokenly.backend.exception.BadRequestException;
 import com.tokenly.backend.exception.ForbiddenException;
 import com.tokenly.backend.repository.ApplicationRepository;
 import com.tokenly.backend.repository.AuthConfigRepository;
 import com.tokenly.backend.mapper.AuthMapper;
+import com.tokenly.backend.security.PasswordHashCalibrator;
+import com.tokenly.backend.security.PasswordHashParams;
+import com.tokenly.backend.security.policy.AuthPolicyCache;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -31,6 +37,9 @@ public class AdminAuthConfigController {
     private final ApplicationRepository applicationRepository;
     private final AuthConfigRepository authConfigRepository;
     private final AuthMapper authMapper;
+    private final AuthPolicyCache authPolicyCache;
+    private final PasswordHashCalibrator hashCalibrator;
+    private final AppProperties appProperties;
 
     @GetMapping
     public ResponseEntity<ApiResponse<AuthConfigResponse>> getAuthConfig(
@@ -52,9 +61,12 @@ public class AdminAuthConfigController {
                     c.setAccessTokenTtlMinutes(60);
                     c.setRefreshTokenTtlMinutes(43200);
                     c.setRefreshTokenEnabled(true);
+                    c.setRefreshGraceSeconds(10);
                     c.setSignupEnabled(true);
                     c.setEmailVerificationRequired(false);
-                    return authConfigRepository.save(c);
+                    AuthConfig saved = authConfigRepository.save(c);
+                    authPolicyCache.invalidate(application.getId());
+                    return saved;
                 });
 
         return ResponseEntity.ok(ApiResponse.success(authMapper.toResponse(config)));
@@ -80,20 +92,54 @@ public class AdminAuthConfigController {
         if (authConfigRequest.getAuthMode() != null) config.setAuthMode(authConfigRequest.getAuthMode());
         if (authConfigRequest.getLoginMethod() != null) config.setLoginMethod(authConfigRequest.getLoginMethod());
         if (authConfigRequest.getPasswordHashAlgorithm() != null) config.setPasswordHashAlgorithm(authConfigRequest.getPasswordHashAlgorithm());
+        config.setBcryptCost(authConfigRequest.getBcryptCost());
+        config.setArgon2MemoryKb(authConfigRequest.getArgon2MemoryKb());
+        config.setArgon2Iterations(authConfigRequest.getArgon2Iterations());
+        config.setArgon2Parallelism(authConfigRequest.getArgon2Parallelism());
+        config.setPbkdf2Iterations(authConfigRequest.getPbkdf2Iterations());
         
         config.setAccessTokenTtlMinutes(authConfigRequest.getAccessTokenTtlMinutes());
         config.setRefreshTokenTtlMinutes(authConfigRequest.getRefreshTokenTtlMinutes());
         config.setRefreshTokenEnabled(authConfigRequest.isRefreshTokenEnabled());
+        config.setRefreshGraceSeconds(authConfigRequest.getRefreshGraceSeconds());
+        config.setSlidingExpiryMinutes(authConfigRequest.getSlidingExpiryMinutes());
+        config.setMaxSessionsPerUser(authConfigRequest.getMaxSessionsPerUser());
         config.setSignupEnabled(authConfigRequest.isSignupEnabled());
         config.setEmailVerificationRequired(authConfigRequest.isEmailVerificationRequired());
         config.setJwtCustomClaims(authConfigRequest.getJwtCustomClaims());
         config.setGoogleClientId(authConfigRequest.getGoogleClientId());
         
         AuthConfig savedConfig = authConfigRepository.save(config);
+        authPolicyCache.invalidate(application.getId());
         
         return ResponseEntity.ok(ApiResponse.success("Auth configuration updated successfully", authMapper.toResponse(savedConfig)));
     }
 
+    /**
+     * Benchmark password work factors on this server and recommend, per algorithm, the strongest
+     * one whose hash stays under the target latency. Nothing is changed; apply a recommendation
+     * by sending its fields with PUT.
+     */
+    @PostMapping("/calibrate")
+    public ResponseEntity<ApiResponse<HashCalibrationResponse>> calibrateHashing(
+            HttpServletRequest request,
+            @PathVariable UUID applicationId,
+            @RequestParam(required = false) Long targetMs
+    ) {
+        Client client = getClient(request);
+        Application application = getAndVerifyApplication(client, applicationId);
+
+        long target = targetMs != null ? targetMs : appProperties.getHashing().getCalibrationTargetMs();
+        if (target < 10 || target > 5_000) {
+            throw new BadRequestException("targetMs must be between 10 and 5000");
+        }
+
+        AuthConfig config = authConfigRepository.findByApplication(application).orElse(null);
+        PasswordHashCalibrator.Calibration calibration = hashCalibrator.calibrate(target, PasswordHashParams.of(config));
+
+        return ResponseEntity.ok(ApiResponse.success(authMapper.toResponse(calibration)));
+    }
+
     private Client getClient(HttpServletRequest request) {
         Client client = (Client) request.getAttribute("client");
         if (client == null) {
@@ -3,7 +3,11 @@ package com.tokenly.backend.dto.request.admin;
 import com.tokenly.backend.enums.AuthMode;
 import com.tokenly.backend.enums.LoginMethod;
 import com.tokenly.backend.enums.PasswordHashAlgorithm;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Data;
 
 @Data
@@ -17,9 +21,40 @@ public class UpdateAuthConfigRequest {
     @NotNull
     private PasswordHashAlgorithm passwordHashAlgorithm;
 
+    @Min(10)
+    @Max(16)
+    private Integer bcryptCost;
+
+    @Min(8_192)
+    @Max(1_048_576)
+    private Integer argon2MemoryKb;
+
+    @Min(1)
+    @Max(10)
+    private Integer argon2Iterations;
+
+    @Min(1)
+    @Max(8)
+    private Integer argon2Parallelism;
+
+    @Min(100_000)
+    @Max(5_000_000)
+    private Integer pbkdf2Iterations;
+
     private Integer accessTokenTtlMinutes;
     private Integer refreshTokenTtlMinutes;
     private boolean refreshTokenEnabled;
+
+    @PositiveOrZero
+    @Max(60)
+    private Integer refreshGraceSeconds;
+
+    @Positive
+    private Integer slidingExpiryMinutes;
+
+    @Positive
+    private Integer maxSessionsPerUser;
+
     private boolean signupEnabled;
     private boolean emailVerificationRequired;
     private String jwtCustomClaims;
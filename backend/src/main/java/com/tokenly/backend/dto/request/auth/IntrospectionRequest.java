@@ -0,0 +1,13 @@
+package com.tokenly.backend.dto.request.auth;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class IntrospectionRequest {
+
+    @NotEmpty
+    private List<String> tokens;
+}
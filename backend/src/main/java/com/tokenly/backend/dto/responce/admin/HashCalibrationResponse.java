@@ -0,0 +1,33 @@
+package com.tokenly.backend.dto.responce.admin;
+
+import com.tokenly.backend.enums.PasswordHashAlgorithm;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class HashCalibrationResponse {
+    private long targetMs;
+    private Measurement current;
+    private Map<PasswordHashAlgorithm, Measurement> recommended;
+    private List<Measurement> measurements;
+
+    /**
+     * One parameter set, named like the auth-config fields so it can be sent back as-is
+     */
+    @Data
+    @Builder
+    public static class Measurement {
+        private PasswordHashAlgorithm passwordHashAlgorithm;
+        private Integer bcryptCost;
+        private Integer argon2MemoryKb;
+        private Integer argon2Iterations;
+        private Integer argon2Parallelism;
+        private Integer pbkdf2Iterations;
+        private double medianMs;
+        private boolean withinTarget;
+    }
+}
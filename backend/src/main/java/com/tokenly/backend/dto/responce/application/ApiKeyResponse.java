@@ -1,5 +1,6 @@
 package com.tokenly.backend.dto.responce.application;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Data;
 
@@ -12,4 +13,7 @@ public class ApiKeyResponse {
     private String publicKey;
     private Instant expiresAt;
     private boolean active;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String secretKey; // Only shown on creation, never again
 }
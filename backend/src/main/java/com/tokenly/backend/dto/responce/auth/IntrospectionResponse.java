@@ -0,0 +1,14 @@
+package com.tokenly.backend.dto.responce.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class IntrospectionResponse {
+
+    // Same order as the submitted tokens
+    private List<TokenIntrospection> results;
+}
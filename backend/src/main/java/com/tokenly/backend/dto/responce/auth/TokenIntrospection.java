@@ -0,0 +1,28 @@
+package com.tokenly.backend.dto.responce.auth;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Per-token result, modelled on RFC 7662. Inactive tokens carry no other fields.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenIntrospection {
+
+    private boolean active;
+    private String sub;
+    private String appId;
+    private String jti;
+    private Long iat;
+    private Long exp;
+    private Map<String, Object> claims;
+
+    public static TokenIntrospection inactive() {
+        return TokenIntrospection.builder().active(false).build();
+    }
+}
@@ -31,11 +31,21 @@ public class AuthConfig extends BaseEntity {
     @Column(length = 32)
     private PasswordHashAlgorithm passwordHashAlgorithm;
 
+    // Password work factor; null falls back to the algorithm's default
+    private Integer bcryptCost;
+    private Integer argon2MemoryKb;
+    private Integer argon2Iterations;
+    private Integer argon2Parallelism;
+    private Integer pbkdf2Iterations;
+
     // JWT
     private String jwtSecretHash;
     private Integer accessTokenTtlMinutes;
     private Integer refreshTokenTtlMinutes;
     private boolean refreshTokenEnabled;
+    private Integer refreshGraceSeconds; // Repeat presentations of a just-rotated token get the same pair
+    private Integer slidingExpiryMinutes; // Session use pushes expiresAt to at least now + this; null disables
+    private Integer maxSessionsPerUser; // Least recently used sessions are evicted beyond this; null = unlimited
 
     // behavior
     private boolean signupEnabled;
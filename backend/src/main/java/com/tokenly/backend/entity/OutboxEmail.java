@@ -0,0 +1,48 @@
+package com.tokenly.backend.entity;
+
+import com.tokenly.backend.enums.EmailOutboxStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Table(
+        name = "email_outbox",
+        indexes = {
+                @Index(name = "idx_outbox_due", columnList = "status, next_attempt_at")
+        }
+)
+@Getter
+@Setter
+public class OutboxEmail extends BaseEntity {
+
+    @Column(nullable = false)
+    private String recipient;
+
+    private String senderName;
+
+    // Both may carry codes and tokens; cleared as soon as the email is sent or given up on
+    @Column(length = 512)
+    private String subject;
+
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String htmlBody;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EmailOutboxStatus status = EmailOutboxStatus.PENDING;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    private Instant expiresAt; // null = never; discarded rather than delivered after this
+
+    @Column(length = 512)
+    private String lastError;
+
+    private Instant sentAt;
+}
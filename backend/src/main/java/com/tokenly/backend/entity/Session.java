@@ -13,7 +13,6 @@ import java.util.UUID;
         name = "sessions",
         indexes = {
                 @Index(name = "idx_session_user", columnList = "user_id"),
-                @Index(name = "idx_session_token_hash", columnList = "refreshTokenHash"),
                 @Index(name = "idx_session_family", columnList = "tokenFamily"),
                 @Index(name = "idx_session_user_revoked", columnList = "user_id,revoked,expiresAt")
         }
@@ -32,14 +31,20 @@ public class Session extends BaseEntity {
     @JoinColumn(name = "application_id", nullable = false)
     private Application application;
 
+    // Hash of the verifier half of the refresh token; lookups go by id (the selector half)
     @JsonIgnore
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String refreshTokenHash;
 
     // Token family for rotation tracking (all rotations share same family)
     @Column(nullable = false)
     private UUID tokenFamily;
 
+    // Position in the family: 0 at login, +1 per rotation. Presenting a lower generation than the
+    // family's current one is reuse of a rotated token.
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long generation;
+
     // Revocation tracking
     @Column(nullable = false)
     private boolean revoked = false;
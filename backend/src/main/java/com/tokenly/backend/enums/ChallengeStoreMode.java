@@ -0,0 +1,8 @@
+package com.tokenly.backend.enums;
+
+public enum ChallengeStoreMode {
+
+    REDIS,      // Shared by every node
+    MEMORY      // In-process and bounded; single node only
+
+}
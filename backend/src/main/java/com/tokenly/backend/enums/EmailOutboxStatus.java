@@ -0,0 +1,10 @@
+package com.tokenly.backend.enums;
+
+public enum EmailOutboxStatus {
+
+    PENDING,    // Waiting for its first or next delivery attempt
+    SENT,
+    FAILED,     // Gave up after app.email-outbox.max-attempts
+    EXPIRED     // Not delivered before its content stopped being useful (an OTP, a link)
+
+}
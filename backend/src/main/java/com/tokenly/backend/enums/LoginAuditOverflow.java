@@ -0,0 +1,8 @@
+package com.tokenly.backend.enums;
+
+public enum LoginAuditOverflow {
+
+    DROP,       // Discard the event and count it
+    BLOCK       // Wait up to app.login-audit.block-timeout-ms for room, then discard
+
+}
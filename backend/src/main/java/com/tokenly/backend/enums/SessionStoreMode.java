@@ -0,0 +1,9 @@
+package com.tokenly.backend.enums;
+
+public enum SessionStoreMode {
+
+    HYBRID,     // MySQL authoritative, Redis as a lookup cache
+    REDIS,      // Redis authoritative, MySQL optionally written behind as a journal
+    MEMORY      // In-process, optionally snapshotted to a local file; single node only
+
+}
@@ -0,0 +1,10 @@
+package com.tokenly.backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ServiceUnavailableException extends ApiException {
+
+    public ServiceUnavailableException(String message) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
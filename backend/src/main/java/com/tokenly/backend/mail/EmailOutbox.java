@@ -0,0 +1,137 @@
+package com.tokenly.backend.mail;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.entity.OutboxEmail;
+import com.tokenly.backend.enums.EmailOutboxStatus;
+import com.tokenly.backend.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The email_outbox table: emails are queued in the caller's transaction, so they are sent if and
+ * only if the change that triggered them commits, and survive a crash until delivered.
+ *
+ * Workers claim due rows with {@code FOR UPDATE SKIP LOCKED} and, in the same short transaction,
+ * push them a lease into the future and count the attempt; the send itself happens afterwards,
+ * without a connection held. A worker that dies mid-send leaves the row to be claimed again when
+ * the lease runs out, so delivery is at least once. Failed attempts are retried with exponential
+ * backoff until {@code app.email-outbox.max-attempts}.
+ *
+ * Emails carry login codes and tokens, so the subject and body are cleared as soon as a row is
+ * finished, and an email queued with a validity is discarded, not delivered, once that passes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailOutbox {
+
+    private static final int MAX_ERROR_LENGTH = 512;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AppProperties appProperties;
+
+    /**
+     * @param validFor how long the content is of use to the recipient (a code's or link's
+     *                 lifetime); null when it does not expire
+     */
+    @Transactional
+    public OutboxEmail enqueue(String recipient, String senderName, String subject, String htmlBody, Duration validFor) {
+        OutboxEmail email = new OutboxEmail();
+        email.setRecipient(recipient);
+        email.setSenderName(senderName);
+        email.setSubject(subject);
+        email.setHtmlBody(htmlBody);
+        email.setStatus(EmailOutboxStatus.PENDING);
+        email.setNextAttemptAt(Instant.now());
+        email.setExpiresAt(validFor != null ? email.getNextAttemptAt().plus(validFor) : null);
+
+        OutboxEmail saved = outboxRepository.save(email);
+        eventPublisher.publishEvent(new EmailQueuedEvent());
+        return saved;
+    }
+
+    /**
+     * Claim up to {@code limit} due emails for this worker until the lease expires. Due emails
+     * past their validity are expired instead of claimed.
+     */
+    @Transactional
+    public List<OutboxEmail> claimDue(int limit) {
+        Instant now = Instant.now();
+        Instant leaseUntil = now.plusSeconds(appProperties.getEmailOutbox().getLeaseSeconds());
+
+        List<OutboxEmail> claimed = new ArrayList<>();
+        for (OutboxEmail email : outboxRepository.lockDue(now, limit)) {
+            // Changes are written back on commit
+            if (email.getExpiresAt() != null && !email.getExpiresAt().isAfter(now)) {
+                log.warn("Discarding email {} to {}: expired before it could be delivered", email.getId(), email.getRecipient());
+                email.setStatus(EmailOutboxStatus.EXPIRED);
+                email.setSubject(null);
+                email.setHtmlBody(null);
+                continue;
+            }
+            email.setAttempts(email.getAttempts() + 1);
+            email.setNextAttemptAt(leaseUntil);
+            claimed.add(email);
+        }
+        return claimed;
+    }
+
+    public void recordSent(OutboxEmail email) {
+        Instant now = Instant.now();
+        outboxRepository.markFinished(email.getId(), EmailOutboxStatus.SENT, now, null, now);
+    }
+
+    public void recordFailure(OutboxEmail email, Exception error) {
+        Instant now = Instant.now();
+        String message = truncate(error.getClass().getSimpleName() + ": " + error.getMessage());
+
+        if (email.getAttempts() >= appProperties.getEmailOutbox().getMaxAttempts()) {
+            log.error("Giving up on email {} to {} after {} attempts: {}", email.getId(), email.getRecipient(), email.getAttempts(), message);
+            outboxRepository.markFinished(email.getId(), EmailOutboxStatus.FAILED, null, message, now);
+            return;
+        }
+
+        Instant retryAt = now.plus(backoff(email.getAttempts()));
+        if (email.getExpiresAt() != null && !retryAt.isBefore(email.getExpiresAt())) {
+            log.warn("Discarding email {} to {} after attempt {}: it would expire before the retry: {}", email.getId(), email.getRecipient(), email.getAttempts(), message);
+            outboxRepository.markFinished(email.getId(), EmailOutboxStatus.EXPIRED, null, message, now);
+            return;
+        }
+        log.warn("Email {} to {} failed (attempt {}), retrying at {}: {}", email.getId(), email.getRecipient(), email.getAttempts(), retryAt, message);
+        outboxRepository.reschedule(email.getId(), retryAt, message, now);
+    }
+
+    /**
+     * Initial backoff doubled per failed attempt, capped, with up to 20% jitter so a batch that
+     * failed together does not retry together
+     */
+    Duration backoff(int attempts) {
+        AppProperties.EmailOutbox config = appProperties.getEmailOutbox();
+        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        long delayMs = Math.min(config.getMaxBackoffMs(), config.getInitialBackoffMs() << doublings);
+        long jitterMs = ThreadLocalRandom.current().nextLong(delayMs / 5 + 1);
+        return Duration.ofMillis(delayMs + jitterMs);
+    }
+
+    /**
+     * Drop sent and abandoned emails older than the retention period
+     */
+    public int purgeFinished() {
+        Instant before = Instant.now().minus(Duration.ofDays(appProperties.getEmailOutbox().getRetentionDays()));
+        return outboxRepository.deleteFinishedBefore(EmailOutboxStatus.PENDING, before);
+    }
+
+    private static String truncate(String value) {
+        return value.length() > MAX_ERROR_LENGTH ? value.substring(0, MAX_ERROR_LENGTH) : value;
+    }
+}
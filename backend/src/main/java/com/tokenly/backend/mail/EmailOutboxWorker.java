@@ -0,0 +1,151 @@
+package com.tokenly.backend.mail;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.entity.OutboxEmail;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers the {@link EmailOutbox} on {@code app.email-outbox.workers} background threads.
+ *
+ * Each worker claims a batch, sends it over one SMTP connection, and records the outcomes; when nothing is due it sleeps
+ * until the poll interval passes or a newly queued email is committed. Workers on every node share
+ * the table, and SKIP LOCKED keeps them from claiming the same rows.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailOutboxWorker {
+
+    private final EmailOutbox emailOutbox;
+    private final MailTransport mailTransport;
+    private final AppProperties appProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Object signal = new Object();
+    private volatile boolean running;
+    private ExecutorService workers;
+    private Counter sent;
+    private Counter failed;
+
+    @PostConstruct
+    void start() {
+        sent = outcome("sent");
+        failed = outcome("failed");
+
+        int count = appProperties.getEmailOutbox().getWorkers();
+        if (count <= 0) {
+            return; // Another node delivers
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(count, runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < count; i++) {
+            workers.execute(this::run);
+        }
+    }
+
+    private Counter outcome(String result) {
+        return Counter.builder("tokenly.email.outbox.deliveries")
+                .description("Outbox delivery attempts")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        wakeUp();
+        if (workers != null) {
+            workers.shutdown();
+            // Emails claimed but not yet sent go out after their lease, from this or another node
+            workers.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmailQueued(EmailQueuedEvent event) {
+        wakeUp();
+    }
+
+    private void wakeUp() {
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+    }
+
+    private void run() {
+        long pollIntervalMs = appProperties.getEmailOutbox().getPollIntervalMs();
+        while (running) {
+            try {
+                if (deliverBatch() == 0) {
+                    synchronized (signal) {
+                        signal.wait(pollIntervalMs);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // Typically the database; back off for a poll interval and try again
+                log.error("Email outbox worker failed: {}", e.getMessage());
+                try {
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Claim and send one batch
+     *
+     * @return the number of emails claimed
+     */
+    int deliverBatch() {
+        List<OutboxEmail> batch = emailOutbox.claimDue(appProperties.getEmailOutbox().getBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<Exception> errors = mailTransport.sendAll(batch);
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEmail email = batch.get(i);
+            Exception error = errors.get(i);
+            if (error != null) {
+                failed.increment();
+                emailOutbox.recordFailure(email, error);
+            } else {
+                sent.increment();
+                emailOutbox.recordSent(email);
+            }
+        }
+        return batch.size();
+    }
+
+    @Scheduled(cron = "${app.email-outbox.purge-cron:0 30 3 * * *}")
+    public void purgeFinished() {
+        int purged = emailOutbox.purgeFinished();
+        if (purged > 0) {
+            log.info("Purged {} delivered or abandoned outbox emails", purged);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.tokenly.backend.mail;
+
+/**
+ * Published when an email is queued, so idle workers pick it up once its transaction commits
+ * instead of at their next poll
+ */
+public record EmailQueuedEvent() {
+}
@@ -0,0 +1,37 @@
+package com.tokenly.backend.mail;
+
+import com.tokenly.backend.entity.OutboxEmail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hands an outbox email to the mail server. Called only by {@link EmailOutboxWorker}, never on a
+ * request thread.
+ */
+public interface MailTransport {
+
+    /**
+     * @throws org.springframework.mail.MailException when the message was not accepted; the
+     *                                                outbox retries it later
+     */
+    void send(OutboxEmail email);
+
+    /**
+     * Send a batch, each email independently of the others
+     *
+     * @return per email, in order, null when it was accepted or the reason it was not
+     */
+    default List<Exception> sendAll(List<OutboxEmail> emails) {
+        List<Exception> errors = new ArrayList<>(emails.size());
+        for (OutboxEmail email : emails) {
+            try {
+                send(email);
+                errors.add(null);
+            } catch (Exception e) {
+                errors.add(e);
+            }
+        }
+        return errors;
+    }
+}
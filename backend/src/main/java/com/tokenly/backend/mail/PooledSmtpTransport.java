@@ -0,0 +1,253 @@
+package com.tokenly.backend.mail;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.entity.OutboxEmail;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SMTP delivery over a pool of open, authenticated connections to the {@code spring.mail} host.
+ *
+ * A connection is borrowed for a whole batch and returned afterwards, so the TCP, STARTTLS and AUTH
+ * handshakes are paid once per connection rather than once per message. At most
+ * {@code app.smtp-pool.max-connections} are open to the host at a time, the limit providers
+ * enforce per client. Idle connections are reused most recently used first and checked with a
+ * NOOP when they have been idle a while; they are closed after
+ * {@code app.smtp-pool.max-messages-per-connection} messages, and evicted when idle longer than
+ * {@code app.smtp-pool.idle-timeout-ms}, before the server drops them itself.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PooledSmtpTransport implements MailTransport {
+
+    private final MailProperties mailProperties;
+    private final AppProperties appProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.email.from}")
+    private String fromEmail;
+
+    private Session session;
+    private Semaphore permits;
+    private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private Counter opened;
+    private volatile boolean closed;
+
+    static final class PooledConnection {
+        private final Transport transport;
+        private int messages;
+        private volatile long lastUsed; // Read by the evictor while idle
+
+        private PooledConnection(Transport transport) {
+            this.transport = transport;
+            this.lastUsed = System.currentTimeMillis();
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        Properties properties = new Properties();
+        properties.putAll(mailProperties.getProperties());
+        session = Session.getInstance(properties);
+        permits = new Semaphore(appProperties.getSmtpPool().getMaxConnections(), true);
+
+        opened = Counter.builder("tokenly.smtp.connections.opened")
+                .description("SMTP connections opened, including the handshake and login")
+                .register(meterRegistry);
+        Gauge.builder("tokenly.smtp.connections.idle", idle, ConcurrentLinkedDeque::size)
+                .description("Open SMTP connections waiting to be reused")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        closed = true;
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            close(connection);
+        }
+    }
+
+    @Override
+    public void send(OutboxEmail email) {
+        Exception error = sendAll(List.of(email)).get(0);
+        if (error instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (error != null) {
+            throw new MailSendException("Failed to send email", error);
+        }
+    }
+
+    @Override
+    public List<Exception> sendAll(List<OutboxEmail> emails) {
+        List<Exception> errors = new ArrayList<>(emails.size());
+        acquirePermit();
+        PooledConnection connection = null;
+        try {
+            for (OutboxEmail email : emails) {
+                MimeMessage message;
+                try {
+                    message = toMessage(email);
+                } catch (MailPreparationException e) {
+                    errors.add(e);
+                    continue;
+                }
+
+                try {
+                    if (connection == null) {
+                        connection = borrow();
+                    }
+                    connection.transport.sendMessage(message, message.getAllRecipients());
+                    connection.messages++;
+                    errors.add(null);
+                } catch (SendFailedException e) {
+                    errors.add(new MailSendException("Recipient rejected", e)); // The connection itself is fine
+                } catch (MessagingException | IllegalStateException e) {
+                    // The connection is in an unknown state; the rest of the batch gets a fresh one
+                    errors.add(new MailSendException("Failed to send email", e));
+                    if (connection != null) {
+                        close(connection);
+                        connection = null;
+                    }
+                } catch (RuntimeException e) {
+                    errors.add(e);
+                }
+
+                if (connection != null && connection.messages >= appProperties.getSmtpPool().getMaxMessagesPerConnection()) {
+                    close(connection);
+                    connection = null;
+                }
+            }
+        } finally {
+            if (connection != null) {
+                release(connection);
+            }
+            permits.release();
+        }
+        return errors;
+    }
+
+    private void acquirePermit() {
+        try {
+            if (!permits.tryAcquire(appProperties.getSmtpPool().getBorrowTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                throw new MailSendException("All SMTP connections are busy");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted waiting for an SMTP connection");
+        }
+    }
+
+    /**
+     * The most recently used idle connection that is still healthy, or a new one. Holds a permit.
+     */
+    private PooledConnection borrow() throws MessagingException {
+        long now = System.currentTimeMillis();
+        AppProperties.SmtpPool config = appProperties.getSmtpPool();
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            long idleMs = now - connection.lastUsed;
+            if (idleMs >= config.getIdleTimeoutMs()) {
+                close(connection);
+            } else if (idleMs >= config.getValidateAfterIdleMs() && !connection.transport.isConnected()) {
+                close(connection); // isConnected() sends a NOOP on an open SMTP connection
+            } else {
+                return connection;
+            }
+        }
+        return open();
+    }
+
+    private PooledConnection open() throws MessagingException {
+        Transport transport = session.getTransport(mailProperties.getProtocol());
+        transport.connect(mailProperties.getHost(), mailProperties.getPort() != null ? mailProperties.getPort() : -1,
+                mailProperties.getUsername(), mailProperties.getPassword());
+        opened.increment();
+        return new PooledConnection(transport);
+    }
+
+    private void release(PooledConnection connection) {
+        if (closed) {
+            close(connection);
+            return;
+        }
+        connection.lastUsed = System.currentTimeMillis();
+        idle.offerFirst(connection);
+    }
+
+    /**
+     * Close connections idle longer than the idle timeout. They sit at the tail, since reuse
+     * takes from the head.
+     */
+    @Scheduled(
+            fixedDelayString = "${app.smtp-pool.eviction-interval-ms:10000}",
+            initialDelayString = "${app.smtp-pool.eviction-interval-ms:10000}"
+    )
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - appProperties.getSmtpPool().getIdleTimeoutMs();
+        Iterator<PooledConnection> oldest = idle.descendingIterator();
+        while (oldest.hasNext()) {
+            PooledConnection connection = oldest.next();
+            if (connection.lastUsed > cutoff) {
+                break;
+            }
+            if (idle.removeFirstOccurrence(connection)) {
+                close(connection);
+            }
+        }
+    }
+
+    int idleConnections() {
+        return idle.size();
+    }
+
+    private MimeMessage toMessage(OutboxEmail email) {
+        try {
+            MimeMessage message = new MimeMessage(session);
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            helper.setFrom(fromEmail, email.getSenderName()); // The application's name as the sender name
+            helper.setTo(email.getRecipient());
+            helper.setSubject(email.getSubject());
+            helper.setText(email.getHtmlBody(), true);
+            message.saveChanges();
+            return message;
+        } catch (Exception e) {
+            throw new MailPreparationException("Could not build email", e);
+        }
+    }
+
+    private static void close(PooledConnection connection) {
+        try {
+            connection.transport.close(); // Sends QUIT
+        } catch (MessagingException e) {
+            log.debug("Closing SMTP connection failed: {}", e.getMessage());
+        }
+    }
+}
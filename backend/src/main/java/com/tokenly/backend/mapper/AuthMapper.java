@@ -1,11 +1,18 @@
 package com.tokenly.backend.mapper;
 
+import com.tokenly.backend.dto.responce.admin.HashCalibrationResponse;
 import com.tokenly.backend.dto.responce.auth.AuthConfigResponse;
 import com.tokenly.backend.dto.responce.auth.AuthResponse;
 import com.tokenly.backend.entity.AuthConfig;
+import com.tokenly.backend.enums.PasswordHashAlgorithm;
+import com.tokenly.backend.security.PasswordHashCalibrator;
+import com.tokenly.backend.security.PasswordHashParams;
 
 import org.springframework.stereotype.Component;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 @Component
 public class AuthMapper {
 
@@ -21,6 +28,36 @@ public class AuthMapper {
                 .build();
     }
 
+    public HashCalibrationResponse toResponse(PasswordHashCalibrator.Calibration calibration) {
+        Map<PasswordHashAlgorithm, HashCalibrationResponse.Measurement> recommended =
+                new EnumMap<>(PasswordHashAlgorithm.class);
+        calibration.recommended().forEach((algorithm, measurement) -> recommended.put(algorithm, toResponse(measurement)));
+
+        return HashCalibrationResponse.builder()
+                .targetMs(calibration.targetMs())
+                .current(toResponse(calibration.current()))
+                .recommended(recommended)
+                .measurements(calibration.measurements().stream().map(this::toResponse).toList())
+                .build();
+    }
+
+    private HashCalibrationResponse.Measurement toResponse(PasswordHashCalibrator.Measurement measurement) {
+        PasswordHashParams params = measurement.params();
+        HashCalibrationResponse.Measurement.MeasurementBuilder builder = HashCalibrationResponse.Measurement.builder()
+                .passwordHashAlgorithm(params.algorithm())
+                .medianMs(measurement.millis())
+                .withinTarget(measurement.withinTarget());
+
+        switch (params.algorithm()) {
+            case BCRYPT -> builder.bcryptCost(params.cost());
+            case ARGON2 -> builder.argon2MemoryKb(params.memoryKb())
+                    .argon2Iterations(params.cost())
+                    .argon2Parallelism(params.parallelism());
+            case PBKDF2 -> builder.pbkdf2Iterations(params.cost());
+        }
+        return builder.build();
+    }
+
     public AuthResponse toAuthResponse(
             String accessToken,
             String refreshToken,
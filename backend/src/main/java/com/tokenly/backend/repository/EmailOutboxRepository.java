@@ -0,0 +1,53 @@
+package com.tokenly.backend.repository;
+
+import com.tokenly.backend.entity.OutboxEmail;
+import com.tokenly.backend.enums.EmailOutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface EmailOutboxRepository extends JpaRepository<OutboxEmail, UUID> {
+
+    /**
+     * Lock due emails for the rest of the caller's transaction. Rows another worker holds are
+     * skipped rather than waited for (MySQL 8+).
+     */
+    @Query(value = """
+            SELECT * FROM email_outbox
+            WHERE status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY next_attempt_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEmail> lockDue(Instant now, int limit);
+
+    // Bulk updates bypass @UpdateTimestamp, so updatedAt is set explicitly; the purge keys on it
+
+    /**
+     * Finish an email (sent, failed or expired), dropping its subject and body: they may hold
+     * codes and tokens, and only the delivery record is kept until the purge
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE OutboxEmail e SET e.status = :status, e.sentAt = :sentAt, e.lastError = :error, e.updatedAt = :at,
+                                     e.subject = null, e.htmlBody = null
+            WHERE e.id = :id
+            """)
+    int markFinished(UUID id, EmailOutboxStatus status, Instant sentAt, String error, Instant at);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEmail e SET e.nextAttemptAt = :nextAttemptAt, e.lastError = :error, e.updatedAt = :at WHERE e.id = :id")
+    int reschedule(UUID id, Instant nextAttemptAt, String error, Instant at);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEmail e WHERE e.status <> :pending AND e.updatedAt < :before")
+    int deleteFinishedBefore(EmailOutboxStatus pending, Instant before);
+}
@@ -8,31 +8,46 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface SessionRepository extends JpaRepository<Session, UUID> {
 
-    Optional<Session> findByRefreshTokenHashAndRevokedFalse(String refreshTokenHash);
+    @Query("SELECT s FROM Session s JOIN FETCH s.user WHERE s.id = :id")
+    Optional<Session> findWithUserById(UUID id);
 
     List<Session> findAllByUserAndRevokedFalse(User user);
 
-    List<Session> findAllByTokenFamilyAndRevokedFalse(UUID tokenFamily);
+    @Query("SELECT MAX(s.generation) FROM Session s WHERE s.tokenFamily = :tokenFamily")
+    Optional<Long> findCurrentGeneration(UUID tokenFamily);
+
+    @Query("SELECT s.id FROM Session s WHERE s.tokenFamily = :tokenFamily AND s.revoked = false")
+    List<UUID> findActiveIdsByTokenFamily(UUID tokenFamily);
+
+    /**
+     * Revoke a session only if it is still active; 0 means another request got there first
+     */
+    @Modifying
+    @Query("UPDATE Session s SET s.revoked = true, s.revokedAt = :revokedAt WHERE s.id = :id AND s.revoked = false")
+    int revokeIfActive(UUID id, Instant revokedAt);
 
     @Modifying
-    @Query("UPDATE Session s SET s.revoked = true, s.revokedAt = :revokedAt WHERE s.user = :user AND s.id != :exceptSessionId AND s.revoked = false")
-    void revokeAllUserSessionsExcept(User user, UUID exceptSessionId, Instant revokedAt);
+    @Query("UPDATE Session s SET s.revoked = true, s.revokedAt = :revokedAt WHERE s.id IN :ids AND s.revoked = false")
+    void revokeAllById(Collection<UUID> ids, Instant revokedAt);
 
     @Modifying
-    @Query("UPDATE Session s SET s.revoked = true, s.revokedAt = :revokedAt WHERE s.user = :user AND s.revoked = false")
-    void revokeAllUserSessions(User user, Instant revokedAt);
+    @Query("UPDATE Session s SET s.revoked = true, s.revokedAt = :revokedAt WHERE s.user.id = :userId AND s.id != :exceptSessionId AND s.revoked = false")
+    void revokeAllUserSessionsExcept(UUID userId, UUID exceptSessionId, Instant revokedAt);
+
+    @Modifying
+    @Query("UPDATE Session s SET s.revoked = true, s.revokedAt = :revokedAt WHERE s.user.id = :userId AND s.revoked = false")
+    void revokeAllUserSessions(UUID userId, Instant revokedAt);
 
     @Modifying
     @Query("UPDATE Session s SET s.revoked = true, s.revokedAt = :revokedAt WHERE s.tokenFamily = :tokenFamily AND s.revoked = false")
     void revokeTokenFamily(UUID tokenFamily, Instant revokedAt);
 
-    void deleteByExpiresAtBeforeAndRevokedTrue(Instant expiryThreshold);
-
     long countByApplicationAndRevokedFalse(Application application);
 }
@@ -4,6 +4,9 @@ import com.tokenly.backend.entity.Application;
 import com.tokenly.backend.entity.User;
 import com.tokenly.backend.enums.UserStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -29,4 +32,13 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     List<User> findByApplicationAndStatus(Application application, UserStatus status);
     
     List<User> findByApplication(Application application);
+
+    /**
+     * Swap the hash only if it is still the one that was verified, so a password change made
+     * meanwhile is never overwritten
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :newHash WHERE u.id = :id AND u.passwordHash = :oldHash")
+    int replacePasswordHash(UUID id, String oldHash, String newHash);
 }
@@ -14,9 +14,9 @@ public class SessionCleanupScheduler {
     private final SessionService sessionService;
 
     /**
-     * Clean up expired sessions daily at 2 AM
+     * Purge expired and revoked sessions, daily at 2 AM by default
      */
-    @Scheduled(cron = "0 0 2 * * *")
+    @Scheduled(cron = "${app.sessions.purge-cron:0 0 2 * * *}")
     public void cleanupExpiredSessions() {
         log.info("Starting scheduled session cleanup task");
         sessionService.cleanupExpiredSessions();
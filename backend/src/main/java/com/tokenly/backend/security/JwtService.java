@@ -2,10 +2,8 @@ package com.tokenly.backend.security;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.tokenly.backend.entity.Application;
-import com.tokenly.backend.entity.AuthConfig;
 import com.tokenly.backend.entity.User;
-import com.tokenly.backend.repository.AuthConfigRepository;
+import com.tokenly.backend.security.policy.AuthPolicy;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import lombok.RequiredArgsConstructor;
@@ -22,7 +20,6 @@ import java.util.*;
 public class JwtService {
 
     private final JwtProperties properties;
-    private final AuthConfigRepository authConfigRepository;
     private final ObjectMapper objectMapper;
     private Key key;
 
@@ -37,28 +34,37 @@ public class JwtService {
         return UUID.randomUUID().toString();
     }
 
-    public String generateAccessToken(User user, Application application) {
+    /**
+     * Issue from an already resolved policy, so the TTL and claim list cost no config lookup
+     *
+     * @param sessionId the refresh session the token is issued under, carried as the "sid" claim so
+     *                  logout can end just that session; null for tokens not tied to a session
+     */
+    public String generateAccessToken(User user, AuthPolicy policy, UUID sessionId) {
         Instant now = Instant.now();
-        AuthConfig config = application.getAuthConfig();
-        int expiryMinutes = config != null ? config.getAccessTokenTtlMinutes() : (int) (properties.getAccessTokenExpiry() / 60);
+        int expiryMinutes = policy.isConfigured() ? policy.getAccessTokenTtlMinutes() : (int) (properties.getAccessTokenExpiry() / 60);
 
         JwtBuilder builder = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(user.getId().toString())
-                .claim("appId", application.getId().toString())
+                .claim("appId", policy.getApplicationId().toString())
                 .claim("email", user.getEmail())
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(now.plus(expiryMinutes, ChronoUnit.MINUTES)));
 
-        if (config != null && config.getJwtCustomClaims() != null && !config.getJwtCustomClaims().isEmpty()) {
-            addCustomClaims(builder, user, config.getJwtCustomClaims());
+        if (sessionId != null) {
+            builder.claim("sid", sessionId.toString());
+        }
+
+        if (!policy.getCustomClaims().isEmpty()) {
+            addCustomClaims(builder, user, policy.getCustomClaims());
         }
 
         return builder.signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private void addCustomClaims(JwtBuilder builder, User user, String claimsList) {
-        String[] requestedClaims = claimsList.split(",");
+    private void addCustomClaims(JwtBuilder builder, User user, List<String> requestedClaims) {
         Map<String, Object> customDataMap = null;
 
         if (user.getCustomData() != null) {
@@ -70,9 +76,6 @@ public class JwtService {
         }
 
         for (String claim : requestedClaims) {
-            claim = claim.trim();
-            if (claim.isEmpty()) continue;
-
             // 1. Check standard user fields first
             switch (claim.toLowerCase()) {
                 case "status" -> builder.claim("status", user.getStatus().name());
@@ -93,6 +96,7 @@ public class JwtService {
         Instant now = Instant.now();
 
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(clientId.toString())
                 .claim("type", "client")  // Mark this as a client token
                 .setIssuedAt(Date.from(now))
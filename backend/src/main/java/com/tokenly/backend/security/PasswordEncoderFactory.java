@@ -1,8 +1,6 @@
 package com.tokenly.backend.security;
 
-import com.tokenly.backend.entity.AuthConfig;
 import com.tokenly.backend.enums.PasswordHashAlgorithm;
-import com.tokenly.backend.repository.AuthConfigRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -10,34 +8,53 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Component
 @RequiredArgsConstructor
 public class PasswordEncoderFactory {
 
-    private final AuthConfigRepository authConfigRepository;
+    // Spring Security's v5.8 defaults for everything but the work factor
+    private static final int SALT_LENGTH = 16;
+    private static final int ARGON2_HASH_LENGTH = 32;
+
+    private final PasswordHashingExecutor hashingExecutor;
+
+    // Encoders are stateless and thread-safe, so one per parameter set is shared by every application using it
+    private final Map<PasswordHashParams, PasswordEncoder> encoders = new ConcurrentHashMap<>();
+    private final Map<PasswordHashParams, PasswordEncoder> hashers = new ConcurrentHashMap<>();
 
     /**
-     * Get the correct PasswordEncoder for a given application's configuration.
+     * Get the encoder for an algorithm at its default work factor
      */
     public PasswordEncoder getEncoder(PasswordHashAlgorithm algorithm) {
-        if (algorithm == null) {
-            return new BCryptPasswordEncoder(12); // Default
-        }
-
-        return switch (algorithm) {
-            case BCRYPT -> new BCryptPasswordEncoder(12);
-            case ARGON2 -> Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
-            case PBKDF2 -> Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8();
-        };
+        return getEncoder(PasswordHashParams.defaults(algorithm));
     }
 
     /**
-     * Helper to get encoder directly from application config
+     * Get the correct PasswordEncoder for a given application's configuration. It writes tagged
+     * hashes with these params but verifies hashes of any scheme, see {@link TaggedPasswordEncoder}.
+     * Hashing with it runs on the shared hashing pool, not the calling thread.
      */
-    public PasswordEncoder getEncoderForApplication(com.tokenly.backend.entity.Application application) {
-        return authConfigRepository.findByApplication(application)
-                .map(AuthConfig::getPasswordHashAlgorithm)
-                .map(this::getEncoder)
-                .orElseGet(() -> new BCryptPasswordEncoder(12));
+    public PasswordEncoder getEncoder(PasswordHashParams params) {
+        return encoders.computeIfAbsent(params, key -> new TaggedPasswordEncoder(key, this::getHasher));
+    }
+
+    private PasswordEncoder getHasher(PasswordHashParams params) {
+        return hashers.computeIfAbsent(params, key -> hashingExecutor.offload(createEncoder(key)));
+    }
+
+    /**
+     * A fresh, untagged encoder that hashes on the calling thread; for benchmarking only
+     */
+    public PasswordEncoder createEncoder(PasswordHashParams params) {
+        return switch (params.algorithm()) {
+            case BCRYPT -> new BCryptPasswordEncoder(params.cost());
+            case ARGON2 -> new Argon2PasswordEncoder(SALT_LENGTH, ARGON2_HASH_LENGTH,
+                    params.parallelism(), params.memoryKb(), params.cost());
+            case PBKDF2 -> new Pbkdf2PasswordEncoder("", SALT_LENGTH, params.cost(),
+                    Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+        };
     }
 }
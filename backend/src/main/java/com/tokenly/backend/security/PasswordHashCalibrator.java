@@ -0,0 +1,119 @@
+package com.tokenly.backend.security;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.enums.PasswordHashAlgorithm;
+import com.tokenly.backend.exception.ConflictException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Measures what each password work factor costs on this machine.
+ *
+ * Candidates are tried from cheapest to strongest per algorithm, and an algorithm is abandoned
+ * once a candidate takes more than twice the target, so a run stays within a few seconds. The
+ * recommendation per algorithm is the strongest candidate whose median stays under the target.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PasswordHashCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-Sample-passw0rd";
+
+    static final List<PasswordHashParams> CANDIDATES = List.of(
+            PasswordHashParams.bcrypt(10),
+            PasswordHashParams.bcrypt(11),
+            PasswordHashParams.bcrypt(12),
+            PasswordHashParams.bcrypt(13),
+            PasswordHashParams.bcrypt(14),
+            PasswordHashParams.argon2(16_384, 2, 1),
+            PasswordHashParams.argon2(19_456, 2, 1),
+            PasswordHashParams.argon2(32_768, 3, 1),
+            PasswordHashParams.argon2(65_536, 3, 1),
+            PasswordHashParams.argon2(65_536, 4, 2),
+            PasswordHashParams.pbkdf2(210_000),
+            PasswordHashParams.pbkdf2(310_000),
+            PasswordHashParams.pbkdf2(600_000),
+            PasswordHashParams.pbkdf2(1_000_000)
+    );
+
+    private final PasswordEncoderFactory encoderFactory;
+    private final AppProperties appProperties;
+
+    // A run saturates a core for seconds; two at once would also skew each other's numbers
+    private final ReentrantLock running = new ReentrantLock();
+
+    public record Measurement(PasswordHashParams params, double millis, boolean withinTarget) {
+    }
+
+    public record Calibration(long targetMs, Measurement current, List<Measurement> measurements,
+                              Map<PasswordHashAlgorithm, Measurement> recommended) {
+    }
+
+    /**
+     * @param current the parameters the application uses today, measured alongside the candidates
+     */
+    public Calibration calibrate(long targetMs, PasswordHashParams current) {
+        if (!running.tryLock()) {
+            throw new ConflictException("A calibration is already running");
+        }
+        try {
+            List<Measurement> measurements = new ArrayList<>();
+            Map<PasswordHashAlgorithm, Measurement> recommended = new EnumMap<>(PasswordHashAlgorithm.class);
+
+            for (PasswordHashAlgorithm algorithm : PasswordHashAlgorithm.values()) {
+                Measurement cheapest = null;
+                for (PasswordHashParams params : CANDIDATES) {
+                    if (params.algorithm() != algorithm) {
+                        continue;
+                    }
+                    Measurement measurement = measure(params, targetMs);
+                    measurements.add(measurement);
+                    if (cheapest == null) {
+                        cheapest = measurement;
+                    }
+                    if (measurement.withinTarget()) {
+                        recommended.put(algorithm, measurement);
+                    }
+                    if (measurement.millis() > 2.0 * targetMs) {
+                        break;
+                    }
+                }
+                // Nothing fits the target: the cheapest option is the closest we can get
+                recommended.putIfAbsent(algorithm, cheapest);
+            }
+
+            Measurement currentMeasurement = measure(current, targetMs);
+            log.info("Password hash calibration for {} ms target: {}", targetMs, recommended);
+            return new Calibration(targetMs, currentMeasurement, measurements, recommended);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private Measurement measure(PasswordHashParams params, long targetMs) {
+        PasswordEncoder encoder = encoderFactory.createEncoder(params);
+        encoder.encode(SAMPLE_PASSWORD); // Warm-up: class loading and JIT would inflate the first sample
+
+        int samples = Math.max(1, appProperties.getHashing().getCalibrationSamples());
+        double[] millis = new double[samples];
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(millis);
+
+        double median = millis[samples / 2];
+        return new Measurement(params, median, median <= targetMs);
+    }
+}
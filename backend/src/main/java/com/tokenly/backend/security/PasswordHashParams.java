@@ -0,0 +1,70 @@
+package com.tokenly.backend.security;
+
+import com.tokenly.backend.entity.AuthConfig;
+import com.tokenly.backend.enums.PasswordHashAlgorithm;
+
+/**
+ * Work factor of a password hash. Fields an algorithm does not use are zero, so two parameter
+ * sets that hash the same way are equal and share one encoder.
+ *
+ * @param cost        BCrypt log2 rounds, Argon2 iterations or PBKDF2 iterations
+ * @param memoryKb    Argon2 memory in KiB
+ * @param parallelism Argon2 lanes
+ */
+public record PasswordHashParams(PasswordHashAlgorithm algorithm, int cost, int memoryKb, int parallelism) {
+
+    public static final int DEFAULT_BCRYPT_COST = 12;
+    public static final int DEFAULT_ARGON2_MEMORY_KB = 16_384;
+    public static final int DEFAULT_ARGON2_ITERATIONS = 2;
+    public static final int DEFAULT_ARGON2_PARALLELISM = 1;
+    public static final int DEFAULT_PBKDF2_ITERATIONS = 310_000;
+
+    public static PasswordHashParams bcrypt(int cost) {
+        return new PasswordHashParams(PasswordHashAlgorithm.BCRYPT, cost, 0, 0);
+    }
+
+    public static PasswordHashParams argon2(int memoryKb, int iterations, int parallelism) {
+        return new PasswordHashParams(PasswordHashAlgorithm.ARGON2, iterations, memoryKb, parallelism);
+    }
+
+    public static PasswordHashParams pbkdf2(int iterations) {
+        return new PasswordHashParams(PasswordHashAlgorithm.PBKDF2, iterations, 0, 0);
+    }
+
+    /**
+     * The work factor the algorithm had before it was configurable; a null algorithm means BCrypt
+     */
+    public static PasswordHashParams defaults(PasswordHashAlgorithm algorithm) {
+        if (algorithm == null) {
+            return bcrypt(DEFAULT_BCRYPT_COST);
+        }
+
+        return switch (algorithm) {
+            case BCRYPT -> bcrypt(DEFAULT_BCRYPT_COST);
+            case ARGON2 -> argon2(DEFAULT_ARGON2_MEMORY_KB, DEFAULT_ARGON2_ITERATIONS, DEFAULT_ARGON2_PARALLELISM);
+            case PBKDF2 -> pbkdf2(DEFAULT_PBKDF2_ITERATIONS);
+        };
+    }
+
+    /**
+     * The application's configured work factor, with defaults for anything it leaves unset
+     */
+    public static PasswordHashParams of(AuthConfig config) {
+        if (config == null || config.getPasswordHashAlgorithm() == null) {
+            return defaults(null);
+        }
+
+        return switch (config.getPasswordHashAlgorithm()) {
+            case BCRYPT -> bcrypt(orDefault(config.getBcryptCost(), DEFAULT_BCRYPT_COST));
+            case ARGON2 -> argon2(
+                    orDefault(config.getArgon2MemoryKb(), DEFAULT_ARGON2_MEMORY_KB),
+                    orDefault(config.getArgon2Iterations(), DEFAULT_ARGON2_ITERATIONS),
+                    orDefault(config.getArgon2Parallelism(), DEFAULT_ARGON2_PARALLELISM));
+            case PBKDF2 -> pbkdf2(orDefault(config.getPbkdf2Iterations(), DEFAULT_PBKDF2_ITERATIONS));
+        };
+    }
+
+    private static int orDefault(Integer value, int fallback) {
+        return value != null ? value : fallback;
+    }
+}
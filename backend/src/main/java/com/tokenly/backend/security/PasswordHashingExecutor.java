@@ -0,0 +1,161 @@
+package com.tokenly.backend.security;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool for password hashing and verification.
+ *
+ * BCrypt and Argon2 are deliberately CPU-heavy; run on request threads, a signup burst starves
+ * every other endpoint on the node. Here at most one hash per core runs at a time, a short queue
+ * absorbs spikes, and anything beyond that is refused with a 503 instead of piling up.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PasswordHashingExecutor {
+
+    private final AppProperties appProperties;
+    private final MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+    private Timer waitTimer;
+    private Timer encodeTimer;
+    private Timer matchesTimer;
+    private Counter rejectedFull;
+    private Counter rejectedTimeout;
+
+    @PostConstruct
+    void init() {
+        AppProperties.Hashing config = appProperties.getHashing();
+        int threads = config.getThreads() > 0 ? config.getThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("tokenly.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("tokenly.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes currently running")
+                .register(meterRegistry);
+        waitTimer = Timer.builder("tokenly.hashing.wait")
+                .description("Time a password hash spent queued before it started")
+                .register(meterRegistry);
+        encodeTimer = hashTimer("encode");
+        matchesTimer = hashTimer("matches");
+        rejectedFull = rejected("queue_full");
+        rejectedTimeout = rejected("timeout");
+
+        log.info("Password hashing pool: {} threads, queue capacity {}", threads, config.getQueueCapacity());
+    }
+
+    private Timer hashTimer(String operation) {
+        return Timer.builder("tokenly.hashing.duration")
+                .description("Time spent computing a password hash")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private Counter rejected(String reason) {
+        return Counter.builder("tokenly.hashing.rejected")
+                .description("Password hashes refused because the hashing pool was saturated")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Wrap an encoder so encode and matches run on this pool; the caller still blocks for the result
+     */
+    public PasswordEncoder offload(PasswordEncoder delegate) {
+        return new OffloadingPasswordEncoder(delegate);
+    }
+
+    <T> T run(Timer hashTimer, Callable<T> task) {
+        long queuedAt = System.nanoTime();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedFull.increment();
+            throw new ServiceUnavailableException("Server is busy, please retry shortly");
+        }
+
+        try {
+            return future.get(appProperties.getHashing().getWaitTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedTimeout.increment();
+            throw new ServiceUnavailableException("Server is busy, please retry shortly");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Password check interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private final class OffloadingPasswordEncoder implements PasswordEncoder {
+
+        private final PasswordEncoder delegate;
+
+        private OffloadingPasswordEncoder(PasswordEncoder delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return run(encodeTimer, () -> delegate.encode(rawPassword));
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return delegate.upgradeEncoding(encodedPassword); // Parses the hash only, no hashing
+        }
+    }
+}
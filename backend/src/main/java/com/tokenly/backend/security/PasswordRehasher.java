@@ -0,0 +1,103 @@
+package com.tokenly.backend.security;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.entity.User;
+import com.tokenly.backend.repository.UserRepository;
+import com.tokenly.backend.security.policy.AuthPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves a user's stored hash onto the application's current scheme after a successful login,
+ * the only moment the plain password is at hand.
+ *
+ * The login answers first; the new hash is computed afterwards on a single background thread
+ * (the hashing itself still goes through the shared hashing pool). Upgrades are opportunistic:
+ * when the queue is full they are dropped, and the user's next login tries again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PasswordRehasher {
+
+    private final UserRepository userRepository;
+    private final AppProperties appProperties;
+    private final MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+    private Counter upgraded;
+    private Counter stale;
+    private Counter dropped;
+    private Counter failed;
+
+    @PostConstruct
+    void init() {
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(appProperties.getHashing().getRehashQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-rehash");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> dropped.increment());
+
+        upgraded = outcome("upgraded");
+        stale = outcome("stale");
+        dropped = outcome("dropped");
+        failed = outcome("failed");
+    }
+
+    private Counter outcome(String result) {
+        return Counter.builder("tokenly.hashing.rehash")
+                .description("Stored password hashes moved to the current scheme after login")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Queue a rehash if the user's stored hash is not on the policy's current scheme.
+     * Call only after the password has been verified against that hash.
+     */
+    public void rehashIfNeeded(User user, CharSequence rawPassword, AuthPolicy policy) {
+        PasswordEncoder encoder = policy.getPasswordEncoder();
+        String oldHash = user.getPasswordHash();
+        if (!encoder.upgradeEncoding(oldHash)) {
+            return;
+        }
+
+        UUID userId = user.getId();
+        String password = rawPassword.toString();
+        executor.execute(() -> rehash(userId, oldHash, password, encoder));
+    }
+
+    private void rehash(UUID userId, String oldHash, String password, PasswordEncoder encoder) {
+        try {
+            String newHash = encoder.encode(password);
+            if (userRepository.replacePasswordHash(userId, oldHash, newHash) == 1) {
+                upgraded.increment();
+                log.debug("Password hash upgraded for user: {}", userId);
+            } else {
+                stale.increment(); // Password changed since the login verified it
+            }
+        } catch (Exception e) {
+            failed.increment();
+            log.warn("Password rehash failed for user: {}: {}", userId, e.getMessage());
+        }
+    }
+}
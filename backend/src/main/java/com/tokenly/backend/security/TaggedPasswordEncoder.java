@@ -0,0 +1,123 @@
+package com.tokenly.backend.security;
+
+import com.tokenly.backend.enums.PasswordHashAlgorithm;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.function.Function;
+
+/**
+ * Encodes with one application's current work factor and verifies hashes of any work factor.
+ *
+ * Every hash is stored with a tag naming its scheme: {@code {bcrypt}$2a$12$...},
+ * {@code {argon2}$argon2id$v=19$m=16384,t=2,p=1$...} and {@code {pbkdf2:310000}<hex>}. BCrypt and
+ * Argon2 carry their parameters in the hash itself; PBKDF2 does not, so its iteration count
+ * goes in the tag. Untagged hashes written before the tag existed are recognised by shape.
+ *
+ * {@link #upgradeEncoding} is true when a stored hash is untagged or was made with other
+ * parameters than the current ones, which is the cue to rehash after a successful login.
+ */
+public class TaggedPasswordEncoder implements PasswordEncoder {
+
+    private static final String BCRYPT_TAG = "{bcrypt}";
+    private static final String ARGON2_TAG = "{argon2}";
+    private static final String PBKDF2_TAG = "{pbkdf2:";
+
+    private final PasswordHashParams current;
+    private final Function<PasswordHashParams, PasswordEncoder> hashers;
+
+    /**
+     * @param hashers untagged encoder for a parameter set; asked for the parameters of each stored hash
+     */
+    public TaggedPasswordEncoder(PasswordHashParams current, Function<PasswordHashParams, PasswordEncoder> hashers) {
+        this.current = current;
+        this.hashers = hashers;
+    }
+
+    private record StoredHash(PasswordHashParams params, String hash, boolean tagged) {
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return tag(current) + hashers.apply(current).encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        StoredHash stored = parse(encodedPassword);
+        return stored != null && hashers.apply(stored.params()).matches(rawPassword, stored.hash());
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        StoredHash stored = parse(encodedPassword);
+        return stored != null && (!stored.tagged() || !stored.params().equals(current));
+    }
+
+    private static String tag(PasswordHashParams params) {
+        return switch (params.algorithm()) {
+            case BCRYPT -> BCRYPT_TAG;
+            case ARGON2 -> ARGON2_TAG;
+            case PBKDF2 -> PBKDF2_TAG + params.cost() + "}";
+        };
+    }
+
+    /**
+     * @return the scheme and parameters that produced the hash, or null when it is not one of ours
+     */
+    private static StoredHash parse(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return null;
+        }
+        try {
+            if (encoded.startsWith(BCRYPT_TAG)) {
+                return bcrypt(encoded.substring(BCRYPT_TAG.length()), true);
+            }
+            if (encoded.startsWith(ARGON2_TAG)) {
+                return argon2(encoded.substring(ARGON2_TAG.length()), true);
+            }
+            if (encoded.startsWith(PBKDF2_TAG)) {
+                int end = encoded.indexOf('}');
+                int iterations = Integer.parseInt(encoded.substring(PBKDF2_TAG.length(), end));
+                return new StoredHash(PasswordHashParams.pbkdf2(iterations), encoded.substring(end + 1), true);
+            }
+
+            // Untagged, from before the tag: identify by shape, PBKDF2 being the only one without a "$" prefix
+            if (encoded.startsWith("$2")) {
+                return bcrypt(encoded, false);
+            }
+            if (encoded.startsWith("$argon2")) {
+                return argon2(encoded, false);
+            }
+            if (encoded.startsWith("{")) {
+                return null; // Someone else's tag
+            }
+            return new StoredHash(PasswordHashParams.defaults(PasswordHashAlgorithm.PBKDF2), encoded, false);
+        } catch (RuntimeException e) {
+            return null; // Malformed parameters: cannot be verified, so it never matches
+        }
+    }
+
+    // $2a$12$<salt+hash>
+    private static StoredHash bcrypt(String hash, boolean tagged) {
+        int cost = Integer.parseInt(hash.substring(4, 6));
+        return new StoredHash(PasswordHashParams.bcrypt(cost), hash, tagged);
+    }
+
+    // $argon2id$v=19$m=16384,t=2,p=1$<salt>$<hash>
+    private static StoredHash argon2(String hash, boolean tagged) {
+        String[] parts = hash.split("\\$");
+        int memory = 0;
+        int iterations = 0;
+        int parallelism = 0;
+        for (String setting : parts[3].split(",")) {
+            int value = Integer.parseInt(setting.substring(2));
+            switch (setting.charAt(0)) {
+                case 'm' -> memory = value;
+                case 't' -> iterations = value;
+                case 'p' -> parallelism = value;
+                default -> throw new IllegalArgumentException("Unknown Argon2 setting: " + setting);
+            }
+        }
+        return new StoredHash(PasswordHashParams.argon2(memory, iterations, parallelism), hash, tagged);
+    }
+}
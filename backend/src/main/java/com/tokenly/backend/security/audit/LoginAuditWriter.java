@@ -0,0 +1,153 @@
+package com.tokenly.backend.security.audit;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.enums.LoginAuditOverflow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes login events to login_logs off the login path.
+ *
+ * Request threads push events onto a {@link LoginEventBuffer}; a scheduled flush drains it in
+ * batches of {@code app.login-audit.batch-size}, each written as one multi-row INSERT. When the
+ * buffer is full the {@code app.login-audit.overflow} policy decides between dropping the event
+ * and waiting briefly for room; either way a login never fails for want of an audit row. The
+ * buffer is drained on shutdown.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoginAuditWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO login_logs (id, created_at, updated_at, application_id, user_id, email_attempted,
+                                    ip_address, user_agent, status, failure_reason)
+            VALUES\s""";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int MAX_VARCHAR = 255; // One oversized value would otherwise fail the whole batch
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AppProperties appProperties;
+    private final MeterRegistry meterRegistry;
+
+    private LoginEventBuffer buffer;
+    private Counter droppedFull;
+    private Counter droppedFailed;
+    private Counter written;
+
+    @PostConstruct
+    void init() {
+        buffer = new LoginEventBuffer(appProperties.getLoginAudit().getBufferCapacity());
+        Gauge.builder("tokenly.login_audit.pending", buffer, LoginEventBuffer::size)
+                .description("Login events waiting to be written")
+                .register(meterRegistry);
+        droppedFull = dropped("buffer_full");
+        droppedFailed = dropped("write_failed");
+        written = Counter.builder("tokenly.login_audit.written")
+                .description("Login events written to login_logs")
+                .register(meterRegistry);
+    }
+
+    private Counter dropped(String reason) {
+        return Counter.builder("tokenly.login_audit.dropped")
+                .description("Login events discarded without being written")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    public void submit(LoginEvent event) {
+        if (buffer.offer(event)) {
+            return;
+        }
+        AppProperties.LoginAudit config = appProperties.getLoginAudit();
+        if (config.getOverflow() == LoginAuditOverflow.BLOCK && offerWithin(event, config.getBlockTimeoutMs())) {
+            return;
+        }
+        droppedFull.increment();
+    }
+
+    private boolean offerWithin(LoginEvent event, long timeoutMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            if (buffer.offer(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.login-audit.flush-interval-ms:1000}",
+            initialDelayString = "${app.login-audit.flush-interval-ms:1000}"
+    )
+    @PreDestroy
+    public synchronized void flush() {
+        int batchSize = appProperties.getLoginAudit().getBatchSize();
+        List<LoginEvent> batch = new ArrayList<>(batchSize);
+
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            try {
+                write(batch);
+                written.increment(batch.size());
+            } catch (Exception e) {
+                // Audit rows are not worth holding back the buffer for; the next batch may fare better
+                log.error("Login audit write failed, {} events dropped: {}", batch.size(), e.getMessage());
+                droppedFailed.increment(batch.size());
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(List<LoginEvent> events) {
+        StringBuilder sql = new StringBuilder(INSERT_SQL);
+        List<Object> args = new ArrayList<>(events.size() * 10);
+        for (LoginEvent event : events) {
+            if (!args.isEmpty()) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+
+            Timestamp at = Timestamp.from(event.at());
+            args.add(bytes(UUID.randomUUID()));
+            args.add(at);
+            args.add(at);
+            args.add(bytes(event.applicationId()));
+            args.add(event.userId() != null ? bytes(event.userId()) : null);
+            args.add(truncate(event.emailAttempted()));
+            args.add(truncate(event.ipAddress()));
+            args.add(truncate(event.userAgent()));
+            args.add(event.status() != null ? event.status().name() : null);
+            args.add(event.failureReason() != null ? event.failureReason().name() : null);
+        }
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private static String truncate(String value) {
+        return value != null && value.length() > MAX_VARCHAR ? value.substring(0, MAX_VARCHAR) : value;
+    }
+
+    // Hibernate stores UUID ids as BINARY(16), most significant bits first
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
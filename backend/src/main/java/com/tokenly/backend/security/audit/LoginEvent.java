@@ -0,0 +1,25 @@
+package com.tokenly.backend.security.audit;
+
+import com.tokenly.backend.enums.FailureReason;
+import com.tokenly.backend.enums.LoginStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One login attempt as it will be written to login_logs
+ *
+ * @param userId         set for successful logins
+ * @param emailAttempted set for failed logins
+ */
+public record LoginEvent(
+        Instant at,
+        UUID applicationId,
+        UUID userId,
+        String emailAttempted,
+        String ipAddress,
+        String userAgent,
+        LoginStatus status,
+        FailureReason failureReason
+) {
+}
@@ -0,0 +1,101 @@
+package com.tokenly.backend.security.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer (Vyukov's multi-producer, multi-consumer queue).
+ *
+ * Each slot carries a sequence number telling producers and consumers whose turn it is, so an
+ * offer or poll is a single compare-and-set on the tail or head in the common case and never
+ * blocks. The capacity is rounded up to a power of two.
+ */
+class LoginEventBuffer {
+
+    private final AtomicReferenceArray<LoginEvent> slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // next position to take
+    private final AtomicLong tail = new AtomicLong(); // next position to fill
+
+    LoginEventBuffer(int capacity) {
+        int size = Math.max(2, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+        slots = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * @return false when the buffer is full
+     */
+    boolean offer(LoginEvent event) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, event);
+                    sequences.set(index, position + 1); // Publishes the slot to consumers
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false; // The slot still holds an event from the previous lap
+            } else {
+                position = tail.get(); // Another producer took this position
+            }
+        }
+    }
+
+    /**
+     * @return null when the buffer is empty
+     */
+    LoginEvent poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    LoginEvent event = slots.getAndSet(index, null);
+                    sequences.set(index, position + mask + 1); // Hands the slot to the next lap's producer
+                    return event;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null; // Not yet published
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Move up to {@code max} events into {@code target}
+     *
+     * @return the number moved
+     */
+    int drainTo(List<LoginEvent> target, int max) {
+        int drained = 0;
+        LoginEvent event;
+        while (drained < max && (event = poll()) != null) {
+            target.add(event);
+            drained++;
+        }
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -6,6 +6,7 @@ import com.tokenly.backend.entity.Application;
 import com.tokenly.backend.entity.User;
 import com.tokenly.backend.security.JwtService;
 import com.tokenly.backend.security.login.LoginHandlerResolver;
+import com.tokenly.backend.security.policy.AuthPolicy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -17,20 +18,18 @@ public class ApiTokenAuthFlow implements AuthFlow {
     private final JwtService jwtService;
 
     @Override
-    public AuthResponse login(Application application, UserLoginRequest request) {
+    public AuthResponse login(Application application, AuthPolicy policy, UserLoginRequest request) {
 
         // Authenticate user based on application's login method (Password, OTP, etc.)
-        User user = loginHandlerResolver.resolve(application).authenticate(application, request);
+        User user = loginHandlerResolver.resolve(policy).authenticate(application, policy, request);
 
         // Generate stateless JWT for API Token auth
-        String accessToken = jwtService.generateAccessToken(user, application);
-
-        int accessTtl = application.getAuthConfig() != null ? application.getAuthConfig().getAccessTokenTtlMinutes() : 60;
+        String accessToken = jwtService.generateAccessToken(user, policy, null);
 
         return AuthResponse.builder()
                 .accessToken(accessToken)
                 .refreshToken(null)
-                .expiresIn((long) accessTtl * 60)
+                .expiresIn((long) policy.getAccessTokenTtlMinutes() * 60)
                 .build();
     }
 }
@@ -3,8 +3,9 @@ package com.tokenly.backend.security.authflow;
 import com.tokenly.backend.dto.request.auth.UserLoginRequest;
 import com.tokenly.backend.dto.responce.auth.AuthResponse;
 import com.tokenly.backend.entity.Application;
+import com.tokenly.backend.security.policy.AuthPolicy;
 
 public interface AuthFlow {
 
-    AuthResponse login(Application application, UserLoginRequest request);
+    AuthResponse login(Application application, AuthPolicy policy, UserLoginRequest request);
 }
@@ -1,10 +1,7 @@
 package com.tokenly.backend.security.authflow;
 
-import com.tokenly.backend.entity.Application;
-import com.tokenly.backend.entity.AuthConfig;
-import com.tokenly.backend.enums.AuthMode;
 import com.tokenly.backend.exception.NotFoundException;
-import com.tokenly.backend.repository.AuthConfigRepository;
+import com.tokenly.backend.security.policy.AuthPolicy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
@@ -14,16 +11,13 @@ import org.springframework.stereotype.Component;
 public class AuthFlowResolver {
 
     private final ApplicationContext context;
-    private final AuthConfigRepository authConfigRepository;
 
-    public AuthFlow resolve(Application application) {
+    public AuthFlow resolve(AuthPolicy policy) {
 
-        AuthConfig config = authConfigRepository
-                .findByApplication(application)
-                .orElseThrow(() -> new NotFoundException("Auth config not found"));
+        if (!policy.isConfigured() || policy.getAuthMode() == null) {
+            throw new NotFoundException("Auth config not found");
+        }
 
-        AuthMode mode = config.getAuthMode();
-
-        return context.getBean(mode.name(), AuthFlow.class);
+        return context.getBean(policy.getAuthMode().name(), AuthFlow.class);
     }
 }
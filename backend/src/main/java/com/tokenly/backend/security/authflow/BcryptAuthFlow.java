@@ -6,8 +6,9 @@ import com.tokenly.backend.entity.Application;
 import com.tokenly.backend.entity.User;
 import com.tokenly.backend.exception.UnauthorizedException;
 import com.tokenly.backend.repository.UserRepository;
+import com.tokenly.backend.security.PasswordRehasher;
+import com.tokenly.backend.security.policy.AuthPolicy;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 @Component("BCRYPT")
@@ -15,18 +16,20 @@ import org.springframework.stereotype.Component;
 public class BcryptAuthFlow implements AuthFlow {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordRehasher passwordRehasher;
 
     @Override
-    public AuthResponse login(Application application, UserLoginRequest request) {
+    public AuthResponse login(Application application, AuthPolicy policy, UserLoginRequest request) {
 
         User user = userRepository
                 .findByApplicationAndEmail(application, request.getEmail())
                 .orElseThrow(() -> new UnauthorizedException("Invalid credentials"));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        // User hashes follow the application's scheme, not the portal's BCrypt encoder
+        if (!policy.getPasswordEncoder().matches(request.getPassword(), user.getPasswordHash())) {
             throw new UnauthorizedException("Invalid credentials");
         }
+        passwordRehasher.rehashIfNeeded(user, request.getPassword(), policy);
 
         // no token, just confirmation
         return AuthResponse.builder()
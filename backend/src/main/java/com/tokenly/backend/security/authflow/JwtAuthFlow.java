@@ -3,9 +3,11 @@ package com.tokenly.backend.security.authflow;
 import com.tokenly.backend.dto.request.auth.UserLoginRequest;
 import com.tokenly.backend.dto.responce.auth.AuthResponse;
 import com.tokenly.backend.entity.Application;
+import com.tokenly.backend.entity.Session;
 import com.tokenly.backend.entity.User;
 import com.tokenly.backend.security.JwtService;
 import com.tokenly.backend.security.login.LoginHandlerResolver;
+import com.tokenly.backend.security.policy.AuthPolicy;
 import com.tokenly.backend.service.LoginLogService;
 import com.tokenly.backend.service.SessionService;
 import lombok.RequiredArgsConstructor;
@@ -21,33 +23,33 @@ public class JwtAuthFlow implements AuthFlow {
     private final LoginLogService loginLogService;
 
     @Override
-    public AuthResponse login(Application application, UserLoginRequest request) {
+    public AuthResponse login(Application application, AuthPolicy policy, UserLoginRequest request) {
 
         // Authenticate user based on application's login method (Password, OTP, etc.)
-        User user = loginHandlerResolver.resolve(application).authenticate(application, request);
+        User user = loginHandlerResolver.resolve(policy).authenticate(application, policy, request);
 
-        // Generate tokens
-        String accessToken = jwtService.generateAccessToken(user, application);
-        String refreshToken = jwtService.generateRefreshToken();
+        String verifier = jwtService.generateRefreshToken();
 
         // Create session using SessionService
-        sessionService.createSession(
+        Session session = sessionService.createSession(
                 user,
                 application,
-                refreshToken,
+                policy,
+                verifier,
                 request.getIpAddress(),
                 request.getUserAgent()
         );
 
+        // The access token names its session, so logout can end just this one
+        String accessToken = jwtService.generateAccessToken(user, policy, session.getId());
+
         // Log successful login
         loginLogService.logSuccessfulLogin(user, application, request.getIpAddress(), request.getUserAgent());
 
-        int accessTtl = application.getAuthConfig() != null ? application.getAuthConfig().getAccessTokenTtlMinutes() : 60;
-
         return AuthResponse.builder()
                 .accessToken(accessToken)
-                .refreshToken(refreshToken)
-                .expiresIn((long) accessTtl * 60)
+                .refreshToken(sessionService.refreshTokenFor(session, verifier))
+                .expiresIn((long) policy.getAccessTokenTtlMinutes() * 60)
                 .build();
     }
 }
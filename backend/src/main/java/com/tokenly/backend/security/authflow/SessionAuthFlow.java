@@ -3,11 +3,13 @@ package com.tokenly.backend.security.authflow;
 import com.tokenly.backend.dto.request.auth.UserLoginRequest;
 import com.tokenly.backend.dto.responce.auth.AuthResponse;
 import com.tokenly.backend.entity.Application;
+import com.tokenly.backend.entity.Session;
 import com.tokenly.backend.entity.User;
 import com.tokenly.backend.exception.UnauthorizedException;
 import com.tokenly.backend.repository.UserRepository;
 import com.tokenly.backend.security.JwtService;
 import com.tokenly.backend.security.login.LoginHandlerResolver;
+import com.tokenly.backend.security.policy.AuthPolicy;
 import com.tokenly.backend.security.PasswordEncoderFactory;
 import com.tokenly.backend.service.LoginLogService;
 import com.tokenly.backend.service.SessionService;
@@ -24,34 +26,34 @@ public class SessionAuthFlow implements AuthFlow {
     private final LoginLogService loginLogService;
 
     @Override
-    public AuthResponse login(Application application, UserLoginRequest request) {
+    public AuthResponse login(Application application, AuthPolicy policy, UserLoginRequest request) {
 
         // Authenticate user based on application's login method (Password, OTP, etc.)
-        User user = loginHandlerResolver.resolve(application).authenticate(application, request);
+        User user = loginHandlerResolver.resolve(policy).authenticate(application, policy, request);
 
-        // For SESSION mode, we still issue a JWT but it is bound to a stateful session
-        // This allows client-side storage while maintaining server-side control/revocation
-        String accessToken = jwtService.generateAccessToken(user, application);
-        String refreshToken = jwtService.generateRefreshToken();
+        String verifier = jwtService.generateRefreshToken();
 
         // Create the stateful session
-        sessionService.createSession(
+        Session session = sessionService.createSession(
                 user,
                 application,
-                refreshToken,
+                policy,
+                verifier,
                 request.getIpAddress(),
                 request.getUserAgent()
         );
 
+        // For SESSION mode, we still issue a JWT but it is bound to a stateful session (its "sid")
+        // This allows client-side storage while maintaining server-side control/revocation
+        String accessToken = jwtService.generateAccessToken(user, policy, session.getId());
+
         // Log successful login
         loginLogService.logSuccessfulLogin(user, application, request.getIpAddress(), request.getUserAgent());
 
-        int accessTtl = application.getAuthConfig() != null ? application.getAuthConfig().getAccessTokenTtlMinutes() : 60;
-
         return AuthResponse.builder()
                 .accessToken(accessToken)
-                .refreshToken(refreshToken)
-                .expiresIn((long) accessTtl * 60)
+                .refreshToken(sessionService.refreshTokenFor(session, verifier))
+                .expiresIn((long) policy.getAccessTokenTtlMinutes() * 60)
                 .build();
     }
 }
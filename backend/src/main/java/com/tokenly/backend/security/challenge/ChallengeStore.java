@@ -0,0 +1,49 @@
+package com.tokenly.backend.security.challenge;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Pending passwordless challenges (email OTP codes and magic links), selected by
+ * {@code app.challenges.store}.
+ *
+ * Every check consumes atomically: a code or link is accepted at most once, however many requests
+ * race for it. A wrong OTP code counts against its challenge, which is dropped after
+ * {@code app.challenges.max-otp-attempts} failures. Implementations keep only SHA-256 digests of
+ * codes and tokens, never the values mailed out.
+ *
+ * @see RedisChallengeStore
+ * @see InMemoryChallengeStore
+ */
+public interface ChallengeStore {
+
+    /**
+     * Store a code for this user, replacing any earlier one along with its failed attempts
+     */
+    void issueOtp(UUID applicationId, String email, String code, Duration ttl);
+
+    /**
+     * Check a code, consuming the challenge when it matches or when this was the last attempt
+     */
+    OtpVerification verifyOtp(UUID applicationId, String email, String code);
+
+    /**
+     * Store a magic link token for this user
+     */
+    void issueMagicLink(UUID applicationId, String token, String email, Duration ttl);
+
+    /**
+     * Consume a magic link token
+     *
+     * @return the email the link was sent to, or empty when the token is unknown, expired or used
+     */
+    Optional<String> consumeMagicLink(UUID applicationId, String token);
+
+    enum OtpVerification {
+        VERIFIED,   // code matched; the challenge is gone
+        INVALID,    // wrong code; attempts remain
+        EXHAUSTED,  // wrong code and no attempts left; the challenge is gone
+        MISSING     // no pending code: never issued, expired or already consumed
+    }
+}
@@ -0,0 +1,129 @@
+package com.tokenly.backend.security.challenge;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.security.util.TokenHashUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Challenges held in this JVM ({@code app.challenges.store=memory}), for single-node deployments
+ * and tests.
+ *
+ * Every operation takes the store's monitor. Entries are kept in issue order; expired ones are
+ * dropped lazily, and beyond {@code app.challenges.memory-max-entries} the oldest pending challenge
+ * is evicted, so a flood of requests costs its senders' own codes rather than the heap.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.challenges", name = "store", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryChallengeStore implements ChallengeStore {
+
+    private final TokenHashUtil tokenHashUtil;
+    private final AppProperties appProperties;
+
+    private final Map<String, Challenge> challenges = new LinkedHashMap<>();
+
+    private static final class Challenge {
+        private final String hash;     // digest of the code, or of the token for magic links
+        private final String email;
+        private final long expiresAt;  // epoch millis
+        private int attempts;
+
+        private Challenge(String hash, String email, Duration ttl) {
+            this.hash = hash;
+            this.email = email;
+            this.expiresAt = System.currentTimeMillis() + ttl.toMillis();
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+
+    @Override
+    public synchronized void issueOtp(UUID applicationId, String email, String code, Duration ttl) {
+        put(otpKey(applicationId, email), new Challenge(tokenHashUtil.hash(code), email, ttl));
+    }
+
+    @Override
+    public synchronized OtpVerification verifyOtp(UUID applicationId, String email, String code) {
+        String key = otpKey(applicationId, email);
+        Challenge challenge = live(key);
+        if (challenge == null) {
+            return OtpVerification.MISSING;
+        }
+        if (tokenHashUtil.matches(code, challenge.hash)) {
+            challenges.remove(key);
+            return OtpVerification.VERIFIED;
+        }
+        if (++challenge.attempts >= appProperties.getChallenges().getMaxOtpAttempts()) {
+            challenges.remove(key);
+            return OtpVerification.EXHAUSTED;
+        }
+        return OtpVerification.INVALID;
+    }
+
+    @Override
+    public synchronized void issueMagicLink(UUID applicationId, String token, String email, Duration ttl) {
+        String hash = tokenHashUtil.hash(token);
+        put(magicKey(applicationId, hash), new Challenge(hash, email, ttl));
+    }
+
+    @Override
+    public synchronized Optional<String> consumeMagicLink(UUID applicationId, String token) {
+        String key = magicKey(applicationId, tokenHashUtil.hash(token));
+        Challenge challenge = live(key);
+        if (challenge == null) {
+            return Optional.empty();
+        }
+        challenges.remove(key);
+        return Optional.of(challenge.email);
+    }
+
+    synchronized int size() {
+        return challenges.size();
+    }
+
+    private Challenge live(String key) {
+        Challenge challenge = challenges.get(key);
+        if (challenge != null && challenge.isExpired(System.currentTimeMillis())) {
+            challenges.remove(key);
+            return null;
+        }
+        return challenge;
+    }
+
+    private void put(String key, Challenge challenge) {
+        challenges.remove(key); // A reissued challenge moves to the back of the eviction order
+        challenges.put(key, challenge);
+
+        // Only the head is swept: issue order is close enough to expiry order, and the rest
+        // expires on lookup or is evicted in its turn
+        long now = System.currentTimeMillis();
+        int maxEntries = appProperties.getChallenges().getMemoryMaxEntries();
+        Iterator<Challenge> oldest = challenges.values().iterator();
+        while (oldest.hasNext()) {
+            Challenge pending = oldest.next();
+            if (challenges.size() <= maxEntries && !pending.isExpired(now)) {
+                break;
+            }
+            oldest.remove();
+        }
+    }
+
+    private static String otpKey(UUID applicationId, String email) {
+        return "otp:" + applicationId + ":" + email;
+    }
+
+    private static String magicKey(UUID applicationId, String tokenHash) {
+        return "magic:" + applicationId + ":" + tokenHash;
+    }
+}
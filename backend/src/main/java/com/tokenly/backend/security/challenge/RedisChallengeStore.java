@@ -0,0 +1,90 @@
+package com.tokenly.backend.security.challenge;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.security.util.TokenHashUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Challenges in Redis ({@code app.challenges.store=redis}, the default).
+ *
+ * An OTP is a hash under {@code tokenly:otp:<appId>:<email>} holding the code's digest and the
+ * failed attempts; checking it is one script call. A magic link is a string under
+ * {@code tokenly:magic:<appId>:<token digest>} holding the email, consumed with GETDEL
+ * (Redis 6.2+).
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.challenges", name = "store", havingValue = "redis", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RedisChallengeStore implements ChallengeStore {
+
+    private static final String OTP_PREFIX = "tokenly:otp:";
+    private static final String MAGIC_PREFIX = "tokenly:magic:";
+
+    // Replaces any earlier code, resetting its attempts. ARGV: code digest, TTL in millis
+    private static final DefaultRedisScript<Long> ISSUE_OTP = new DefaultRedisScript<>("""
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[1], 'hash', ARGV[1], 'attempts', '0')
+            return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            """, Long.class);
+
+    // ARGV: presented code digest, max attempts. The failed-attempt count keeps the code's TTL.
+    private static final DefaultRedisScript<String> VERIFY_OTP = new DefaultRedisScript<>("""
+            local stored = redis.call('HGET', KEYS[1], 'hash')
+            if not stored then
+              return 'MISSING'
+            end
+            if stored == ARGV[1] then
+              redis.call('DEL', KEYS[1])
+              return 'VERIFIED'
+            end
+            if redis.call('HINCRBY', KEYS[1], 'attempts', 1) >= tonumber(ARGV[2]) then
+              redis.call('DEL', KEYS[1])
+              return 'EXHAUSTED'
+            end
+            return 'INVALID'
+            """, String.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final TokenHashUtil tokenHashUtil;
+    private final AppProperties appProperties;
+
+    @Override
+    public void issueOtp(UUID applicationId, String email, String code, Duration ttl) {
+        redisTemplate.execute(ISSUE_OTP, List.of(otpKey(applicationId, email)),
+                tokenHashUtil.hash(code), String.valueOf(ttl.toMillis()));
+    }
+
+    @Override
+    public OtpVerification verifyOtp(UUID applicationId, String email, String code) {
+        String outcome = redisTemplate.execute(VERIFY_OTP, List.of(otpKey(applicationId, email)),
+                tokenHashUtil.hash(code), String.valueOf(appProperties.getChallenges().getMaxOtpAttempts()));
+        return outcome != null ? OtpVerification.valueOf(outcome) : OtpVerification.MISSING;
+    }
+
+    @Override
+    public void issueMagicLink(UUID applicationId, String token, String email, Duration ttl) {
+        redisTemplate.opsForValue().set(magicKey(applicationId, token), email, ttl);
+    }
+
+    @Override
+    public Optional<String> consumeMagicLink(UUID applicationId, String token) {
+        return Optional.ofNullable(redisTemplate.opsForValue().getAndDelete(magicKey(applicationId, token)));
+    }
+
+    private String otpKey(UUID applicationId, String email) {
+        return OTP_PREFIX + applicationId + ":" + email;
+    }
+
+    private String magicKey(UUID applicationId, String token) {
+        return MAGIC_PREFIX + applicationId + ":" + tokenHashUtil.hash(token);
+    }
+}
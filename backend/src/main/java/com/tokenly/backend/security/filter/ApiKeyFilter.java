@@ -127,6 +127,7 @@ public class ApiKeyFilter extends OncePerRequestFilter {
 
         // 6️⃣ Resolve application (already done in step 3 but keeping for attribute)
         request.setAttribute("application", application);
+        request.setAttribute("apiKey", apiKey);
 
         // 7️⃣ Continue request
         filterChain.doFilter(request, response);
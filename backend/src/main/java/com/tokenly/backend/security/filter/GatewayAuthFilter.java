@@ -0,0 +1,125 @@
+package com.tokenly.backend.security.filter;
+
+import com.tokenly.backend.security.session.SessionActivityTracker;
+import com.tokenly.backend.security.token.AccessTokenVerifier;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * nginx auth_request / Envoy ext_authz endpoint.
+ *
+ * Answered here, ahead of Spring Security, request logging and MVC dispatch: the chain is never
+ * continued. 200 carries the subject, application and scopes as headers; anything else is 401
+ * (or 403 when the caller pins an application and the token belongs to another one).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1) // After ApiPrefixFilter, before the security chain (-100)
+public class GatewayAuthFilter extends OncePerRequestFilter {
+
+    public static final String VERIFY_PATH = "/api/auth/gateway/verify";
+
+    public static final String SUBJECT_HEADER = "X-Tokenly-Subject";
+    public static final String APPLICATION_HEADER = "X-Tokenly-Application";
+    public static final String SCOPES_HEADER = "X-Tokenly-Scopes";
+
+    private final AccessTokenVerifier tokenVerifier;
+    private final SessionActivityTracker sessionActivityTracker;
+    private final Timer timer;
+
+    public GatewayAuthFilter(
+            AccessTokenVerifier tokenVerifier,
+            SessionActivityTracker sessionActivityTracker,
+            MeterRegistry meterRegistry
+    ) {
+        this.tokenVerifier = tokenVerifier;
+        this.sessionActivityTracker = sessionActivityTracker;
+        this.timer = Timer.builder("tokenly.gateway.verify")
+                .description("Gateway auth_request verification time")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !VERIFY_PATH.equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) {
+        long start = System.nanoTime();
+        try {
+            response.setHeader("Cache-Control", "no-store");
+            response.setContentLength(0);
+
+            Optional<Claims> verified = tokenVerifier.tryVerify(bearerToken(request))
+                    .filter(claims -> !"client".equals(claims.get("type", String.class)));
+
+            if (verified.isEmpty()) {
+                response.setHeader("WWW-Authenticate", "Bearer error=\"invalid_token\"");
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
+
+            Claims claims = verified.get();
+            String applicationId = claims.get("appId", String.class);
+            String expectedApplication = request.getHeader(APPLICATION_HEADER);
+            if (expectedApplication != null && !expectedApplication.equals(applicationId)) {
+                response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+                return;
+            }
+
+            response.setHeader(SUBJECT_HEADER, claims.getSubject());
+            response.setHeader(APPLICATION_HEADER, applicationId);
+            String scopes = scopes(claims);
+            if (scopes != null) {
+                response.setHeader(SCOPES_HEADER, scopes);
+            }
+            response.setStatus(HttpServletResponse.SC_OK);
+
+            String sessionId = claims.get("sid", String.class);
+            if (sessionId != null) {
+                sessionActivityTracker.touch(UUID.fromString(sessionId), UUID.fromString(applicationId),
+                        UUID.fromString(claims.getSubject()));
+            }
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private String bearerToken(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        return header.substring(7);
+    }
+
+    /**
+     * Scopes come from a "scope" claim (space-separated string or list), which applications
+     * opt into through their custom JWT claims
+     */
+    private String scopes(Claims claims) {
+        Object scope = claims.get("scope");
+        if (scope instanceof Collection<?> values) {
+            return String.join(" ", values.stream().map(String::valueOf).toList());
+        }
+        return scope != null ? scope.toString() : null;
+    }
+}
@@ -2,12 +2,13 @@ package com.tokenly.backend.security.filter;
 
 import com.tokenly.backend.entity.Client;
 import com.tokenly.backend.entity.User;
+import com.tokenly.backend.enums.UserStatus;
 import com.tokenly.backend.exception.UnauthorizedException;
 import com.tokenly.backend.repository.ClientRepository;
 import com.tokenly.backend.repository.UserRepository;
-import com.tokenly.backend.security.JwtService;
+import com.tokenly.backend.security.session.SessionActivityTracker;
+import com.tokenly.backend.security.token.AccessTokenVerifier;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,9 +31,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final String AUTH_HEADER = "Authorization";
 
-    private final JwtService jwtService;
+    private final AccessTokenVerifier tokenVerifier;
     private final UserRepository userRepository;
     private final ClientRepository clientRepository;
+    private final SessionActivityTracker sessionActivityTracker;
 
     @Override
     protected void doFilterInternal(
@@ -51,13 +53,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = header.substring(7);
 
         try {
-            Jws<Claims> claims = jwtService.validateToken(token);
-            String tokenType = claims.getBody().get("type", String.class);
+            // Signature, expiry and revocation checks (parsed claims are cached until exp)
+            Claims claims = tokenVerifier.verify(token);
+            String tokenType = claims.get("type", String.class);
             
             // Check if this is a client token (admin portal) or user token (end-user app)
             if ("client".equals(tokenType)) {
                 // Client token - for admin portal access
-                String subject = claims.getBody().getSubject();
+                String subject = claims.getSubject();
                 UUID clientId = UUID.fromString(subject);
                 
                 // Load the client entity from database
@@ -80,14 +83,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                      log.warn("Unexpected token type: {}", tokenType);
                 }
 
-                String subject = claims.getBody().getSubject();
+                String subject = claims.getSubject();
                 UUID userId = UUID.fromString(subject);
                 
                 User user = userRepository.findById(userId)
                         .orElseThrow(() -> new UnauthorizedException("User not found: " + userId));
+
+                if (user.getStatus() != UserStatus.ACTIVE) {
+                    throw new UnauthorizedException("User is not active: " + userId);
+                }
                 
                 request.setAttribute("user", user);
                 request.setAttribute("isClientToken", false);
+
+                // Tokens bound to a refresh session keep its last-use time (and sliding expiry) current
+                String sessionId = claims.get("sid", String.class);
+                if (sessionId != null) {
+                    sessionActivityTracker.touch(UUID.fromString(sessionId),
+                            UUID.fromString(claims.get("appId", String.class)), userId);
+                }
                 
                 // Set Spring Security authentication context
                 UsernamePasswordAuthenticationToken authentication = 
@@ -1,9 +1,6 @@
 package com.tokenly.backend.security.login;
 
-import com.tokenly.backend.entity.Application;
-import com.tokenly.backend.entity.AuthConfig;
-import com.tokenly.backend.enums.LoginMethod;
-import com.tokenly.backend.repository.AuthConfigRepository;
+import com.tokenly.backend.security.policy.AuthPolicy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
@@ -13,16 +10,11 @@ import org.springframework.stereotype.Component;
 public class LoginHandlerResolver {
 
     private final ApplicationContext context;
-    private final AuthConfigRepository authConfigRepository;
 
     /**
-     * Resolve the correct LoginMethodHandler for the given application
+     * Resolve the correct LoginMethodHandler for the application the policy belongs to
      */
-    public LoginMethodHandler resolve(Application application) {
-        LoginMethod method = authConfigRepository.findByApplication(application)
-                .map(AuthConfig::getLoginMethod)
-                .orElse(LoginMethod.PASSWORD); // Default
-
-        return context.getBean(method.name(), LoginMethodHandler.class);
+    public LoginMethodHandler resolve(AuthPolicy policy) {
+        return context.getBean(policy.getLoginMethod().name(), LoginMethodHandler.class);
     }
 }
@@ -3,6 +3,7 @@ package com.tokenly.backend.security.login;
 import com.tokenly.backend.dto.request.auth.UserLoginRequest;
 import com.tokenly.backend.entity.Application;
 import com.tokenly.backend.entity.User;
+import com.tokenly.backend.security.policy.AuthPolicy;
 
 public interface LoginMethodHandler {
     
@@ -10,5 +11,5 @@ public interface LoginMethodHandler {
      * Authenticate a user based on the request data
      * @return Authenticated user
      */
-    User authenticate(Application application, UserLoginRequest request);
+    User authenticate(Application application, AuthPolicy policy, UserLoginRequest request);
 }
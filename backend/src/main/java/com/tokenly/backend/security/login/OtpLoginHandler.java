@@ -5,8 +5,10 @@ import com.tokenly.backend.entity.Application;
 import com.tokenly.backend.entity.User;
 import com.tokenly.backend.exception.UnauthorizedException;
 import com.tokenly.backend.repository.UserRepository;
+import com.tokenly.backend.security.challenge.ChallengeStore;
+import com.tokenly.backend.security.challenge.ChallengeStore.OtpVerification;
+import com.tokenly.backend.security.policy.AuthPolicy;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
 @Component("OTP")
@@ -14,12 +16,10 @@ import org.springframework.stereotype.Component;
 public class OtpLoginHandler implements LoginMethodHandler {
 
     private final UserRepository userRepository;
-    private final StringRedisTemplate redisTemplate;
-
-    private static final String OTP_PREFIX = "tokenly:otp:";
+    private final ChallengeStore challengeStore;
 
     @Override
-    public User authenticate(Application application, UserLoginRequest request) {
+    public User authenticate(Application application, AuthPolicy policy, UserLoginRequest request) {
         String email = request.getEmail();
         String code = request.getOtpCode();
 
@@ -27,16 +27,15 @@ public class OtpLoginHandler implements LoginMethodHandler {
             throw new UnauthorizedException("OTP code is required");
         }
 
-        String redisKey = OTP_PREFIX + application.getId() + ":" + email;
-        String storedCode = redisTemplate.opsForValue().get(redisKey);
-
-        if (storedCode == null || !storedCode.equals(code)) {
+        // Checked and consumed in one step, so a code cannot be used twice or guessed indefinitely
+        OtpVerification verification = challengeStore.verifyOtp(application.getId(), email, code);
+        if (verification == OtpVerification.EXHAUSTED) {
+            throw new UnauthorizedException("Too many invalid attempts, request a new OTP code");
+        }
+        if (verification != OtpVerification.VERIFIED) {
             throw new UnauthorizedException("Invalid or expired OTP code");
         }
 
-        // OTP verified, remove it
-        redisTemplate.delete(redisKey);
-
         return userRepository.findByApplicationAndEmail(application, email)
                 .orElseThrow(() -> new UnauthorizedException("User not found"));
     }
@@ -5,7 +5,8 @@ import com.tokenly.backend.entity.Application;
 import com.tokenly.backend.entity.User;
 import com.tokenly.backend.exception.UnauthorizedException;
 import com.tokenly.backend.repository.UserRepository;
-import com.tokenly.backend.security.PasswordEncoderFactory;
+import com.tokenly.backend.security.PasswordRehasher;
+import com.tokenly.backend.security.policy.AuthPolicy;
 import com.tokenly.backend.service.LoginLogService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -15,11 +16,11 @@ import org.springframework.stereotype.Component;
 public class PasswordLoginHandler implements LoginMethodHandler {
 
     private final UserRepository userRepository;
-    private final PasswordEncoderFactory encoderFactory;
     private final LoginLogService loginLogService;
+    private final PasswordRehasher passwordRehasher;
 
     @Override
-    public User authenticate(Application application, UserLoginRequest request) {
+    public User authenticate(Application application, AuthPolicy policy, UserLoginRequest request) {
         User user = userRepository
                 .findByApplicationAndEmail(application, request.getEmail())
                 .orElseThrow(() -> {
@@ -33,7 +34,7 @@ public class PasswordLoginHandler implements LoginMethodHandler {
                     return new UnauthorizedException("Invalid credentials");
                 });
 
-        if (!encoderFactory.getEncoderForApplication(application).matches(request.getPassword(), user.getPasswordHash())) {
+        if (!policy.getPasswordEncoder().matches(request.getPassword(), user.getPasswordHash())) {
             loginLogService.logFailedLogin(
                     request.getEmail(),
                     application,
@@ -44,9 +45,10 @@ public class PasswordLoginHandler implements LoginMethodHandler {
             throw new UnauthorizedException("Invalid credentials");
         }
 
-        if (application.getAuthConfig() != null 
-                && application.getAuthConfig().isEmailVerificationRequired() 
-                && !user.isEmailVerified()) {
+        // The password is known good: bring its hash onto the current scheme, off the login path
+        passwordRehasher.rehashIfNeeded(user, request.getPassword(), policy);
+
+        if (policy.isEmailVerificationRequired() && !user.isEmailVerified()) {
             loginLogService.logFailedLogin(
                     request.getEmail(),
                     application,
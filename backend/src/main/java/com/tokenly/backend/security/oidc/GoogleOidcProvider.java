@@ -0,0 +1,111 @@
+package com.tokenly.backend.security.oidc;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import com.google.api.client.http.apache.v2.ApacheHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.exception.ServiceUnavailableException;
+import com.tokenly.backend.exception.UnauthorizedException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.List;
+
+/**
+ * Google Sign-In ID tokens.
+ *
+ * All verifiers share one pooled HTTP transport and one signing key cache, which expires as
+ * Google's Cache-Control says. A scheduled check refreshes the keys shortly before that, so a
+ * login only waits on Google for the very first token the node sees.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GoogleOidcProvider implements OidcProvider {
+
+    public static final String NAME = "google";
+
+    private final AppProperties appProperties;
+
+    private ApacheHttpTransport transport;
+    private GooglePublicKeysManager keysManager;
+    private volatile boolean inUse; // No background fetches on nodes where nobody signs in with Google
+
+    @PostConstruct
+    void init() {
+        transport = new ApacheHttpTransport(ApacheHttpTransport.newDefaultHttpClient());
+        keysManager = new GooglePublicKeysManager.Builder(transport, GsonFactory.getDefaultInstance())
+                .setPublicCertsEncodedUrl(appProperties.getOidc().getGoogleCertsUrl())
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        transport.shutdown();
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public OidcVerifier createVerifier(String audience) {
+        inUse = true;
+        GoogleIdTokenVerifier.Builder builder = new GoogleIdTokenVerifier.Builder(keysManager);
+        if (audience != null && !audience.isBlank()) {
+            builder.setAudience(List.of(audience));
+        }
+        GoogleIdTokenVerifier verifier = builder.build();
+        return idToken -> verify(verifier, idToken);
+    }
+
+    private OidcIdentity verify(GoogleIdTokenVerifier verifier, String idToken) {
+        GoogleIdToken token;
+        try {
+            token = verifier.verify(idToken);
+        } catch (IllegalArgumentException e) {
+            throw new UnauthorizedException("Invalid Google ID Token"); // Not even a JWT
+        } catch (IOException | GeneralSecurityException e) {
+            log.warn("Google signing keys unavailable: {}", e.getMessage());
+            throw new ServiceUnavailableException("Google sign-in is temporarily unavailable");
+        }
+        if (token == null) {
+            throw new UnauthorizedException("Invalid Google ID Token");
+        }
+
+        GoogleIdToken.Payload payload = token.getPayload();
+        return new OidcIdentity(payload.getSubject(), payload.getEmail(), Boolean.TRUE.equals(payload.getEmailVerified()));
+    }
+
+    /**
+     * Fetch the keys ahead of their expiry, off the request path
+     */
+    @Scheduled(
+            fixedDelayString = "${app.oidc.key-refresh-check-ms:60000}",
+            initialDelayString = "${app.oidc.key-refresh-check-ms:60000}"
+    )
+    public void refreshKeys() {
+        if (!inUse) {
+            return;
+        }
+        long refreshAt = keysManager.getExpirationTimeMilliseconds()
+                - appProperties.getOidc().getKeyRefreshAheadSeconds() * 1000L;
+        if (System.currentTimeMillis() < refreshAt) {
+            return;
+        }
+        try {
+            keysManager.refresh();
+        } catch (IOException | GeneralSecurityException e) {
+            log.warn("Google signing key refresh failed, keeping current keys: {}", e.getMessage());
+        }
+    }
+}
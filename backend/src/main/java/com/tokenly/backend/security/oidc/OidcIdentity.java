@@ -0,0 +1,7 @@
+package com.tokenly.backend.security.oidc;
+
+/**
+ * The claims of a verified ID token that login needs
+ */
+public record OidcIdentity(String subject, String email, boolean emailVerified) {
+}
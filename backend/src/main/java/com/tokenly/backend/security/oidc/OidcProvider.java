@@ -0,0 +1,18 @@
+package com.tokenly.backend.security.oidc;
+
+/**
+ * An OpenID Connect issuer. Implementations hold whatever is shared across audiences (HTTP
+ * transport, signing key cache) and hand out verifiers bound to a single audience.
+ */
+public interface OidcProvider {
+
+    /**
+     * Registry key, e.g. "google"
+     */
+    String name();
+
+    /**
+     * @param audience the client id tokens must be issued to; null or blank skips the audience check
+     */
+    OidcVerifier createVerifier(String audience);
+}
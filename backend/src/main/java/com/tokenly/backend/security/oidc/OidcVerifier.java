@@ -0,0 +1,13 @@
+package com.tokenly.backend.security.oidc;
+
+/**
+ * Verifies ID tokens from one issuer for one audience (client id). Thread-safe and long-lived.
+ */
+public interface OidcVerifier {
+
+    /**
+     * @throws com.tokenly.backend.exception.UnauthorizedException if the token is not valid
+     * @throws com.tokenly.backend.exception.ServiceUnavailableException if the signing keys cannot be fetched
+     */
+    OidcIdentity verify(String idToken);
+}
@@ -0,0 +1,42 @@
+package com.tokenly.backend.security.oidc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One verifier per (provider, audience), built on first use and kept for the life of the node
+ */
+@Slf4j
+@Component
+public class OidcVerifierRegistry {
+
+    private final Map<String, OidcProvider> providers;
+    private final Map<Key, OidcVerifier> verifiers = new ConcurrentHashMap<>();
+
+    private record Key(String provider, String audience) {
+    }
+
+    public OidcVerifierRegistry(List<OidcProvider> providers) {
+        this.providers = providers.stream().collect(Collectors.toMap(OidcProvider::name, Function.identity()));
+    }
+
+    public OidcVerifier verifier(String provider, String audience) {
+        String normalizedAudience = audience != null ? audience.trim() : "";
+        return verifiers.computeIfAbsent(new Key(provider, normalizedAudience), key -> {
+            OidcProvider oidcProvider = providers.get(key.provider());
+            if (oidcProvider == null) {
+                throw new IllegalArgumentException("Unknown OIDC provider: " + key.provider());
+            }
+            if (key.audience().isEmpty()) {
+                log.warn("{} verifier without an audience: tokens issued to any client will be accepted", key.provider());
+            }
+            return oidcProvider.createVerifier(key.audience());
+        });
+    }
+}
@@ -0,0 +1,104 @@
+package com.tokenly.backend.security.policy;
+
+import com.tokenly.backend.entity.AuthConfig;
+import com.tokenly.backend.enums.AuthMode;
+import com.tokenly.backend.enums.LoginMethod;
+import com.tokenly.backend.enums.PasswordHashAlgorithm;
+import com.tokenly.backend.security.PasswordHashParams;
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of an application's auth configuration, resolved once and handed
+ * down the login path so no step has to go back to the database for it.
+ */
+@Value
+@Builder
+public class AuthPolicy {
+
+    public static final int DEFAULT_ACCESS_TTL_MINUTES = 60;
+    public static final int DEFAULT_REFRESH_TTL_MINUTES = 43200; // 30 days
+
+    UUID applicationId;
+    long version; // updatedAt of the config it was taken from; 0 when the application has none
+    boolean configured;
+
+    AuthMode authMode;
+    LoginMethod loginMethod;
+    PasswordHashAlgorithm passwordHashAlgorithm;
+    PasswordHashParams hashParams;
+    PasswordEncoder passwordEncoder;
+
+    int accessTokenTtlMinutes;
+    int refreshTokenTtlMinutes;
+    boolean refreshTokenEnabled;
+    Duration refreshGrace;
+    Integer slidingExpiryMinutes;
+    int maxSessionsPerUser; // 0 = unlimited
+
+    boolean signupEnabled;
+    boolean emailVerificationRequired;
+    List<String> customClaims;
+    String googleClientId;
+
+    /**
+     * @param config  the application's config, or null when it has none yet
+     * @param encoder encoder for the configured hash algorithm; may be null where no password is checked
+     */
+    public static AuthPolicy of(UUID applicationId, AuthConfig config, PasswordEncoder encoder) {
+        if (config == null) {
+            return AuthPolicy.builder()
+                    .applicationId(applicationId)
+                    .loginMethod(LoginMethod.PASSWORD)
+                    .hashParams(PasswordHashParams.of(null))
+                    .passwordEncoder(encoder)
+                    .accessTokenTtlMinutes(DEFAULT_ACCESS_TTL_MINUTES)
+                    .refreshTokenTtlMinutes(DEFAULT_REFRESH_TTL_MINUTES)
+                    .refreshGrace(Duration.ZERO)
+                    .customClaims(List.of())
+                    .build();
+        }
+
+        return AuthPolicy.builder()
+                .applicationId(applicationId)
+                .version(config.getUpdatedAt() != null ? config.getUpdatedAt().toEpochMilli() : 0)
+                .configured(true)
+                .authMode(config.getAuthMode())
+                .loginMethod(config.getLoginMethod() != null ? config.getLoginMethod() : LoginMethod.PASSWORD)
+                .passwordHashAlgorithm(config.getPasswordHashAlgorithm())
+                .hashParams(PasswordHashParams.of(config))
+                .passwordEncoder(encoder)
+                .accessTokenTtlMinutes(orDefault(config.getAccessTokenTtlMinutes(), DEFAULT_ACCESS_TTL_MINUTES))
+                .refreshTokenTtlMinutes(orDefault(config.getRefreshTokenTtlMinutes(), DEFAULT_REFRESH_TTL_MINUTES))
+                .refreshTokenEnabled(config.isRefreshTokenEnabled())
+                .refreshGrace(config.getRefreshGraceSeconds() != null
+                        ? Duration.ofSeconds(config.getRefreshGraceSeconds()) : Duration.ZERO)
+                .slidingExpiryMinutes(config.getSlidingExpiryMinutes())
+                .maxSessionsPerUser(orDefault(config.getMaxSessionsPerUser(), 0))
+                .signupEnabled(config.isSignupEnabled())
+                .emailVerificationRequired(config.isEmailVerificationRequired())
+                .customClaims(parseClaims(config.getJwtCustomClaims()))
+                .googleClientId(config.getGoogleClientId())
+                .build();
+    }
+
+    private static int orDefault(Integer value, int fallback) {
+        return value != null ? value : fallback;
+    }
+
+    private static List<String> parseClaims(String claimsList) {
+        if (claimsList == null || claimsList.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(claimsList.split(","))
+                .map(String::trim)
+                .filter(claim -> !claim.isEmpty())
+                .toList();
+    }
+}
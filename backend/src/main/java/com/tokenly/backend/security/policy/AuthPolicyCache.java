@@ -0,0 +1,110 @@
+package com.tokenly.backend.security.policy;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.entity.Application;
+import com.tokenly.backend.entity.AuthConfig;
+import com.tokenly.backend.repository.AuthConfigRepository;
+import com.tokenly.backend.security.PasswordEncoderFactory;
+import com.tokenly.backend.security.PasswordHashParams;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process {@link AuthPolicy} per application.
+ *
+ * A config change is saved, dropped locally and announced over pub/sub so every node drops
+ * its copy too; the TTL only bounds how long a lost message can leave a node stale.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthPolicyCache implements MessageListener {
+
+    public static final String CHANNEL = "tokenly:auth-policy";
+
+    private final AuthConfigRepository authConfigRepository;
+    private final PasswordEncoderFactory encoderFactory;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final AppProperties appProperties;
+
+    private final Map<UUID, Entry> policies = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private record Entry(AuthPolicy policy, long loadedAt) {
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    public AuthPolicy get(Application application) {
+        return get(application.getId(), () -> authConfigRepository.findByApplication(application));
+    }
+
+    /**
+     * For callers holding only the id, such as background jobs working from token claims
+     */
+    public AuthPolicy get(UUID applicationId) {
+        return get(applicationId, () -> authConfigRepository.findByApplicationId(applicationId));
+    }
+
+    private AuthPolicy get(UUID applicationId, Supplier<Optional<AuthConfig>> config) {
+        long now = System.currentTimeMillis();
+        Entry entry = policies.get(applicationId);
+        if (entry != null && now - entry.loadedAt() < appProperties.getAuth().getPolicyCacheTtlMs()) {
+            return entry.policy();
+        }
+
+        // A load that raced an invalidation may have read the old row, so it is used but not kept
+        long seen = invalidations.get();
+        AuthPolicy policy = load(applicationId, config.get().orElse(null));
+        if (invalidations.get() == seen) {
+            policies.put(applicationId, new Entry(policy, now));
+        }
+        return policy;
+    }
+
+    /**
+     * Drop the application's policy on this node and every other one; call after the config is saved
+     */
+    public void invalidate(UUID applicationId) {
+        evict(applicationId);
+        redisTemplate.convertAndSend(CHANNEL, applicationId.toString());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            evict(UUID.fromString(body));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed auth policy invalidation: {}", body);
+        }
+    }
+
+    private void evict(UUID applicationId) {
+        invalidations.incrementAndGet();
+        policies.remove(applicationId);
+    }
+
+    private AuthPolicy load(UUID applicationId, AuthConfig config) {
+        return AuthPolicy.of(applicationId, config, encoderFactory.getEncoder(PasswordHashParams.of(config)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.tokenly.backend.security.rate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Failed logins per IP in fixed windows, kept in Redis so every node sees a failure the moment it
+ * happens. The audit log is written in batches off the login path and may drop events, so it is
+ * no basis for throttling.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FailedLoginCounter {
+
+    private static final String KEY_PREFIX = "tokenly:login:failed:";
+
+    // The first failure of a window starts its expiry; ARGV[1] is the window in seconds
+    private static final DefaultRedisScript<Long> RECORD = new DefaultRedisScript<>("""
+            local count = redis.call('INCR', KEYS[1])
+            if count == 1 then
+              redis.call('EXPIRE', KEYS[1], ARGV[1])
+            end
+            return count
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public void record(String ipAddress, Duration window) {
+        if (ipAddress == null) {
+            return;
+        }
+        try {
+            redisTemplate.execute(RECORD, List.of(KEY_PREFIX + ipAddress), String.valueOf(window.getSeconds()));
+        } catch (Exception e) {
+            log.warn("Could not count failed login from {}: {}", ipAddress, e.getMessage());
+        }
+    }
+
+    /**
+     * Failures from {@code ipAddress} in the current window; 0 when Redis cannot answer, so an
+     * outage never locks every client out
+     */
+    public long count(String ipAddress) {
+        if (ipAddress == null) {
+            return 0;
+        }
+        try {
+            String count = redisTemplate.opsForValue().get(KEY_PREFIX + ipAddress);
+            return count != null ? Long.parseLong(count) : 0;
+        } catch (Exception e) {
+            log.warn("Could not read failed logins for {}: {}", ipAddress, e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.tokenly.backend.security.revocation;
+
+import com.tokenly.backend.config.AppProperties;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Access-token revocation: a jti denylist and per-subject "not before" epochs.
+ *
+ * Redis is the source of truth. Every node keeps a Bloom filter of revoked jtis and a map of
+ * epochs, kept current over pub/sub, so the common "not revoked" answer never leaves memory.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService implements MessageListener {
+
+    public static final String CHANNEL = "tokenly:revocation";
+    private static final String JTI_KEY = "tokenly:revoked:jti";       // zset: jti -> token exp (epoch seconds)
+    private static final String EPOCH_KEY = "tokenly:revoked:epochs";  // zset: subject -> not-before (epoch seconds)
+    private static final int MAX_CONFIRMED_ENTRIES = 10_000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final AppProperties appProperties;
+
+    private volatile BloomFilter bloomFilter;
+    private volatile List<String> rebuildBuffer;
+    private final Map<String, Boolean> confirmed = new ConcurrentHashMap<>();
+    private final Map<String, Long> notBefore = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Deny a single access token until it expires
+     */
+    public void revokeToken(String jti, Instant expiresAt) {
+        if (jti == null) {
+            return;
+        }
+        long exp = expiresAt != null ? expiresAt.getEpochSecond() : Instant.now().getEpochSecond();
+
+        rememberRevokedJti(jti);
+        redisTemplate.opsForZSet().add(JTI_KEY, jti, exp);
+        redisTemplate.convertAndSend(CHANNEL, "jti:" + jti);
+        log.info("Access token revoked: {}", jti);
+    }
+
+    /**
+     * Invalidate every access token issued to a subject before now
+     */
+    public void revokeAllForSubject(String subject) {
+        long epoch = Instant.now().getEpochSecond();
+
+        notBefore.merge(subject, epoch, Math::max);
+        redisTemplate.opsForZSet().add(EPOCH_KEY, subject, epoch);
+        redisTemplate.convertAndSend(CHANNEL, "sub:" + subject + ":" + epoch);
+        log.info("All access tokens revoked for subject: {}", subject);
+    }
+
+    public boolean isRevoked(Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        return isRevoked(claims.getId(), claims.getSubject(), issuedAt != null ? issuedAt.toInstant() : null);
+    }
+
+    public boolean isRevoked(String jti, String subject, Instant issuedAt) {
+        Long epoch = subject != null ? notBefore.get(subject) : null;
+        if (epoch != null && (issuedAt == null || issuedAt.getEpochSecond() < epoch)) {
+            return true;
+        }
+
+        // Tokens issued before jti support cannot be denylisted individually
+        if (jti == null) {
+            return false;
+        }
+
+        BloomFilter filter = currentFilter();
+        if (!filter.mightContain(jti)) {
+            return false;
+        }
+
+        Boolean known = confirmed.get(jti);
+        if (known != null) {
+            return known;
+        }
+
+        try {
+            boolean revoked = redisTemplate.opsForZSet().score(JTI_KEY, jti) != null;
+            if (confirmed.size() >= MAX_CONFIRMED_ENTRIES) {
+                confirmed.clear();
+            }
+            confirmed.put(jti, revoked);
+            return revoked;
+        } catch (Exception e) {
+            // Fail closed: a Bloom hit we cannot confirm is treated as revoked
+            log.warn("Could not confirm revocation for jti {}: {}", jti, e.getMessage());
+            return true;
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+
+        if (body.startsWith("jti:")) {
+            rememberRevokedJti(body.substring(4));
+        } else if (body.startsWith("sub:")) {
+            int separator = body.lastIndexOf(':');
+            String subject = body.substring(4, separator);
+            long epoch = Long.parseLong(body.substring(separator + 1));
+            notBefore.merge(subject, epoch, Math::max);
+        } else {
+            log.warn("Ignoring unknown revocation message: {}", body);
+        }
+    }
+
+    /**
+     * Reload local state from Redis, dropping expired denylist entries and stale epochs
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            fixedDelayString = "${app.revocation.rebuild-interval-ms:300000}",
+            initialDelayString = "${app.revocation.rebuild-interval-ms:300000}"
+    )
+    public void rebuild() {
+        AppProperties.Revocation config = appProperties.getRevocation();
+        long now = Instant.now().getEpochSecond();
+        long epochCutoff = now - config.getEpochRetentionMinutes() * 60L;
+
+        rebuildBuffer = Collections.synchronizedList(new ArrayList<>());
+        try {
+            redisTemplate.opsForZSet().removeRangeByScore(JTI_KEY, Double.NEGATIVE_INFINITY, now);
+            redisTemplate.opsForZSet().removeRangeByScore(EPOCH_KEY, Double.NEGATIVE_INFINITY, epochCutoff);
+
+            BloomFilter filter = new BloomFilter(config.getBloomExpectedInsertions(), config.getBloomFalsePositiveRate());
+            Set<String> jtis = redisTemplate.opsForZSet().rangeByScore(JTI_KEY, now, Double.POSITIVE_INFINITY);
+            if (jtis != null) {
+                jtis.forEach(filter::put);
+            }
+
+            Set<ZSetOperations.TypedTuple<String>> epochs =
+                    redisTemplate.opsForZSet().rangeByScoreWithScores(EPOCH_KEY, epochCutoff, Double.POSITIVE_INFINITY);
+            notBefore.values().removeIf(epoch -> epoch < epochCutoff);
+            if (epochs != null) {
+                for (ZSetOperations.TypedTuple<String> tuple : epochs) {
+                    if (tuple.getValue() != null && tuple.getScore() != null) {
+                        notBefore.merge(tuple.getValue(), tuple.getScore().longValue(), Math::max);
+                    }
+                }
+            }
+
+            bloomFilter = filter;
+            confirmed.clear();
+            log.info("Revocation state rebuilt: {} denylisted tokens, {} subject epochs",
+                    jtis != null ? jtis.size() : 0, notBefore.size());
+        } catch (Exception e) {
+            log.error("Failed to rebuild revocation state from Redis: {}", e.getMessage());
+        } finally {
+            List<String> buffered = rebuildBuffer;
+            rebuildBuffer = null;
+            // Replay revocations that arrived while the new filter was being built
+            synchronized (buffered) {
+                buffered.forEach(currentFilter()::put);
+            }
+        }
+    }
+
+    private void rememberRevokedJti(String jti) {
+        currentFilter().put(jti);
+        confirmed.put(jti, true);
+        List<String> buffer = rebuildBuffer;
+        if (buffer != null) {
+            buffer.add(jti);
+        }
+    }
+
+    private BloomFilter currentFilter() {
+        BloomFilter filter = bloomFilter;
+        if (filter == null) {
+            synchronized (this) {
+                if (bloomFilter == null) {
+                    AppProperties.Revocation config = appProperties.getRevocation();
+                    bloomFilter = new BloomFilter(config.getBloomExpectedInsertions(), config.getBloomFalsePositiveRate());
+                }
+                filter = bloomFilter;
+            }
+        }
+        return filter;
+    }
+}
@@ -0,0 +1,257 @@
+package com.tokenly.backend.security.session;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.security.util.TokenHashUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Sessions held in this JVM ({@code app.sessions.store=memory}), for single-node deployments and
+ * tests: no MySQL or Redis involved.
+ *
+ * Every operation takes the store's monitor, which makes rotation trivially atomic. When
+ * {@code app.sessions.snapshot-path} is set the whole store is written to that file (through a
+ * temporary file and an atomic rename) every {@code app.sessions.snapshot-interval-ms} and on
+ * shutdown, and read back on startup; sessions changed after the last snapshot are lost in a crash.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.sessions", name = "store", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemorySessionStore implements SessionStore {
+
+    private final TokenHashUtil tokenHashUtil;
+    private final ObjectMapper objectMapper;
+    private final AppProperties appProperties;
+
+    private final Map<UUID, SessionState> sessions = new HashMap<>();
+    private final Map<UUID, Long> familyGenerations = new HashMap<>(); // TokenFamilyRegistry.REVOKED once revoked
+    private final Map<UUID, Set<UUID>> sessionsByUser = new HashMap<>();
+    private boolean dirty;
+
+    /**
+     * On-disk form: session fields as in {@link SessionState#toHash()}
+     */
+    record Snapshot(List<Map<String, String>> sessions, Map<UUID, Long> families) {
+    }
+
+    @Override
+    public synchronized Created create(SessionState session, int maxSessionsPerUser) {
+        SessionState stored = session.toBuilder().id(UUID.randomUUID()).build();
+        put(stored);
+        familyGenerations.put(stored.getTokenFamily(), stored.getGeneration());
+        List<UUID> evicted = maxSessionsPerUser > 0
+                ? evictLeastRecentlyUsed(stored.getUserId(), maxSessionsPerUser, stored.getCreatedAt())
+                : List.of();
+        return new Created(stored, evicted);
+    }
+
+    @Override
+    public synchronized Rotation rotate(RotationRequest request) {
+        SessionState session = sessions.get(request.sessionId());
+        if (session == null
+                || !session.getApplicationId().equals(request.applicationId())
+                || !tokenHashUtil.hashMatches(request.presentedHash(), session.getRefreshTokenHash())
+                || session.getExpiresAt().isBefore(request.now())) {
+            return Rotation.of(RotationOutcome.INVALID);
+        }
+
+        long current = familyGenerations.getOrDefault(session.getTokenFamily(), session.getGeneration());
+        if (session.getGeneration() < current) {
+            if (rotatedWithinGrace(session, current, request)) {
+                return Rotation.of(RotationOutcome.GRACE);
+            }
+            revokeFamily(session.getTokenFamily(), request.now());
+            return new Rotation(RotationOutcome.REUSED, session, null);
+        }
+        if (session.isRevoked()) {
+            return Rotation.of(RotationOutcome.REVOKED);
+        }
+
+        SessionState next = session.rotate(UUID.randomUUID(), request.newHash(), request.newExpiresAt(), request.now());
+        put(session.toBuilder().revoked(true).revokedAt(request.now()).build());
+        put(next);
+        familyGenerations.put(next.getTokenFamily(), next.getGeneration());
+        return new Rotation(RotationOutcome.ROTATED, session, next);
+    }
+
+    /**
+     * The presented session is the immediate predecessor of the family head and was rotated less
+     * than the grace window ago
+     */
+    private boolean rotatedWithinGrace(SessionState session, long current, RotationRequest request) {
+        return !request.graceWindow().isZero()
+                && session.getGeneration() + 1 == current
+                && session.getRevokedAt() != null
+                && session.getRevokedAt().isAfter(request.now().minus(request.graceWindow()));
+    }
+
+    private void revokeFamily(UUID tokenFamily, Instant at) {
+        familyGenerations.put(tokenFamily, TokenFamilyRegistry.REVOKED);
+        sessions.values().stream()
+                .filter(session -> session.getTokenFamily().equals(tokenFamily) && !session.isRevoked())
+                .toList()
+                .forEach(session -> put(session.toBuilder().revoked(true).revokedAt(at).build()));
+    }
+
+    private List<UUID> evictLeastRecentlyUsed(UUID userId, int maxSessions, Instant at) {
+        List<SessionState> live = sessionsByUser.getOrDefault(userId, Set.of()).stream()
+                .map(sessions::get)
+                .filter(session -> !session.isRevoked() && session.getExpiresAt().isAfter(at))
+                .sorted(Comparator.comparing(SessionState::getLastUsedAt, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList();
+
+        List<UUID> evicted = new ArrayList<>();
+        for (SessionState session : live.subList(0, Math.max(0, live.size() - maxSessions))) {
+            put(session.toBuilder().revoked(true).revokedAt(at).build());
+            evicted.add(session.getId());
+        }
+        return evicted;
+    }
+
+    @Override
+    public synchronized boolean revoke(UUID sessionId, Instant revokedAt) {
+        SessionState session = sessions.get(sessionId);
+        if (session == null) {
+            return false;
+        }
+        if (!session.isRevoked()) {
+            put(session.toBuilder().revoked(true).revokedAt(revokedAt).build());
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void revokeAllForUser(UUID userId, UUID exceptSessionId, Instant revokedAt) {
+        for (UUID sessionId : sessionsByUser.getOrDefault(userId, Set.of())) {
+            SessionState session = sessions.get(sessionId);
+            if (!session.isRevoked() && !sessionId.equals(exceptSessionId)) {
+                put(session.toBuilder().revoked(true).revokedAt(revokedAt).build());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void touch(List<Activity> activity) {
+        for (Activity used : activity) {
+            SessionState session = sessions.get(used.sessionId());
+            if (session != null) {
+                SessionState touched = session.touch(used);
+                if (!touched.equals(session)) {
+                    put(touched);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void purgeExpired() {
+        Instant threshold = Instant.now().minus(appProperties.getSessions().getPurgeRetentionDays(), ChronoUnit.DAYS);
+        List<SessionState> purged = sessions.values().stream()
+                .filter(session -> session.getExpiresAt().isBefore(threshold)
+                        || (session.isRevoked() && session.getRevokedAt() != null && session.getRevokedAt().isBefore(threshold)))
+                .toList();
+
+        for (SessionState session : purged) {
+            sessions.remove(session.getId());
+            Set<UUID> userSessions = sessionsByUser.get(session.getUserId());
+            userSessions.remove(session.getId());
+            if (userSessions.isEmpty()) {
+                sessionsByUser.remove(session.getUserId());
+            }
+        }
+        Set<UUID> liveFamilies = new HashSet<>();
+        sessions.values().forEach(session -> liveFamilies.add(session.getTokenFamily()));
+        familyGenerations.keySet().retainAll(liveFamilies);
+
+        dirty |= !purged.isEmpty();
+        log.info("Session purge deleted {} in-memory sessions", purged.size());
+    }
+
+    private void put(SessionState session) {
+        sessions.put(session.getId(), session);
+        sessionsByUser.computeIfAbsent(session.getUserId(), id -> new LinkedHashSet<>()).add(session.getId());
+        dirty = true;
+    }
+
+    @PostConstruct
+    synchronized void load() {
+        Path path = snapshotPath();
+        if (path == null || !Files.exists(path)) {
+            return;
+        }
+        try {
+            Snapshot snapshot = objectMapper.readValue(path.toFile(), Snapshot.class);
+            snapshot.sessions().forEach(hash -> put(SessionState.fromHash(hash)));
+            familyGenerations.putAll(snapshot.families());
+            dirty = false;
+            log.info("Loaded {} sessions from snapshot {}", sessions.size(), path);
+        } catch (IOException e) {
+            // Starting empty logs everyone out, which is safe; refusing to start is not useful
+            log.error("Failed to read session snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.sessions.snapshot-interval-ms:60000}",
+            initialDelayString = "${app.sessions.snapshot-interval-ms:60000}"
+    )
+    @PreDestroy
+    public void snapshot() {
+        Path path = snapshotPath();
+        if (path == null) {
+            return;
+        }
+
+        Snapshot snapshot;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            snapshot = new Snapshot(
+                    sessions.values().stream().map(SessionState::toHash).toList(),
+                    Map.copyOf(familyGenerations));
+            dirty = false;
+        }
+
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            objectMapper.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            synchronized (this) {
+                dirty = true;
+            }
+            log.error("Failed to write session snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    private Path snapshotPath() {
+        String path = appProperties.getSessions().getSnapshotPath();
+        return path == null || path.isBlank() ? null : Path.of(path);
+    }
+}
@@ -0,0 +1,356 @@
+package com.tokenly.backend.security.session;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tokenly.backend.entity.Session;
+import com.tokenly.backend.repository.ApplicationRepository;
+import com.tokenly.backend.repository.SessionRepository;
+import com.tokenly.backend.repository.UserRepository;
+import com.tokenly.backend.security.util.TokenHashUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * MySQL-authoritative sessions ({@code app.sessions.store=hybrid}, the default).
+ *
+ * Redis holds a lookup cache of live sessions, keyed {@code tokenly:session:<applicationId>:<sessionId>},
+ * which rejects wrong verifiers without a database read, a per-user index of those keys scored by
+ * last use, and the family generations ({@link TokenFamilyRegistry}). A refresh is one point read
+ * by primary key plus a compare-and-set revoke.
+ *
+ * The index scripts reach the session keys listed in a user's index, so Redis must be a single
+ * node, not Redis Cluster ({@link RedisTopology}).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.sessions", name = "store", havingValue = "hybrid", matchIfMissing = true)
+@RequiredArgsConstructor
+@Transactional
+public class JpaSessionStore implements SessionStore {
+
+    private static final String REDIS_SESSION_PREFIX = "tokenly:session:";
+    private static final String REDIS_USER_INDEX_PREFIX = "tokenly:sessions:lru:"; // zset: session key -> last use (epoch millis)
+
+    // Indexes a session key under its user (never shortening the index TTL) and, when ARGV[4] > 0,
+    // drops the user's least recently used session keys beyond that many, returning them. Keys
+    // already gone from the cache (expired or revoked) are pruned first and never count.
+    private static final DefaultRedisScript<List> INDEX_SESSION = new DefaultRedisScript<>("""
+            redis.call('ZADD', KEYS[1], ARGV[3], ARGV[1])
+            if redis.call('TTL', KEYS[1]) < tonumber(ARGV[2]) then
+              redis.call('EXPIRE', KEYS[1], ARGV[2])
+            end
+            local evicted = {}
+            local max = tonumber(ARGV[4])
+            if max > 0 then
+              local live = {}
+              for _, key in ipairs(redis.call('ZRANGE', KEYS[1], 0, -1)) do
+                if redis.call('EXISTS', key) == 1 then
+                  live[#live + 1] = key
+                else
+                  redis.call('ZREM', KEYS[1], key)
+                end
+              end
+              for i = 1, #live - max do
+                redis.call('ZREM', KEYS[1], live[i])
+                redis.call('DEL', live[i])
+                evicted[#evicted + 1] = live[i]
+              end
+            end
+            return evicted
+            """, List.class);
+
+    // Moves an indexed session key's last-use score forward and, when ARGV[2] > 0, stretches the
+    // cached key and the index to that sliding expiry (epoch millis); ARGV[3] is now. Keys no
+    // longer indexed (revoked or evicted) stay out.
+    private static final DefaultRedisScript<Long> TOUCH_SESSION = new DefaultRedisScript<>("""
+            local score = redis.call('ZSCORE', KEYS[1], KEYS[2])
+            if not score then
+              return 0
+            end
+            if tonumber(score) < tonumber(ARGV[1]) then
+              redis.call('ZADD', KEYS[1], ARGV[1], KEYS[2])
+            end
+            local expiresAt = tonumber(ARGV[2])
+            if expiresAt > 0 then
+              for _, key in ipairs(KEYS) do
+                local ttl = redis.call('PTTL', key)
+                if ttl > 0 and tonumber(ARGV[3]) + ttl < expiresAt then
+                  redis.call('PEXPIREAT', key, expiresAt)
+                end
+              end
+            end
+            return 1
+            """, Long.class);
+
+    // Deletes every indexed session key of a user; ARGV[1] is a session id whose key is kept
+    private static final DefaultRedisScript<Long> EVICT_USER_SESSIONS = new DefaultRedisScript<>("""
+            local evicted = 0
+            for _, key in ipairs(redis.call('ZRANGE', KEYS[1], 0, -1)) do
+              if ARGV[1] == '' or key:sub(-#ARGV[1]) ~= ARGV[1] then
+                redis.call('DEL', key)
+                redis.call('ZREM', KEYS[1], key)
+                evicted = evicted + 1
+              end
+            end
+            return evicted
+            """, Long.class);
+
+    private final SessionRepository sessionRepository;
+    private final UserRepository userRepository;
+    private final ApplicationRepository applicationRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TokenHashUtil tokenHashUtil;
+    private final TokenFamilyRegistry tokenFamilyRegistry;
+    private final SessionPurger sessionPurger;
+
+    @PostConstruct
+    void requireSingleNode() {
+        RedisTopology.requireSingleNode(redisTemplate, "hybrid");
+    }
+
+    @Override
+    public Created create(SessionState state, int maxSessionsPerUser) {
+        Session session = state.toSession(
+                userRepository.getReferenceById(state.getUserId()),
+                applicationRepository.getReferenceById(state.getApplicationId()));
+
+        Session saved = sessionRepository.save(session);
+        SessionState stored = state.toBuilder().id(saved.getId()).build();
+
+        List<UUID> evicted = saveSessionToRedis(stored, maxSessionsPerUser);
+        if (!evicted.isEmpty()) {
+            sessionRepository.revokeAllById(evicted, Instant.now());
+        }
+        return new Created(stored, evicted);
+    }
+
+    @Override
+    public Rotation rotate(RotationRequest request) {
+        String redisKey = key(request.applicationId(), request.sessionId());
+
+        // 1. Redis first: a cached entry rejects wrong verifiers without touching the database
+        String sessionData = redisTemplate.opsForValue().get(redisKey);
+        if (sessionData != null) {
+            try {
+                Map<String, String> data = objectMapper.readValue(sessionData, new TypeReference<Map<String, String>>() {});
+                if (!tokenHashUtil.hashMatches(request.presentedHash(), data.get("hash"))) {
+                    return Rotation.of(RotationOutcome.INVALID);
+                }
+            } catch (Exception e) {
+                log.error("Failed to parse Redis session data", e);
+            }
+        }
+
+        // 2. Point read by primary key (the selector)
+        Session session = sessionRepository.findWithUserById(request.sessionId())
+                .filter(s -> s.getApplication().getId().equals(request.applicationId()))
+                .filter(s -> tokenHashUtil.hashMatches(request.presentedHash(), s.getRefreshTokenHash()))
+                .orElse(null);
+
+        if (session == null || session.getExpiresAt().isBefore(request.now())) {
+            return Rotation.of(RotationOutcome.INVALID);
+        }
+
+        SessionState previous = SessionState.of(session, session.getUser());
+        Duration familyTtl = Duration.between(request.now(), request.newExpiresAt());
+
+        // 3. Check for token reuse (security: if reused, revoke entire family). A generation behind
+        // the family's current one means this token was already rotated.
+        long currentGeneration = currentGeneration(session.getTokenFamily());
+        if (session.getGeneration() < currentGeneration) {
+            if (rotatedWithinGrace(session, currentGeneration, request)) {
+                return Rotation.of(RotationOutcome.GRACE);
+            }
+            return revokeFamily(previous, familyTtl, redisKey);
+        }
+        if (session.isRevoked()) {
+            return Rotation.of(RotationOutcome.REVOKED);
+        }
+
+        // 4. Revoke the current session; losing this race to a concurrent refresh is reuse too
+        // (or, within a grace window, a duplicate whose answer the winner is about to publish)
+        if (sessionRepository.revokeIfActive(session.getId(), request.now()) == 0) {
+            if (!request.graceWindow().isZero()) {
+                return Rotation.of(RotationOutcome.GRACE);
+            }
+            return revokeFamily(previous, familyTtl, redisKey);
+        }
+        evictFromRedis(redisKey, session.getUser().getId());
+
+        // 5. Successor in the SAME token family, one generation on
+        Session newSession = new Session();
+        newSession.setUser(session.getUser());
+        newSession.setApplication(session.getApplication());
+        newSession.setRefreshTokenHash(request.newHash());
+        newSession.setTokenFamily(session.getTokenFamily());
+        newSession.setGeneration(session.getGeneration() + 1);
+        newSession.setIpAddress(session.getIpAddress());
+        newSession.setUserAgent(session.getUserAgent());
+        newSession.setLastUsedAt(request.now());
+        newSession.setExpiresAt(request.newExpiresAt());
+        newSession.setRevoked(false);
+
+        Session saved = sessionRepository.save(newSession);
+        SessionState next = SessionState.of(saved, session.getUser());
+        saveSessionToRedis(next, 0);
+        tokenFamilyRegistry.advance(next.getTokenFamily(), next.getGeneration(), familyTtl);
+
+        return new Rotation(RotationOutcome.ROTATED, previous, next);
+    }
+
+    /**
+     * The presented session is the immediate predecessor of the family head and was rotated less
+     * than the grace window ago
+     */
+    private boolean rotatedWithinGrace(Session session, long currentGeneration, RotationRequest request) {
+        return !request.graceWindow().isZero()
+                && session.getGeneration() + 1 == currentGeneration
+                && session.getRevokedAt() != null
+                && session.getRevokedAt().isAfter(request.now().minus(request.graceWindow()));
+    }
+
+    /**
+     * Redis answers for every family it has seen rotate; older families fall back to the
+     * highest generation recorded in MySQL
+     */
+    private long currentGeneration(UUID tokenFamily) {
+        Long current = tokenFamilyRegistry.currentGeneration(tokenFamily);
+        if (current != null) {
+            return current;
+        }
+        return sessionRepository.findCurrentGeneration(tokenFamily).orElse(0L);
+    }
+
+    private Rotation revokeFamily(SessionState previous, Duration familyTtl, String redisKey) {
+        // The family head is the one still cached and indexed; the presented token is usually not
+        List<UUID> active = sessionRepository.findActiveIdsByTokenFamily(previous.getTokenFamily());
+        sessionRepository.revokeTokenFamily(previous.getTokenFamily(), Instant.now());
+        tokenFamilyRegistry.revoke(previous.getTokenFamily(), familyTtl);
+        evictFromRedis(redisKey, previous.getUserId()); // Immediate revocation in Redis
+        active.forEach(id -> evictFromRedis(key(previous.getApplicationId(), id), previous.getUserId()));
+        return new Rotation(RotationOutcome.REUSED, previous, null);
+    }
+
+    @Override
+    public boolean revoke(UUID sessionId, Instant revokedAt) {
+        Optional<Session> found = sessionRepository.findById(sessionId);
+        if (found.isEmpty()) {
+            return false;
+        }
+
+        Session session = found.get();
+        session.setRevoked(true);
+        session.setRevokedAt(revokedAt);
+        sessionRepository.save(session);
+        evictFromRedis(key(session.getApplication().getId(), session.getId()), session.getUser().getId());
+        return true;
+    }
+
+    @Override
+    public void revokeAllForUser(UUID userId, UUID exceptSessionId, Instant revokedAt) {
+        if (exceptSessionId != null) {
+            sessionRepository.revokeAllUserSessionsExcept(userId, exceptSessionId, revokedAt);
+        } else {
+            sessionRepository.revokeAllUserSessions(userId, revokedAt);
+        }
+        evictUserSessionsFromRedis(userId, exceptSessionId);
+    }
+
+    /**
+     * One JDBC batch for the rows, then the Redis index (which decides what the per-user limit
+     * evicts) and the cached key's TTL, so a slid session is not dropped from the cache early
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void touch(List<Activity> activity) {
+        jdbcTemplate.batchUpdate(SessionJournal.TOUCH_SQL, activity.stream().map(SessionJournal::touchArgs).toList());
+
+        String now = String.valueOf(Instant.now().toEpochMilli());
+        for (Activity used : activity) {
+            redisTemplate.execute(TOUCH_SESSION,
+                    List.of(REDIS_USER_INDEX_PREFIX + used.userId(), key(used.applicationId(), used.sessionId())),
+                    String.valueOf(used.usedAt().toEpochMilli()),
+                    used.expiresAtLeast() != null ? String.valueOf(used.expiresAtLeast().toEpochMilli()) : "0",
+                    now);
+        }
+    }
+
+    /**
+     * Chunked and time-budgeted, each chunk committing on its own, so no surrounding transaction
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void purgeExpired() {
+        sessionPurger.purge();
+    }
+
+    /**
+     * Cache the session and index it under its user, evicting the user's least recently used
+     * sessions beyond {@code maxSessions} (0 = no limit) in the same script call
+     *
+     * @return ids of evicted sessions, still to be revoked in the database
+     */
+    private List<UUID> saveSessionToRedis(SessionState session, int maxSessions) {
+        String redisKey = key(session.getApplicationId(), session.getId());
+        try {
+            Map<String, String> data = Map.of(
+                    "id", session.getId().toString(),
+                    "userId", session.getUserId().toString(),
+                    "hash", session.getRefreshTokenHash(),
+                    "expiresAt", session.getExpiresAt().toString()
+            );
+            String json = objectMapper.writeValueAsString(data);
+            long ttlSeconds = Duration.between(Instant.now(), session.getExpiresAt()).getSeconds();
+            if (ttlSeconds > 0) {
+                redisTemplate.opsForValue().set(redisKey, json, Duration.ofSeconds(ttlSeconds));
+                List<?> evicted = redisTemplate.execute(INDEX_SESSION, List.of(REDIS_USER_INDEX_PREFIX + session.getUserId()),
+                        redisKey, String.valueOf(ttlSeconds), String.valueOf(Instant.now().toEpochMilli()),
+                        String.valueOf(maxSessions));
+                if (evicted != null) {
+                    return evicted.stream()
+                            .map(key -> (String) key)
+                            .map(key -> UUID.fromString(key.substring(key.lastIndexOf(':') + 1)))
+                            .toList();
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to save session to Redis", e);
+        }
+        return List.of();
+    }
+
+    private void evictFromRedis(String redisKey, UUID userId) {
+        redisTemplate.delete(redisKey);
+        redisTemplate.opsForZSet().remove(REDIS_USER_INDEX_PREFIX + userId, redisKey);
+    }
+
+    /**
+     * One script call over the user's own index: no SCAN, and the cost depends only on how many
+     * sessions this user has
+     */
+    private void evictUserSessionsFromRedis(UUID userId, UUID exceptSessionId) {
+        redisTemplate.execute(EVICT_USER_SESSIONS, List.of(REDIS_USER_INDEX_PREFIX + userId),
+                exceptSessionId != null ? exceptSessionId.toString() : "");
+    }
+
+    private static String key(UUID applicationId, UUID sessionId) {
+        return REDIS_SESSION_PREFIX + applicationId + ":" + sessionId;
+    }
+}
@@ -0,0 +1,315 @@
+package com.tokenly.backend.security.session;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.repository.SessionRepository;
+import com.tokenly.backend.security.util.TokenHashUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Redis-authoritative refresh sessions ({@code app.sessions.store=redis}).
+ *
+ * Each session is a hash under {@code tokenly:rs:s:<sessionId>} that lives until the session
+ * expires. Revoked sessions keep their hash (with revoked=1) so a replayed refresh token is
+ * rejected rather than recovered. Rotation, including reuse detection against the family
+ * generation ({@link TokenFamilyRegistry}), is a single Lua call. A sorted set of each user's
+ * session keys, scored by last use, supports bulk revocation and the per-user session limit.
+ *
+ * With {@code app.sessions.redis-write-behind} (the default) every change is also queued on the
+ * {@link SessionJournal} for MySQL, and sessions missing from Redis are recovered from there.
+ * Without it, sessions never touch MySQL and a Redis flush logs everyone out.
+ *
+ * Needs a single Redis node, not Redis Cluster: the scripts learn the family key and the user index
+ * from the session hash and reach them without declaring them in KEYS ({@link RedisTopology}).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.sessions", name = "store", havingValue = "redis")
+@RequiredArgsConstructor
+public class RedisSessionStore implements SessionStore {
+
+    private static final String KEY_PREFIX = "tokenly:rs:s:";
+    private static final String USER_PREFIX = "tokenly:rs:lru:"; // sorted set: session key -> last use (epoch millis)
+
+    // Marks existing session hashes revoked and drops them from their user's index; never recreates
+    // an expired one. ARGV[2] is an id to skip, ARGV[3] the user index prefix.
+    private static final DefaultRedisScript<Long> MARK_REVOKED = new DefaultRedisScript<>("""
+            local marked = 0
+            for _, key in ipairs(KEYS) do
+              local fields = redis.call('HMGET', key, 'id', 'userId')
+              if fields[1] and fields[1] ~= ARGV[2] then
+                redis.call('HSET', key, 'revoked', '1', 'revokedAt', ARGV[1])
+                if fields[2] then
+                  redis.call('ZREM', ARGV[3] .. fields[2], key)
+                end
+                marked = marked + 1
+              end
+            end
+            return marked
+            """, Long.class);
+
+    // Moves a live session's last use (and its user index score) forward and, when ARGV[3] > 0,
+    // stretches the session, its user index and its family key to that sliding expiry. ARGV[1] and
+    // ARGV[2] are the use in epoch millis and ISO-8601, ARGV[3] and ARGV[4] the expiry likewise,
+    // ARGV[5] now in epoch millis, ARGV[6] the family key prefix. Returns 1 for a live session.
+    private static final DefaultRedisScript<Long> TOUCH = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[1], 'revoked') ~= '0' then
+              return 0
+            end
+            local score = redis.call('ZSCORE', KEYS[2], KEYS[1])
+            if score and tonumber(score) < tonumber(ARGV[1]) then
+              redis.call('ZADD', KEYS[2], ARGV[1], KEYS[1])
+              redis.call('HSET', KEYS[1], 'lastUsedAt', ARGV[2])
+            end
+            local expiresAt = tonumber(ARGV[3])
+            local ttl = redis.call('PTTL', KEYS[1])
+            if expiresAt > 0 and ttl > 0 and tonumber(ARGV[5]) + ttl < expiresAt then
+              redis.call('HSET', KEYS[1], 'expiresAt', ARGV[4])
+              local family = ARGV[6] .. redis.call('HGET', KEYS[1], 'tokenFamily')
+              for _, key in ipairs({KEYS[1], KEYS[2], family}) do
+                local keyTtl = redis.call('PTTL', key)
+                if keyTtl > 0 and tonumber(ARGV[5]) + keyTtl < expiresAt then
+                  redis.call('PEXPIREAT', key, expiresAt)
+                end
+              end
+            end
+            return 1
+            """, Long.class);
+
+    private static final DefaultRedisScript<List> ROTATE = new DefaultRedisScript<>();
+    private static final DefaultRedisScript<List> SAVE = new DefaultRedisScript<>();
+
+    static {
+        ROTATE.setScriptSource(new ResourceScriptSource(new ClassPathResource("redis/rotate-session.lua")));
+        ROTATE.setResultType(List.class);
+        SAVE.setScriptSource(new ResourceScriptSource(new ClassPathResource("redis/save-session.lua")));
+        SAVE.setResultType(List.class);
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final SessionJournal sessionJournal;
+    private final SessionRepository sessionRepository;
+    private final SessionPurger sessionPurger;
+    private final TokenHashUtil tokenHashUtil;
+    private final AppProperties appProperties;
+
+    @PostConstruct
+    void requireSingleNode() {
+        RedisTopology.requireSingleNode(redisTemplate, "redis");
+    }
+
+    @Override
+    public Created create(SessionState session, int maxSessionsPerUser) {
+        SessionState stored = session.toBuilder().id(UUID.randomUUID()).build();
+        List<UUID> evicted = save(stored, stored.getGeneration(), maxSessionsPerUser);
+        if (writeBehind()) {
+            sessionJournal.insert(stored);
+            evicted.forEach(id -> sessionJournal.revoke(id, stored.getCreatedAt()));
+        }
+        return new Created(stored, evicted);
+    }
+
+    /**
+     * One atomic script call decides and applies the rotation (see {@code redis/rotate-session.lua});
+     * the journal records it for MySQL afterwards. MySQL is only read when the Redis entry is missing.
+     */
+    @Override
+    public Rotation rotate(RotationRequest request) {
+        UUID newId = UUID.randomUUID();
+        List<?> result = execute(request, newId);
+        if ("MISSING".equals(result.get(0)) && recover(request).isPresent()) {
+            result = execute(request, newId);
+        }
+
+        String outcome = (String) result.get(0);
+        if ("MISSING".equals(outcome)) {
+            return Rotation.of(RotationOutcome.INVALID);
+        }
+        if (!"ROTATED".equals(outcome) && !"REUSED".equals(outcome)) {
+            return Rotation.of(RotationOutcome.valueOf(outcome));
+        }
+
+        Map<String, String> hash = new HashMap<>();
+        for (int i = 1; i + 1 < result.size(); i += 2) {
+            hash.put((String) result.get(i), (String) result.get(i + 1));
+        }
+        SessionState previous = SessionState.fromHash(hash);
+
+        if ("REUSED".equals(outcome)) {
+            if (writeBehind()) {
+                sessionJournal.revokeFamily(previous.getTokenFamily(), request.now());
+            }
+            return new Rotation(RotationOutcome.REUSED, previous, null);
+        }
+
+        // Redis already holds the new state; MySQL catches up through the journal
+        SessionState next = previous.rotate(newId, request.newHash(), request.newExpiresAt(), request.now());
+        if (writeBehind()) {
+            sessionJournal.revoke(previous.getId(), request.now());
+            sessionJournal.insert(next);
+        }
+        return new Rotation(RotationOutcome.ROTATED, previous, next);
+    }
+
+    private List<?> execute(RotationRequest request, UUID newId) {
+        Instant now = request.now();
+        long ttlSeconds = Math.max(1, Duration.between(now, request.newExpiresAt()).getSeconds());
+
+        return redisTemplate.execute(ROTATE,
+                List.of(key(request.sessionId()), key(newId)),
+                now.toString(), request.presentedHash(), newId.toString(), request.newHash(),
+                request.newExpiresAt().toString(), String.valueOf(ttlSeconds), TokenFamilyRegistry.KEY_PREFIX,
+                USER_PREFIX, String.valueOf(now.toEpochMilli()), String.valueOf(request.graceWindow().toMillis()),
+                request.applicationId().toString());
+    }
+
+    /**
+     * Rebuild a session's Redis state from MySQL, for sessions created before Redis mode was
+     * enabled or lost in a Redis flush
+     */
+    private Optional<SessionState> recover(RotationRequest request) {
+        if (!writeBehind()) {
+            return Optional.empty();
+        }
+        Optional<SessionState> recovered = sessionRepository.findWithUserById(request.sessionId())
+                .filter(session -> !session.isRevoked())
+                .filter(session -> session.getApplication().getId().equals(request.applicationId()))
+                .filter(session -> tokenHashUtil.hashMatches(request.presentedHash(), session.getRefreshTokenHash()))
+                .map(session -> SessionState.of(session, session.getUser()));
+        recovered.ifPresent(state -> {
+            log.info("Recovered session {} into Redis from MySQL", state.getId());
+            // A successor may already be in MySQL; recovering at its generation makes this token a reuse
+            long familyGeneration = sessionRepository.findCurrentGeneration(state.getTokenFamily())
+                    .map(current -> Math.max(current, state.getGeneration()))
+                    .orElse(state.getGeneration());
+            save(state, familyGeneration, 0);
+        });
+        return recovered;
+    }
+
+    /**
+     * Write a live session, its family generation and its user index entry and, when the user
+     * would exceed {@code maxSessionsPerUser}, revoke their least recently used sessions, all in
+     * one script call (see {@code redis/save-session.lua}). The family key is only ever raised to
+     * {@code familyGeneration}, never lowered or un-revoked.
+     *
+     * @return ids of the evicted sessions
+     */
+    private List<UUID> save(SessionState state, long familyGeneration, int maxSessionsPerUser) {
+        Instant now = Instant.now();
+        long ttlSeconds = Duration.between(now, state.getExpiresAt()).getSeconds();
+        if (ttlSeconds <= 0) {
+            return List.of();
+        }
+
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(ttlSeconds));
+        args.add(String.valueOf(familyGeneration));
+        args.add(String.valueOf(now.toEpochMilli()));
+        args.add(String.valueOf(Math.max(0, maxSessionsPerUser)));
+        args.add(now.toString());
+        args.add(TokenFamilyRegistry.KEY_PREFIX);
+        state.toHash().forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+
+        List<?> evicted = redisTemplate.execute(SAVE,
+                List.of(key(state.getId()), TokenFamilyRegistry.KEY_PREFIX + state.getTokenFamily(), USER_PREFIX + state.getUserId()),
+                args.toArray());
+        if (evicted == null) {
+            return List.of();
+        }
+        return evicted.stream()
+                .map(key -> sessionId((String) key))
+                .toList();
+    }
+
+    @Override
+    public boolean revoke(UUID sessionId, Instant revokedAt) {
+        Long marked = markRevoked(List.of(key(sessionId)), revokedAt, null);
+        boolean found = marked != null && marked > 0;
+        if (writeBehind()) {
+            // Expired from Redis but possibly still listed in MySQL
+            found = found || sessionRepository.existsById(sessionId);
+            if (found) {
+                sessionJournal.revoke(sessionId, revokedAt);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Through the journal, so the MySQL update cannot overtake inserts still queued for this user
+     */
+    @Override
+    public void revokeAllForUser(UUID userId, UUID exceptSessionId, Instant revokedAt) {
+        Set<String> keys = redisTemplate.opsForZSet().range(USER_PREFIX + userId, 0, -1);
+        if (keys != null && !keys.isEmpty()) {
+            markRevoked(new ArrayList<>(keys), revokedAt, exceptSessionId);
+        }
+        if (writeBehind()) {
+            sessionJournal.revokeUser(userId, exceptSessionId, revokedAt);
+        }
+    }
+
+    @Override
+    public void touch(List<Activity> activity) {
+        String now = String.valueOf(Instant.now().toEpochMilli());
+        for (Activity used : activity) {
+            Instant expiresAt = used.expiresAtLeast();
+            Long live = redisTemplate.execute(TOUCH, List.of(key(used.sessionId()), USER_PREFIX + used.userId()),
+                    String.valueOf(used.usedAt().toEpochMilli()), used.usedAt().toString(),
+                    expiresAt != null ? String.valueOf(expiresAt.toEpochMilli()) : "0",
+                    expiresAt != null ? expiresAt.toString() : "",
+                    now, TokenFamilyRegistry.KEY_PREFIX);
+            if (writeBehind() && live != null && live == 1) {
+                sessionJournal.touch(used); // Keeps the purger and recovery from treating it as expired
+            }
+        }
+    }
+
+    /**
+     * Redis expires session hashes by itself; only the journalled MySQL rows need purging
+     */
+    @Override
+    public void purgeExpired() {
+        if (writeBehind()) {
+            sessionPurger.purge();
+        }
+    }
+
+    private Long markRevoked(List<String> keys, Instant revokedAt, UUID exceptSessionId) {
+        return redisTemplate.execute(MARK_REVOKED, keys,
+                revokedAt.toString(), exceptSessionId != null ? exceptSessionId.toString() : "", USER_PREFIX);
+    }
+
+    private boolean writeBehind() {
+        return appProperties.getSessions().isRedisWriteBehind();
+    }
+
+    private static String key(UUID sessionId) {
+        return KEY_PREFIX + sessionId;
+    }
+
+    private static UUID sessionId(String key) {
+        return UUID.fromString(key.substring(key.lastIndexOf(':') + 1));
+    }
+}
@@ -0,0 +1,25 @@
+package com.tokenly.backend.security.session;
+
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * The session Lua scripts reach keys they learn while running (family keys, user indexes, other
+ * sessions listed in an index), which Redis Cluster rejects unless every key shares a slot. A
+ * refresh token names only its session, so those keys cannot be declared or hash-tagged up front.
+ */
+final class RedisTopology {
+
+    private RedisTopology() {
+    }
+
+    /**
+     * Fail at startup on a Redis Cluster connection rather than on every refresh
+     */
+    static void requireSingleNode(StringRedisTemplate redisTemplate, String store) {
+        if (redisTemplate.getConnectionFactory() instanceof LettuceConnectionFactory factory && factory.isClusterAware()) {
+            throw new IllegalStateException("app.sessions.store=" + store
+                    + " needs a single Redis node (replicas and Sentinel are fine), not Redis Cluster");
+        }
+    }
+}
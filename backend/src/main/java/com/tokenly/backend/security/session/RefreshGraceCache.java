@@ -0,0 +1,168 @@
+package com.tokenly.backend.security.session;
+
+import com.tokenly.backend.dto.responce.auth.AuthResponse;
+import com.tokenly.backend.security.util.TokenHashUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Short-lived record of the pair a refresh token was just rotated into, so that repeated
+ * presentations within an application's grace window (several tabs, mobile retries) receive the
+ * same pair instead of tripping reuse detection.
+ *
+ * Entries are keyed by the rotated session and the hash of its verifier and encrypted (AES-GCM)
+ * under a key derived from the verifier itself, so neither Redis nor anyone reading it holds a
+ * usable token; only a holder of the old refresh token can decrypt them. They live no longer than
+ * the grace window. A publish on {@link #CHANNEL} wakes requests waiting for a pair still being
+ * issued, on whichever node they run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshGraceCache implements MessageListener {
+
+    public static final String CHANNEL = "tokenly:grace";
+
+    private static final String KEY_PREFIX = "tokenly:grace:";
+    private static final Duration MAX_WAIT = Duration.ofSeconds(1);
+    private static final byte[] KEY_LABEL = "tokenly refresh grace".getBytes(StandardCharsets.UTF_8);
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final TokenHashUtil tokenHashUtil;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, CompletableFuture<Void>> waiting = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    public void put(UUID sessionId, String verifier, AuthResponse response, Duration graceWindow) {
+        String key = key(sessionId, verifier);
+        try {
+            String value = response.getExpiresIn() + " " + response.getAccessToken() + " " + response.getRefreshToken();
+            redisTemplate.opsForValue().set(key, encrypt(verifier, key, value), graceWindow);
+            redisTemplate.convertAndSend(CHANNEL, key);
+        } catch (Exception e) {
+            // Without the entry a repeat presentation is rejected, not treated as reuse
+            log.warn("Failed to cache rotated refresh pair for session {}: {}", sessionId, e.getMessage());
+        }
+    }
+
+    public Optional<AuthResponse> find(UUID sessionId, String verifier) {
+        String key = key(sessionId, verifier);
+        String value = redisTemplate.opsForValue().get(key);
+        if (value == null) {
+            return Optional.empty();
+        }
+        String plain;
+        try {
+            plain = decrypt(verifier, key, value);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            log.warn("Unreadable rotated refresh pair for session {}", sessionId);
+            return Optional.empty();
+        }
+        String[] parts = plain.split(" ", 3);
+        return Optional.of(AuthResponse.builder()
+                .expiresIn(Long.parseLong(parts[0]))
+                .accessToken(parts[1])
+                .refreshToken(parts[2])
+                .build());
+    }
+
+    /**
+     * Wait briefly for a concurrent rotation of the same token to publish its pair. Blocks on the
+     * publish rather than polling Redis.
+     */
+    public Optional<AuthResponse> await(UUID sessionId, String verifier) {
+        String key = key(sessionId, verifier);
+        CompletableFuture<Void> published = waiting.computeIfAbsent(key, k -> new CompletableFuture<>());
+        try {
+            // Registered first, so a pair published from here on is either read now or signalled
+            Optional<AuthResponse> response = find(sessionId, verifier);
+            if (response.isPresent()) {
+                return response;
+            }
+            published.get(MAX_WAIT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException | ExecutionException e) {
+            // Fall through to a last read: another waiter may have dropped the signal first
+        } finally {
+            waiting.remove(key, published);
+        }
+        return find(sessionId, verifier);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CompletableFuture<Void> published = waiting.remove(new String(message.getBody(), StandardCharsets.UTF_8));
+        if (published != null) {
+            published.complete(null);
+        }
+    }
+
+    private String key(UUID sessionId, String verifier) {
+        return KEY_PREFIX + sessionId + ":" + tokenHashUtil.hash(verifier);
+    }
+
+    private String encrypt(String verifier, String key, String plain) throws GeneralSecurityException {
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        Cipher cipher = cipher(Cipher.ENCRYPT_MODE, verifier, key, iv);
+        byte[] sealed = cipher.doFinal(plain.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + sealed.length).put(iv).put(sealed).array());
+    }
+
+    private static String decrypt(String verifier, String key, String value) throws GeneralSecurityException {
+        byte[] bytes = Base64.getDecoder().decode(value);
+        if (bytes.length <= IV_LENGTH) {
+            throw new IllegalArgumentException("Truncated grace entry");
+        }
+        Cipher cipher = cipher(Cipher.DECRYPT_MODE, verifier, key, Arrays.copyOf(bytes, IV_LENGTH));
+        return new String(cipher.doFinal(bytes, IV_LENGTH, bytes.length - IV_LENGTH), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * AES-256-GCM keyed by HMAC-SHA256(verifier, label), bound to the entry's Redis key
+     */
+    private static Cipher cipher(int mode, String verifier, String key, byte[] iv) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(verifier.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(mode, new SecretKeySpec(mac.doFinal(KEY_LABEL), "AES"), new GCMParameterSpec(TAG_BITS, iv));
+        cipher.updateAAD(key.getBytes(StandardCharsets.UTF_8));
+        return cipher;
+    }
+}
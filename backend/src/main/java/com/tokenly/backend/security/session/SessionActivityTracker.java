@@ -0,0 +1,100 @@
+package com.tokenly.backend.security.session;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.security.policy.AuthPolicy;
+import com.tokenly.backend.security.policy.AuthPolicyCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesced session last-use tracking.
+ *
+ * Requests only record "session X was used at T" in memory; a session touched many times between
+ * flushes costs a single {@link SessionStore#touch} entry per flush. The flush also works out the
+ * application's sliding expiry from the cached {@link AuthPolicy}, so no per-request policy lookup
+ * is needed, and each store applies both where its sessions live.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionActivityTracker {
+
+    private final SessionStore sessionStore;
+    private final AuthPolicyCache authPolicyCache;
+    private final AppProperties appProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<UUID, SessionStore.Activity> pending = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("tokenly.sessions.activity.pending", pending, Map::size)
+                .description("Sessions with last-use updates waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record that a session was used now. Never touches the database.
+     */
+    public void touch(UUID sessionId, UUID applicationId, UUID userId) {
+        if (pending.size() >= appProperties.getSessions().getActivityMaxPending() && !pending.containsKey(sessionId)) {
+            return; // Shed rather than grow without bound; the next flush makes room
+        }
+        pending.merge(sessionId, new SessionStore.Activity(sessionId, applicationId, userId, Instant.now(), null),
+                (previous, current) -> current.usedAt().isAfter(previous.usedAt()) ? current : previous);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.sessions.activity-flush-interval-ms:60000}",
+            initialDelayString = "${app.sessions.activity-flush-interval-ms:60000}"
+    )
+    @PreDestroy
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<SessionStore.Activity> activity = new ArrayList<>(pending.size());
+        for (UUID sessionId : List.copyOf(pending.keySet())) {
+            SessionStore.Activity used = pending.remove(sessionId);
+            if (used != null) {
+                activity.add(slide(used));
+            }
+        }
+
+        int batchSize = appProperties.getSessions().getJournalBatchSize();
+        for (int from = 0; from < activity.size(); from += batchSize) {
+            List<SessionStore.Activity> chunk = activity.subList(from, Math.min(from + batchSize, activity.size()));
+            // Last-use times are advisory; a lost batch is superseded by the next touch
+            try {
+                sessionStore.touch(chunk);
+            } catch (Exception e) {
+                log.warn("Failed to write {} session activity updates: {}", chunk.size(), e.getMessage());
+            }
+        }
+    }
+
+    private SessionStore.Activity slide(SessionStore.Activity used) {
+        try {
+            Integer minutes = authPolicyCache.get(used.applicationId()).getSlidingExpiryMinutes();
+            return minutes != null ? used.withExpiresAtLeast(used.usedAt().plus(minutes, ChronoUnit.MINUTES)) : used;
+        } catch (Exception e) {
+            log.warn("No sliding expiry for application {}: {}", used.applicationId(), e.getMessage());
+            return used;
+        }
+    }
+}
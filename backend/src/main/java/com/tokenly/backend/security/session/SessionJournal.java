@@ -0,0 +1,254 @@
+package com.tokenly.backend.security.session;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/**
+ * Write-behind journal that mirrors Redis-authoritative session changes into the sessions table.
+ *
+ * Changes are queued on the request thread and flushed in JDBC batches on a schedule. Within a
+ * flush, inserts, single-session revocations and activity are batched together (a revocation or
+ * use of a row inserted in the same flush is folded into the insert); family and user revocations act as
+ * barriers so they never overtake earlier entries. Entries are only ever written in queue order:
+ * a full queue is flushed on the appending thread before the entry joins it, and if MySQL cannot
+ * take the backlog the change is refused rather than written ahead of older ones.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionJournal {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO sessions (id, created_at, updated_at, user_id, application_id, refresh_token_hash,
+                                  token_family, generation, revoked, revoked_at, ip_address, user_agent,
+                                  last_used_at, expires_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE revoked = VALUES(revoked), revoked_at = VALUES(revoked_at),
+                                    last_used_at = VALUES(last_used_at), expires_at = VALUES(expires_at),
+                                    updated_at = VALUES(updated_at)
+            """;
+    private static final String REVOKE_SQL =
+            "UPDATE sessions SET revoked = true, revoked_at = ?, updated_at = ? WHERE id = ? AND revoked = false";
+    // Last use and sliding expiry only ever move forward; ? order as in touchArgs
+    static final String TOUCH_SQL = """
+            UPDATE sessions
+            SET last_used_at = GREATEST(COALESCE(last_used_at, ?), ?),
+                expires_at = GREATEST(expires_at, COALESCE(?, expires_at))
+            WHERE id = ? AND revoked = false AND expires_at > ?
+            """;
+    private static final String REVOKE_FAMILY_SQL =
+            "UPDATE sessions SET revoked = true, revoked_at = ?, updated_at = ? WHERE token_family = ? AND revoked = false";
+    private static final String REVOKE_USER_SQL =
+            "UPDATE sessions SET revoked = true, revoked_at = ?, updated_at = ? WHERE user_id = ? AND id <> ? AND revoked = false";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AppProperties appProperties;
+    private final MeterRegistry meterRegistry;
+
+    private BlockingDeque<Entry> queue;
+
+    sealed interface Entry permits Insert, Revoke, Touch, RevokeFamily, RevokeUser {
+    }
+
+    record Insert(SessionState state) implements Entry {
+    }
+
+    record Revoke(UUID sessionId, Instant at) implements Entry {
+    }
+
+    record Touch(SessionStore.Activity activity) implements Entry {
+    }
+
+    record RevokeFamily(UUID tokenFamily, Instant at) implements Entry {
+    }
+
+    record RevokeUser(UUID userId, UUID exceptSessionId, Instant at) implements Entry {
+    }
+
+    @PostConstruct
+    void init() {
+        queue = new LinkedBlockingDeque<>(appProperties.getSessions().getJournalQueueCapacity());
+        Gauge.builder("tokenly.sessions.journal.pending", queue, BlockingDeque::size)
+                .description("Session changes waiting to be written to MySQL")
+                .register(meterRegistry);
+    }
+
+    public void insert(SessionState state) {
+        append(new Insert(state));
+    }
+
+    public void revoke(UUID sessionId, Instant at) {
+        append(new Revoke(sessionId, at));
+    }
+
+    public void touch(SessionStore.Activity activity) {
+        append(new Touch(activity));
+    }
+
+    public void revokeFamily(UUID tokenFamily, Instant at) {
+        append(new RevokeFamily(tokenFamily, at));
+    }
+
+    public void revokeUser(UUID userId, UUID exceptSessionId, Instant at) {
+        append(new RevokeUser(userId, exceptSessionId, at));
+    }
+
+    private void append(Entry entry) {
+        if (queue.offer(entry)) {
+            return;
+        }
+        // Writing this entry directly could overtake a queued entry for the same session, e.g. a
+        // revocation landing before the insert it revokes; drain in order and queue behind instead
+        log.warn("Session journal full, flushing on the request thread");
+        flush();
+        if (!queue.offer(entry)) {
+            throw new ServiceUnavailableException("Session changes cannot be persisted right now");
+        }
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.sessions.journal-flush-interval-ms:1000}",
+            initialDelayString = "${app.sessions.journal-flush-interval-ms:1000}"
+    )
+    @PreDestroy
+    public synchronized void flush() {
+        int batchSize = appProperties.getSessions().getJournalBatchSize();
+        List<Entry> batch = new ArrayList<>(batchSize);
+
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                write(batch);
+            } catch (Exception e) {
+                log.error("Session journal flush failed, {} entries requeued: {}", batch.size(), e.getMessage());
+                requeue(batch);
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(List<Entry> entries) {
+        Map<UUID, SessionState> inserts = new LinkedHashMap<>();
+        Map<UUID, Instant> revocations = new LinkedHashMap<>();
+        Map<UUID, SessionStore.Activity> touches = new LinkedHashMap<>();
+
+        for (Entry entry : entries) {
+            if (entry instanceof Insert insert) {
+                inserts.put(insert.state().getId(), insert.state());
+            } else if (entry instanceof Revoke revoke) {
+                SessionState pending = inserts.get(revoke.sessionId());
+                if (pending != null) {
+                    inserts.put(revoke.sessionId(), pending.toBuilder().revoked(true).revokedAt(revoke.at()).build());
+                } else {
+                    revocations.put(revoke.sessionId(), revoke.at());
+                }
+            } else if (entry instanceof Touch touch) {
+                SessionStore.Activity used = touch.activity();
+                SessionState pending = inserts.get(used.sessionId());
+                if (pending != null) {
+                    inserts.put(used.sessionId(), pending.touch(used));
+                } else {
+                    touches.put(used.sessionId(), used);
+                }
+            } else if (entry instanceof RevokeFamily family) {
+                writeRows(inserts, revocations, touches);
+                jdbcTemplate.update(REVOKE_FAMILY_SQL, timestamp(family.at()), timestamp(family.at()), bytes(family.tokenFamily()));
+            } else if (entry instanceof RevokeUser user) {
+                writeRows(inserts, revocations, touches);
+                UUID except = user.exceptSessionId() != null ? user.exceptSessionId() : new UUID(0, 0);
+                jdbcTemplate.update(REVOKE_USER_SQL, timestamp(user.at()), timestamp(user.at()), bytes(user.userId()), bytes(except));
+            }
+        }
+        writeRows(inserts, revocations, touches);
+    }
+
+    private void writeRows(Map<UUID, SessionState> inserts, Map<UUID, Instant> revocations,
+                           Map<UUID, SessionStore.Activity> touches) {
+        if (!inserts.isEmpty()) {
+            Timestamp now = timestamp(Instant.now());
+            jdbcTemplate.batchUpdate(UPSERT_SQL, inserts.values().stream()
+                    .map(state -> new Object[]{
+                            bytes(state.getId()),
+                            timestamp(state.getCreatedAt()),
+                            now,
+                            bytes(state.getUserId()),
+                            bytes(state.getApplicationId()),
+                            state.getRefreshTokenHash(),
+                            bytes(state.getTokenFamily()),
+                            state.getGeneration(),
+                            state.isRevoked(),
+                            timestamp(state.getRevokedAt()),
+                            state.getIpAddress(),
+                            state.getUserAgent(),
+                            timestamp(state.getLastUsedAt()),
+                            timestamp(state.getExpiresAt())
+                    })
+                    .toList());
+            inserts.clear();
+        }
+        if (!revocations.isEmpty()) {
+            jdbcTemplate.batchUpdate(REVOKE_SQL, revocations.entrySet().stream()
+                    .map(revocation -> new Object[]{
+                            timestamp(revocation.getValue()),
+                            timestamp(revocation.getValue()),
+                            bytes(revocation.getKey())
+                    })
+                    .toList());
+            revocations.clear();
+        }
+        if (!touches.isEmpty()) {
+            jdbcTemplate.batchUpdate(TOUCH_SQL, touches.values().stream().map(SessionJournal::touchArgs).toList());
+            touches.clear();
+        }
+    }
+
+    private void requeue(List<Entry> batch) {
+        ListIterator<Entry> iterator = batch.listIterator(batch.size());
+        while (iterator.hasPrevious()) {
+            if (!queue.offerFirst(iterator.previous())) {
+                log.error("Session journal full, dropping {} entries", iterator.nextIndex() + 1);
+                return;
+            }
+        }
+    }
+
+    static Object[] touchArgs(SessionStore.Activity used) {
+        Timestamp at = timestamp(used.usedAt());
+        return new Object[]{at, at, timestamp(used.expiresAtLeast()), bytes(used.sessionId()), at};
+    }
+
+    /**
+     * Hibernate maps UUID ids to BINARY(16) on MySQL, most significant bits first
+     */
+    static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static Timestamp timestamp(Instant instant) {
+        return instant != null ? Timestamp.from(instant) : null;
+    }
+}
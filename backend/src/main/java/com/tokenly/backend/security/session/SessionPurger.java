@@ -0,0 +1,112 @@
+package com.tokenly.backend.security.session;
+
+import com.tokenly.backend.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes sessions that expired, or were revoked, more than the retention period ago.
+ *
+ * Walks the table in primary-key order in small chunks, each chunk its own short statement, and
+ * pauses between chunks so the purge never holds long locks or floods replication. A run stops
+ * when its time budget is spent and the next run resumes from the same cursor.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionPurger {
+
+    private static final String SELECT_SQL = """
+            SELECT id FROM sessions
+            WHERE id > ? AND (expires_at < ? OR (revoked = true AND revoked_at < ?))
+            ORDER BY id LIMIT ?
+            """;
+    private static final String DELETE_SQL = "DELETE FROM sessions WHERE id IN (%s)";
+
+    private static final byte[] START = new byte[16];
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AppProperties appProperties;
+    private final MeterRegistry meterRegistry;
+
+    private Counter deleted;
+    private final AtomicLong rowsPerSecond = new AtomicLong();
+    private final AtomicLong lastCompletedPass = new AtomicLong(System.currentTimeMillis());
+
+    private byte[] cursor = START;
+
+    @PostConstruct
+    void init() {
+        deleted = Counter.builder("tokenly.sessions.purge.deleted")
+                .description("Session rows deleted by the purge job")
+                .register(meterRegistry);
+        Gauge.builder("tokenly.sessions.purge.rate", rowsPerSecond, AtomicLong::get)
+                .description("Rows per second deleted by the last purge run")
+                .baseUnit("rows/s")
+                .register(meterRegistry);
+        Gauge.builder("tokenly.sessions.purge.lag", lastCompletedPass,
+                        last -> (System.currentTimeMillis() - last.get()) / 1000.0)
+                .description("Seconds since the purge last got through the whole table")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return rows deleted by this run
+     */
+    public synchronized long purge() {
+        AppProperties.Sessions config = appProperties.getSessions();
+        Timestamp threshold = Timestamp.from(Instant.now().minus(config.getPurgeRetentionDays(), ChronoUnit.DAYS));
+        long started = System.nanoTime();
+        long deadline = started + Duration.ofMillis(config.getPurgeTimeBudgetMs()).toNanos();
+        long total = 0;
+
+        while (System.nanoTime() < deadline) {
+            List<byte[]> ids = jdbcTemplate.queryForList(SELECT_SQL, byte[].class,
+                    cursor, threshold, threshold, config.getPurgeBatchSize());
+            if (ids.isEmpty()) {
+                cursor = START;
+                lastCompletedPass.set(System.currentTimeMillis());
+                break;
+            }
+
+            String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            total += jdbcTemplate.update(DELETE_SQL.formatted(placeholders), ids.toArray());
+            cursor = ids.get(ids.size() - 1);
+
+            if (!pause(config.getPurgePauseMs())) {
+                break;
+            }
+        }
+
+        double seconds = Math.max((System.nanoTime() - started) / 1_000_000_000.0, 0.001);
+        deleted.increment(total);
+        rowsPerSecond.set(Math.round(total / seconds));
+        log.info("Session purge deleted {} rows in {}s", total, String.format("%.1f", seconds));
+        return total;
+    }
+
+    private boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
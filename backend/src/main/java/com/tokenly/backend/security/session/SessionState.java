@@ -0,0 +1,186 @@
+package com.tokenly.backend.security.session;
+
+import com.tokenly.backend.entity.Application;
+import com.tokenly.backend.entity.Session;
+import com.tokenly.backend.entity.User;
+import com.tokenly.backend.enums.UserStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Everything a refresh needs, kept in one Redis hash: the session itself plus a snapshot of the
+ * user fields that go into access tokens.
+ */
+@Value
+@Builder(toBuilder = true)
+public class SessionState {
+
+    UUID id;
+    UUID applicationId;
+    String refreshTokenHash;
+    UUID tokenFamily;
+    long generation;
+
+    UUID userId;
+    String email;
+    UserStatus userStatus;
+    boolean emailVerified;
+    String customData;
+
+    boolean revoked;
+    Instant revokedAt;
+    String ipAddress;
+    String userAgent;
+    Instant createdAt;
+    Instant lastUsedAt;
+    Instant expiresAt;
+
+    public static SessionState of(Session session, User user) {
+        return SessionState.builder()
+                .id(session.getId())
+                .applicationId(session.getApplication().getId())
+                .refreshTokenHash(session.getRefreshTokenHash())
+                .tokenFamily(session.getTokenFamily())
+                .generation(session.getGeneration())
+                .userId(user.getId())
+                .email(user.getEmail())
+                .userStatus(user.getStatus())
+                .emailVerified(user.isEmailVerified())
+                .customData(user.getCustomData())
+                .revoked(session.isRevoked())
+                .revokedAt(session.getRevokedAt())
+                .ipAddress(session.getIpAddress())
+                .userAgent(session.getUserAgent())
+                .createdAt(session.getCreatedAt() != null ? session.getCreatedAt() : Instant.now())
+                .lastUsedAt(session.getLastUsedAt())
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+
+    /**
+     * The successor session in the same family and the next generation, issued for a new refresh token
+     */
+    public SessionState rotate(UUID newId, String newRefreshTokenHash, Instant newExpiresAt, Instant now) {
+        return toBuilder()
+                .id(newId)
+                .refreshTokenHash(newRefreshTokenHash)
+                .generation(generation + 1)
+                .revoked(false)
+                .revokedAt(null)
+                .createdAt(now)
+                .lastUsedAt(now)
+                .expiresAt(newExpiresAt)
+                .build();
+    }
+
+    /**
+     * This session after {@code used}: last use and sliding expiry moved forward, never back.
+     * Revoked and expired sessions come back unchanged.
+     */
+    public SessionState touch(SessionStore.Activity used) {
+        if (revoked || !expiresAt.isAfter(used.usedAt())) {
+            return this;
+        }
+        return toBuilder()
+                .lastUsedAt(lastUsedAt == null || lastUsedAt.isBefore(used.usedAt()) ? used.usedAt() : lastUsedAt)
+                .expiresAt(used.expiresAtLeast() != null && used.expiresAtLeast().isAfter(expiresAt) ? used.expiresAtLeast() : expiresAt)
+                .build();
+    }
+
+    /**
+     * Detached user carrying the snapshot fields, enough to mint an access token
+     */
+    public User toUser() {
+        User user = new User();
+        user.setId(userId);
+        user.setEmail(email);
+        user.setStatus(userStatus);
+        user.setEmailVerified(emailVerified);
+        user.setCustomData(customData);
+        return user;
+    }
+
+    /**
+     * Detached entity for callers of the session service that expect a {@link Session}
+     */
+    public Session toSession(User user, Application application) {
+        Session session = new Session();
+        session.setId(id);
+        session.setUser(user);
+        session.setApplication(application);
+        session.setRefreshTokenHash(refreshTokenHash);
+        session.setTokenFamily(tokenFamily);
+        session.setGeneration(generation);
+        session.setRevoked(revoked);
+        session.setRevokedAt(revokedAt);
+        session.setIpAddress(ipAddress);
+        session.setUserAgent(userAgent);
+        session.setCreatedAt(createdAt);
+        session.setLastUsedAt(lastUsedAt);
+        session.setExpiresAt(expiresAt);
+        return session;
+    }
+
+    public Map<String, String> toHash() {
+        Map<String, String> hash = new HashMap<>();
+        put(hash, "id", id);
+        put(hash, "applicationId", applicationId);
+        put(hash, "refreshTokenHash", refreshTokenHash);
+        put(hash, "tokenFamily", tokenFamily);
+        put(hash, "generation", generation);
+        put(hash, "userId", userId);
+        put(hash, "email", email);
+        put(hash, "userStatus", userStatus);
+        put(hash, "emailVerified", emailVerified ? "1" : "0");
+        put(hash, "customData", customData);
+        put(hash, "revoked", revoked ? "1" : "0");
+        put(hash, "revokedAt", revokedAt);
+        put(hash, "ipAddress", ipAddress);
+        put(hash, "userAgent", userAgent);
+        put(hash, "createdAt", createdAt);
+        put(hash, "lastUsedAt", lastUsedAt);
+        put(hash, "expiresAt", expiresAt);
+        return hash;
+    }
+
+    public static SessionState fromHash(Map<?, ?> hash) {
+        return SessionState.builder()
+                .id(uuid(hash.get("id")))
+                .applicationId(uuid(hash.get("applicationId")))
+                .refreshTokenHash((String) hash.get("refreshTokenHash"))
+                .tokenFamily(uuid(hash.get("tokenFamily")))
+                .generation(hash.get("generation") != null ? Long.parseLong((String) hash.get("generation")) : 0)
+                .userId(uuid(hash.get("userId")))
+                .email((String) hash.get("email"))
+                .userStatus(hash.get("userStatus") != null ? UserStatus.valueOf((String) hash.get("userStatus")) : null)
+                .emailVerified("1".equals(hash.get("emailVerified")))
+                .customData((String) hash.get("customData"))
+                .revoked("1".equals(hash.get("revoked")))
+                .revokedAt(instant(hash.get("revokedAt")))
+                .ipAddress((String) hash.get("ipAddress"))
+                .userAgent((String) hash.get("userAgent"))
+                .createdAt(instant(hash.get("createdAt")))
+                .lastUsedAt(instant(hash.get("lastUsedAt")))
+                .expiresAt(instant(hash.get("expiresAt")))
+                .build();
+    }
+
+    private static void put(Map<String, String> hash, String field, Object value) {
+        if (value != null) {
+            hash.put(field, value.toString());
+        }
+    }
+
+    private static UUID uuid(Object value) {
+        return value != null ? UUID.fromString((String) value) : null;
+    }
+
+    private static Instant instant(Object value) {
+        return value != null ? Instant.parse((String) value) : null;
+    }
+}
@@ -0,0 +1,111 @@
+package com.tokenly.backend.security.session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Where refresh sessions live, selected by {@code app.sessions.store}.
+ *
+ * Implementations own persistence and the rotation decision (verifier check, reuse detection by
+ * family generation, grace window, per-user session limit); token minting and the grace cache stay
+ * in the session service. Stores receive only verifier hashes, never verifiers.
+ *
+ * @see JpaSessionStore
+ * @see RedisSessionStore
+ * @see InMemorySessionStore
+ */
+public interface SessionStore {
+
+    /**
+     * Store a new live session, assigning its id, and revoke the user's least recently used
+     * sessions beyond {@code maxSessionsPerUser} (0 = no limit)
+     */
+    Created create(SessionState session, int maxSessionsPerUser);
+
+    /**
+     * Check the presented session and, when it is the live head of its family, revoke it and
+     * store its successor. Presenting a rotated session outside the grace window revokes the
+     * whole family.
+     */
+    Rotation rotate(RotationRequest request);
+
+    /**
+     * @return false when no such session exists
+     */
+    boolean revoke(UUID sessionId, Instant revokedAt);
+
+    /**
+     * Revoke every session of a user, optionally sparing one
+     */
+    void revokeAllForUser(UUID userId, UUID exceptSessionId, Instant revokedAt);
+
+    /**
+     * Record when live sessions were last used, as coalesced by {@link SessionActivityTracker},
+     * so the per-user limit evicts the least recently used ones, and apply the application's
+     * sliding expiry. Unknown, revoked and expired sessions are skipped; neither a last use nor an
+     * expiry ever moves backwards.
+     */
+    void touch(List<Activity> activity);
+
+    /**
+     * Drop sessions expired or revoked longer than the retention period
+     */
+    void purgeExpired();
+
+    enum RotationOutcome {
+        ROTATED,    // presented session revoked, successor stored
+        REUSED,     // presented generation is behind the family's; the family has been revoked
+        GRACE,      // presented session was rotated within the grace window; nothing changed
+        REVOKED,    // presented session was revoked without being rotated
+        INVALID     // unknown, expired, from another application, or the verifier does not match
+    }
+
+    /**
+     * @param presentedHash hash of the presented verifier
+     * @param newHash       hash of the successor's verifier
+     * @param graceWindow   how long a just-rotated session may be presented again; zero disables
+     */
+    record RotationRequest(
+            UUID applicationId,
+            UUID sessionId,
+            String presentedHash,
+            String newHash,
+            Instant now,
+            Instant newExpiresAt,
+            Duration graceWindow
+    ) {
+    }
+
+    /**
+     * @param previous the presented session as it was before rotation; set for ROTATED and REUSED
+     * @param next     the successor; set for ROTATED
+     */
+    record Rotation(RotationOutcome outcome, SessionState previous, SessionState next) {
+
+        public static Rotation of(RotationOutcome outcome) {
+            return new Rotation(outcome, null, null);
+        }
+    }
+
+    /**
+     * Last use of a session; application and user come from the access token, so stores can find
+     * the session's keys without reading it first
+     *
+     * @param expiresAtLeast expiry the use extends the session to, or null when the application
+     *                       has no sliding expiry
+     */
+    record Activity(UUID sessionId, UUID applicationId, UUID userId, Instant usedAt, Instant expiresAtLeast) {
+
+        public Activity withExpiresAtLeast(Instant expiresAtLeast) {
+            return new Activity(sessionId, applicationId, userId, usedAt, expiresAtLeast);
+        }
+    }
+
+    /**
+     * @param evicted ids of sessions revoked to respect the per-user limit
+     */
+    record Created(SessionState session, List<UUID> evicted) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.tokenly.backend.security.session;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Current generation of each refresh token family, one small Redis string per family.
+ *
+ * A session whose generation is below its family's current generation has been rotated, so
+ * presenting it again is reuse. Revoking a family overwrites the value with {@value #REVOKED_VALUE},
+ * which every generation compares below. The Redis-authoritative rotation script reads and writes
+ * the same keys.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenFamilyRegistry {
+
+    public static final String KEY_PREFIX = "tokenly:family:";
+    public static final String REVOKED_VALUE = "revoked";
+
+    /**
+     * Generation reported for a revoked family
+     */
+    public static final long REVOKED = Long.MAX_VALUE;
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * @return the family's current generation, {@link #REVOKED}, or null when Redis does not know it
+     */
+    public Long currentGeneration(UUID tokenFamily) {
+        String value = redisTemplate.opsForValue().get(KEY_PREFIX + tokenFamily);
+        if (value == null) {
+            return null;
+        }
+        return REVOKED_VALUE.equals(value) ? REVOKED : Long.parseLong(value);
+    }
+
+    public void advance(UUID tokenFamily, long generation, Duration ttl) {
+        redisTemplate.opsForValue().set(KEY_PREFIX + tokenFamily, String.valueOf(generation), ttl);
+    }
+
+    public void revoke(UUID tokenFamily, Duration ttl) {
+        redisTemplate.opsForValue().set(KEY_PREFIX + tokenFamily, REVOKED_VALUE, ttl);
+    }
+}
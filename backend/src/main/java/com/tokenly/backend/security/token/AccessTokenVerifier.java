@@ -0,0 +1,84 @@
+package com.tokenly.backend.security.token;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.exception.UnauthorizedException;
+import com.tokenly.backend.security.JwtService;
+import com.tokenly.backend.security.revocation.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Verifies access tokens, caching parsed claims until the token expires.
+ * Signature checks and JSON parsing happen once per token; revocation is re-checked on every call.
+ * The cache is a bounded LRU ({@code app.verification.cache-size}): a full cache drops its least
+ * recently used token in O(1) instead of scanning or clearing.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccessTokenVerifier {
+
+    private final JwtService jwtService;
+    private final TokenRevocationService revocationService;
+    private final AppProperties appProperties;
+
+    private final Map<String, Claims> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+            return size() > appProperties.getVerification().getCacheSize();
+        }
+    };
+
+    /**
+     * @return claims of a valid, unexpired and unrevoked token
+     * @throws UnauthorizedException otherwise
+     */
+    public Claims verify(String token) {
+        return tryVerify(token)
+                .orElseThrow(() -> new UnauthorizedException("Invalid, expired or revoked token"));
+    }
+
+    public Optional<Claims> tryVerify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        long now = System.currentTimeMillis();
+        Claims claims;
+        synchronized (cache) {
+            claims = cache.get(token);
+        }
+
+        if (claims == null) {
+            try {
+                claims = jwtService.validateToken(token).getBody();
+            } catch (JwtException | IllegalArgumentException e) {
+                return Optional.empty();
+            }
+            synchronized (cache) {
+                cache.put(token, claims);
+            }
+        } else if (isExpired(claims, now)) {
+            synchronized (cache) {
+                cache.remove(token);
+            }
+            return Optional.empty();
+        }
+
+        if (revocationService.isRevoked(claims)) {
+            return Optional.empty();
+        }
+        return Optional.of(claims);
+    }
+
+    private boolean isExpired(Claims claims, long now) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.getTime() <= now;
+    }
+}
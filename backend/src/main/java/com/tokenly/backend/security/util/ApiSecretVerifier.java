@@ -0,0 +1,45 @@
+package com.tokenly.backend.security.util;
+
+import com.tokenly.backend.entity.ApiKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checks sk_ secrets against the stored hash. A successful match is remembered as a SHA-256
+ * digest so machine-to-machine callers pay the password-hash cost once, not on every request.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApiSecretVerifier {
+
+    private final PasswordEncoder passwordEncoder;
+    private final TokenHashUtil tokenHashUtil;
+
+    private final Map<UUID, String> verifiedDigests = new ConcurrentHashMap<>();
+
+    public boolean matches(ApiKey apiKey, String secret) {
+        if (secret == null || !secret.startsWith("sk_") || apiKey.getSecretKeyHash() == null) {
+            return false;
+        }
+
+        String digest = tokenHashUtil.hash(secret);
+        String known = verifiedDigests.get(apiKey.getId());
+        if (known != null && MessageDigest.isEqual(
+                known.getBytes(StandardCharsets.UTF_8), digest.getBytes(StandardCharsets.UTF_8))) {
+            return true;
+        }
+
+        if (passwordEncoder.matches(secret, apiKey.getSecretKeyHash())) {
+            verifiedDigests.put(apiKey.getId(), digest);
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,46 @@
+package com.tokenly.backend.security.util;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh tokens are {@code <selector>.<verifier>}: the selector is the session id (base64url,
+ * 22 chars) and names the row or Redis key directly; only a hash of the verifier is stored.
+ */
+@Component
+public class RefreshTokenCodec {
+
+    private static final int SELECTOR_LENGTH = 22;
+
+    public record RefreshToken(UUID sessionId, String verifier) {
+    }
+
+    public String encode(UUID sessionId, String verifier) {
+        byte[] bytes = ByteBuffer.allocate(16)
+                .putLong(sessionId.getMostSignificantBits())
+                .putLong(sessionId.getLeastSignificantBits())
+                .array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes) + "." + verifier;
+    }
+
+    /**
+     * @return the selector and verifier, or empty for anything not in this format
+     */
+    public Optional<RefreshToken> decode(String token) {
+        if (token == null || token.length() <= SELECTOR_LENGTH + 1 || token.charAt(SELECTOR_LENGTH) != '.') {
+            return Optional.empty();
+        }
+        try {
+            ByteBuffer selector = ByteBuffer.wrap(Base64.getUrlDecoder().decode(token.substring(0, SELECTOR_LENGTH)));
+            UUID sessionId = new UUID(selector.getLong(), selector.getLong());
+            return Optional.of(new RefreshToken(sessionId, token.substring(SELECTOR_LENGTH + 1)));
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            return Optional.empty();
+        }
+    }
+}
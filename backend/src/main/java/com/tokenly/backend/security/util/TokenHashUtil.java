@@ -18,4 +18,27 @@ public class TokenHashUtil {
             throw new IllegalStateException("Token hashing failed");
         }
     }
+
+    /**
+     * Constant-time check of a token against a stored hash
+     */
+    public boolean matches(String token, String expectedHash) {
+        if (token == null) {
+            return false;
+        }
+        return hashMatches(hash(token), expectedHash);
+    }
+
+    /**
+     * Constant-time comparison of two token hashes, for callers that only hold the hash
+     */
+    public boolean hashMatches(String hash, String expectedHash) {
+        if (hash == null || expectedHash == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                hash.getBytes(StandardCharsets.UTF_8),
+                expectedHash.getBytes(StandardCharsets.UTF_8)
+        );
+    }
 }
@@ -8,7 +8,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 public interface ApiKeyService {
-    record ApiKeyWithPlaintext(ApiKey apiKey, String publicKey) {}
+    record ApiKeyWithPlaintext(ApiKey apiKey, String publicKey, String secretKey) {}
 
     Optional<ApiKey> validateApiKey(String publicKey);
 
@@ -17,6 +17,11 @@ public interface ApiKeyService {
 
     ApiKey generateApiKey(Application application, String keyName);
 
+    /**
+     * Generate a key pair; the sk_ secret is only ever returned here
+     */
+    ApiKeyWithPlaintext createApiKey(Application application, String keyName);
+
     void revokeApiKey(UUID apiKeyId);
 
     ApiKeyWithPlaintext generateForApplication(Application application);
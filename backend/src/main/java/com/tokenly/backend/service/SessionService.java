@@ -4,6 +4,7 @@ import com.tokenly.backend.dto.responce.auth.AuthResponse;
 import com.tokenly.backend.entity.Application;
 import com.tokenly.backend.entity.Session;
 import com.tokenly.backend.entity.User;
+import com.tokenly.backend.security.policy.AuthPolicy;
 
 import java.util.UUID;
 
@@ -12,18 +13,31 @@ public interface SessionService {
     /**
      * Validate refresh token and rotate it (invalidate old, issue new)
      */
-    AuthResponse validateAndRotateRefreshToken(Application application, String refreshToken);
+    AuthResponse validateAndRotateRefreshToken(Application application, AuthPolicy policy, String refreshToken);
 
     /**
      * Create a new session for a user
+     *
+     * @param refreshToken the secret verifier half of the refresh token; only its hash is stored
      */
-    Session createSession(User user, Application application, String refreshToken, String ipAddress, String userAgent);
+    Session createSession(User user, Application application, AuthPolicy policy, String refreshToken, String ipAddress, String userAgent);
+
+    /**
+     * The refresh token handed to clients: the session id as selector plus the secret verifier
+     */
+    String refreshTokenFor(Session session, String verifier);
 
     /**
      * Revoke a specific session
      */
     void revokeSession(UUID sessionId);
 
+    /**
+     * Revoke the session an access token was issued under (its "sid" claim); a session that is
+     * already gone is not an error
+     */
+    void revokeSessionIfPresent(UUID sessionId);
+
     /**
      * Revoke all sessions for a user except the current one
      */
@@ -35,7 +49,7 @@ public interface SessionService {
     void revokeAllUserSessions(User user);
 
     /**
-     * Cleanup expired sessions (for scheduled task)
+     * Purge sessions expired or revoked longer than the retention period (for scheduled task)
      */
     void cleanupExpiredSessions();
 }
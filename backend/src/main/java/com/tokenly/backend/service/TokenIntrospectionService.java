@@ -0,0 +1,15 @@
+package com.tokenly.backend.service;
+
+import com.tokenly.backend.dto.responce.auth.TokenIntrospection;
+import com.tokenly.backend.entity.Application;
+
+import java.util.List;
+
+public interface TokenIntrospectionService {
+
+    /**
+     * Introspect a batch of access tokens issued for the given application.
+     * Results are returned in the same order as the tokens.
+     */
+    List<TokenIntrospection> introspect(Application application, List<String> tokens);
+}
@@ -49,7 +49,7 @@ public class ApiKeyServiceImpl implements ApiKeyService {
         ApiKey saved = apiKeyRepository.save(apiKey);
         
         // Return both entity and plaintext key (only time client sees it)
-        return new ApiKeyWithPlaintext(saved, publicKey);
+        return new ApiKeyWithPlaintext(saved, publicKey, secretKey);
     }
 
     @Override
@@ -69,21 +69,29 @@ public class ApiKeyServiceImpl implements ApiKeyService {
     @Override
     @CacheEvict(value = "apiKeys", key = "#result.publicKey")
     public ApiKey generateApiKey(Application application, String keyName) {
+        return createApiKey(application, keyName).apiKey();
+    }
+
+    @Override
+    public ApiKeyWithPlaintext createApiKey(Application application, String keyName) {
         // Generate public key
         String publicKey = "pk_" + (application.getEnvironment().name().toLowerCase()) + "_" + 
                            UUID.randomUUID().toString().replace("-", "");
 
+        // Secret key authenticates server-to-server calls (e.g. token introspection)
+        String secretKey = "sk_" + UUID.randomUUID().toString().replace("-", "");
+
         ApiKey apiKey = new ApiKey();
         apiKey.setApplication(application);
         apiKey.setKeyName(keyName);
         apiKey.setPublicKey(publicKey);
-        apiKey.setSecretKeyHash(passwordEncoder.encode(UUID.randomUUID().toString())); // Hash placeholder
+        apiKey.setSecretKeyHash(passwordEncoder.encode(secretKey));
         apiKey.setScopes(Set.of(ApiKeyScope.AUTH_READ, ApiKeyScope.AUTH_WRITE, 
                                 ApiKeyScope.USER_READ, ApiKeyScope.USER_WRITE));
         apiKey.setActive(true);
         apiKey.setExpiresAt(Instant.now().plus(365, ChronoUnit.DAYS));
 
-        return apiKeyRepository.save(apiKey);
+        return new ApiKeyWithPlaintext(apiKeyRepository.save(apiKey), publicKey, secretKey);
     }
 
     @Override
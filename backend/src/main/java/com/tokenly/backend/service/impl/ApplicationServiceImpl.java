@@ -55,6 +55,7 @@ public class ApplicationServiceImpl implements ApplicationService {
         authConfig.setAccessTokenTtlMinutes(60); // 1 hour
         authConfig.setRefreshTokenTtlMinutes(43200); // 30 days
         authConfig.setRefreshTokenEnabled(true); // Phase 2: enabled
+        authConfig.setRefreshGraceSeconds(10); // Absorbs multi-tab and retry duplicates
         authConfig.setSignupEnabled(true);
         authConfig.setEmailVerificationRequired(false); // Phase 1 & 2: simple
 
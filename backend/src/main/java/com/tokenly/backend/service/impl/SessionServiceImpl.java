@@ -1,28 +1,29 @@
 package com.tokenly.backend.service.impl;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tokenly.backend.dto.responce.auth.AuthResponse;
 import com.tokenly.backend.entity.Application;
-import com.tokenly.backend.entity.AuthConfig;
 import com.tokenly.backend.entity.Session;
 import com.tokenly.backend.entity.User;
 import com.tokenly.backend.exception.UnauthorizedException;
-import com.tokenly.backend.repository.SessionRepository;
 import com.tokenly.backend.security.JwtService;
+import com.tokenly.backend.security.policy.AuthPolicy;
+import com.tokenly.backend.security.revocation.TokenRevocationService;
+import com.tokenly.backend.security.session.RefreshGraceCache;
+import com.tokenly.backend.security.session.SessionState;
+import com.tokenly.backend.security.session.SessionStore;
+import com.tokenly.backend.security.util.RefreshTokenCodec;
 import com.tokenly.backend.security.util.TokenHashUtil;
 import com.tokenly.backend.service.SessionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
@@ -31,160 +32,128 @@ import java.util.UUID;
 @Transactional
 public class SessionServiceImpl implements SessionService {
 
-    private final SessionRepository sessionRepository;
+    private final SessionStore sessionStore;
     private final JwtService jwtService;
     private final TokenHashUtil tokenHashUtil;
-    private final StringRedisTemplate redisTemplate;
-    private final ObjectMapper objectMapper;
-
-    private static final String REDIS_SESSION_PREFIX = "tokenly:session:";
-
+    private final RefreshTokenCodec refreshTokenCodec;
+    private final TokenRevocationService revocationService;
+    private final RefreshGraceCache refreshGraceCache;
+
+    /**
+     * Runs outside the class-level transaction: the Redis and in-memory stores must not even
+     * borrow a database connection for a refresh, so the hybrid store opens its own.
+     */
     @Override
-    public AuthResponse validateAndRotateRefreshToken(Application application, String refreshToken) {
-        String tokenHash = tokenHashUtil.hash(refreshToken);
-        String redisKey = REDIS_SESSION_PREFIX + application.getId() + ":" + tokenHash;
-
-        // 1. Try Redis first
-        String sessionData = redisTemplate.opsForValue().get(redisKey);
-        Session session;
-
-        if (sessionData != null) {
-            try {
-                Map<String, String> data = objectMapper.readValue(sessionData, new TypeReference<Map<String, String>>() {});
-                UUID sessionId = UUID.fromString(data.get("id"));
-                session = sessionRepository.findById(sessionId).orElse(null);
-            } catch (Exception e) {
-                log.error("Failed to parse Redis session data", e);
-                session = null;
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AuthResponse validateAndRotateRefreshToken(Application application, AuthPolicy policy, String refreshToken) {
+        RefreshTokenCodec.RefreshToken presented = refreshTokenCodec.decode(refreshToken)
+                .orElseThrow(() -> new UnauthorizedException("Invalid or expired refresh token"));
+        Duration graceWindow = policy.getRefreshGrace();
+
+        Instant now = Instant.now();
+        String presentedHash = tokenHashUtil.hash(presented.verifier());
+        String newVerifier = jwtService.generateRefreshToken();
+
+        SessionStore.Rotation rotation = sessionStore.rotate(new SessionStore.RotationRequest(
+                application.getId(), presented.sessionId(), presentedHash, tokenHashUtil.hash(newVerifier),
+                now, now.plus(policy.getRefreshTokenTtlMinutes(), ChronoUnit.MINUTES), graceWindow));
+
+        switch (rotation.outcome()) {
+            case INVALID, REVOKED -> throw new UnauthorizedException("Invalid or expired refresh token");
+            case REUSED -> {
+                log.warn("Refresh token reuse detected for token family: {}. Revoking all sessions in family.",
+                        rotation.previous().getTokenFamily());
+                throw new UnauthorizedException("Token reuse detected. All sessions revoked for security.");
+            }
+            case GRACE -> {
+                // Presented again within the grace window: answer with the pair the first presentation got
+                return refreshGraceCache.await(presented.sessionId(), presented.verifier())
+                        .orElseThrow(() -> new UnauthorizedException("Invalid or expired refresh token"));
+            }
+            case ROTATED -> {
+                // Fall through to issue the new pair
             }
-        } else {
-            // 2. Fallback to DB
-            session = sessionRepository.findByRefreshTokenHashAndRevokedFalse(tokenHash).orElse(null);
-        }
-
-        if (session == null || session.isRevoked() || session.getExpiresAt().isBefore(Instant.now())) {
-             throw new UnauthorizedException("Invalid or expired refresh token");
         }
 
-        // 4. Check for token reuse (security: if reused, revoke entire family)
-        List<Session> familySessions = sessionRepository.findAllByTokenFamilyAndRevokedFalse(session.getTokenFamily());
-        if (familySessions.size() > 1) {
-            log.warn("Refresh token reuse detected for token family: {}. Revoking all sessions in family.", session.getTokenFamily());
-            sessionRepository.revokeTokenFamily(session.getTokenFamily(), Instant.now());
-            redisTemplate.delete(redisKey); // Immediate revocation in Redis
-            throw new UnauthorizedException("Token reuse detected. All sessions revoked for security.");
+        SessionState next = rotation.next();
+        AuthResponse response = AuthResponse.builder()
+                .accessToken(jwtService.generateAccessToken(next.toUser(), policy, next.getId()))
+                .refreshToken(refreshTokenCodec.encode(next.getId(), newVerifier))
+                .expiresIn((long) policy.getAccessTokenTtlMinutes() * 60)
+                .build();
+        if (!graceWindow.isZero()) {
+            refreshGraceCache.put(presented.sessionId(), presented.verifier(), response, graceWindow);
         }
 
-        User user = session.getUser();
-
-        // 5. Revoke the current session
-        session.setRevoked(true);
-        session.setRevokedAt(Instant.now());
-        sessionRepository.save(session);
-        redisTemplate.delete(redisKey); // Remove from Redis
-
-        // 6. Generate new tokens
-        String newAccessToken = jwtService.generateAccessToken(user, application);
-        String newRefreshToken = jwtService.generateRefreshToken();
-
-        // 7. Create new session with SAME token family
-        AuthConfig config = application.getAuthConfig();
-        int refreshTtl = config != null ? config.getRefreshTokenTtlMinutes() : 43200; // 30 days default
-        int accessTtl = config != null ? config.getAccessTokenTtlMinutes() : 60; // 1 hour default
-
-        Session newSession = new Session();
-        newSession.setUser(user);
-        newSession.setApplication(application);
-        newSession.setRefreshTokenHash(tokenHashUtil.hash(newRefreshToken));
-        newSession.setTokenFamily(session.getTokenFamily()); 
-        newSession.setIpAddress(session.getIpAddress()); 
-        newSession.setUserAgent(session.getUserAgent());
-        newSession.setLastUsedAt(Instant.now());
-        newSession.setExpiresAt(Instant.now().plus(refreshTtl, ChronoUnit.MINUTES));
-        newSession.setRevoked(false);
-
-        sessionRepository.save(newSession);
-        saveSessionToRedis(newSession);
-
-        log.info("Refresh token rotated successfully for user: {}", user.getId());
-
-        return AuthResponse.builder()
-                .accessToken(newAccessToken)
-                .refreshToken(newRefreshToken)
-                .expiresIn((long) accessTtl * 60)
-                .build();
+        log.info("Refresh token rotated successfully for user: {}", next.getUserId());
+        return response;
     }
 
     @Override
-    public Session createSession(User user, Application application, String refreshToken, String ipAddress, String userAgent) {
-        AuthConfig config = application.getAuthConfig();
-        int refreshTtl = config != null ? config.getRefreshTokenTtlMinutes() : 43200;
-
+    public Session createSession(User user, Application application, AuthPolicy policy, String refreshToken, String ipAddress, String userAgent) {
+        Instant now = Instant.now();
         Session session = new Session();
-        session.setUser(user);
         session.setApplication(application);
         session.setRefreshTokenHash(tokenHashUtil.hash(refreshToken));
         session.setTokenFamily(UUID.randomUUID()); // New token family
         session.setIpAddress(ipAddress);
         session.setUserAgent(userAgent);
-        session.setLastUsedAt(Instant.now());
-        session.setExpiresAt(Instant.now().plus(refreshTtl, ChronoUnit.MINUTES));
+        session.setCreatedAt(now);
+        session.setLastUsedAt(now);
+        session.setExpiresAt(now.plus(policy.getRefreshTokenTtlMinutes(), ChronoUnit.MINUTES));
         session.setRevoked(false);
 
-        Session savedSession = sessionRepository.save(session);
-        saveSessionToRedis(savedSession);
-        return savedSession;
+        SessionStore.Created created = sessionStore.create(SessionState.of(session, user), policy.getMaxSessionsPerUser());
+        logEvictions(user, created.evicted());
+        return created.session().toSession(user, application);
     }
 
-    private void saveSessionToRedis(Session session) {
-        String redisKey = REDIS_SESSION_PREFIX + session.getApplication().getId() + ":" + session.getRefreshTokenHash();
-        try {
-            Map<String, String> data = Map.of(
-                    "id", session.getId().toString(),
-                    "userId", session.getUser().getId().toString(),
-                    "expiresAt", session.getExpiresAt().toString()
-            );
-            String json = objectMapper.writeValueAsString(data);
-            long ttlSeconds = Duration.between(Instant.now(), session.getExpiresAt()).getSeconds();
-            if (ttlSeconds > 0) {
-                redisTemplate.opsForValue().set(redisKey, json, Duration.ofSeconds(ttlSeconds));
-            }
-        } catch (Exception e) {
-            log.error("Failed to save session to Redis", e);
+    private void logEvictions(User user, List<UUID> evicted) {
+        if (!evicted.isEmpty()) {
+            log.info("Session limit reached for user: {}, evicted {} least recently used session(s)", user.getId(), evicted.size());
         }
     }
 
     @Override
-    public void revokeSession(UUID sessionId) {
-        Session session = sessionRepository.findById(sessionId)
-                .orElseThrow(() -> new IllegalStateException("Session not found"));
-
-        session.setRevoked(true);
-        session.setRevokedAt(Instant.now());
-        sessionRepository.save(session);
-        
-        String redisKey = REDIS_SESSION_PREFIX + session.getApplication().getId() + ":" + session.getRefreshTokenHash();
-        redisTemplate.delete(redisKey);
+    public String refreshTokenFor(Session session, String verifier) {
+        return refreshTokenCodec.encode(session.getId(), verifier);
+    }
 
+    @Override
+    public void revokeSession(UUID sessionId) {
+        if (!sessionStore.revoke(sessionId, Instant.now())) {
+            throw new IllegalStateException("Session not found");
+        }
         log.info("Session revoked: {}", sessionId);
     }
 
+    @Override
+    public void revokeSessionIfPresent(UUID sessionId) {
+        if (sessionStore.revoke(sessionId, Instant.now())) {
+            log.info("Session revoked: {}", sessionId);
+        }
+    }
+
     @Override
     public void revokeAllUserSessions(User user, UUID exceptSessionId) {
-        sessionRepository.revokeAllUserSessionsExcept(user, exceptSessionId, Instant.now());
+        sessionStore.revokeAllForUser(user.getId(), exceptSessionId, Instant.now());
         log.info("All sessions revoked for user: {} except session: {}", user.getId(), exceptSessionId);
     }
 
     @Override
     public void revokeAllUserSessions(User user) {
-        sessionRepository.revokeAllUserSessions(user, Instant.now());
+        sessionStore.revokeAllForUser(user.getId(), null, Instant.now());
+        // Outstanding access tokens are cut off as well, not just refresh sessions
+        revocationService.revokeAllForSubject(user.getId().toString());
         log.info("All sessions revoked for user: {}", user.getId());
     }
 
+    /**
+     * The hybrid store purges in chunks that each commit on their own, so no surrounding transaction
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void cleanupExpiredSessions() {
-        Instant threshold = Instant.now().minus(7, ChronoUnit.DAYS);
-        sessionRepository.deleteByExpiresAtBeforeAndRevokedTrue(threshold);
-        log.info("Cleaned up expired sessions older than: {}", threshold);
+        sessionStore.purgeExpired();
     }
 }
@@ -1,17 +1,18 @@
 package com.tokenly.backend.service.impl;
 
 import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.mail.EmailOutbox;
 import com.tokenly.backend.service.EmailService;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
+/**
+ * Renders the emails and queues them on the {@link EmailOutbox}; nothing here waits on SMTP
+ */
 @Slf4j
 @Service
 @Primary
@@ -19,69 +20,54 @@ import org.springframework.stereotype.Service;
 public class SmtpEmailService implements EmailService {
 
     private final AppProperties appProperties;
-    private final JavaMailSender mailSender;
-
-    @Value("${app.email.from}")
-    private String fromEmail;
+    private final EmailOutbox emailOutbox;
 
     @Override
     public void sendVerificationEmail(String to, String verificationToken, String appName) {
         String subject = "Verify your email for " + appName;
         String body = buildVerificationEmailBody(verificationToken, appName);
-        sendHtmlEmail(to, subject, body, appName);
-        log.info("Verification email sent to: {}", to);
+        sendHtmlEmail(to, subject, body, appName, Duration.ofHours(appProperties.getAuth().getVerificationTokenExpiryHours()));
+        log.info("Verification email queued for: {}", to);
     }
 
     @Override
     public void sendPasswordResetEmail(String to, String resetToken, String appName) {
         String subject = "Reset your password for " + appName;
         String body = buildPasswordResetEmailBody(resetToken, appName);
-        sendHtmlEmail(to, subject, body, appName);
-        log.info("Password reset email sent to: {}", to);
+        sendHtmlEmail(to, subject, body, appName, Duration.ofHours(appProperties.getAuth().getPasswordResetTokenExpiryHours()));
+        log.info("Password reset email queued for: {}", to);
     }
 
     @Override
     public void sendWelcomeEmail(String to, String username, String appName) {
         String subject = "Welcome to " + appName;
         String body = buildWelcomeEmailBody(username, appName);
-        sendHtmlEmail(to, subject, body, appName);
-        log.info("Welcome email sent to: {}", to);
+        sendHtmlEmail(to, subject, body, appName, null);
+        log.info("Welcome email queued for: {}", to);
     }
 
     @Override
     public void sendOtpEmail(String to, String otp, String appName) {
         String subject = otp + " is your " + appName + " verification code";
         String body = buildOtpEmailBody(otp, appName);
-        sendHtmlEmail(to, subject, body, appName);
-        log.info("OTP email sent to: {}", to);
+        sendHtmlEmail(to, subject, body, appName, Duration.ofMinutes(appProperties.getAuth().getOtpExpiryMinutes()));
+        log.info("OTP email queued for: {}", to);
     }
 
     @Override
     public void sendMagicLinkEmail(String to, String magicToken, String appId, String appName) {
         String subject = "Your " + appName + " Magic Link";
         String body = buildMagicLinkEmailBody(magicToken, appId, appName);
-        sendHtmlEmail(to, subject, body, appName);
-        log.info("Magic link email sent to: {}", to);
+        sendHtmlEmail(to, subject, body, appName, Duration.ofMinutes(appProperties.getAuth().getMagicLinkExpiryMinutes()));
+        log.info("Magic link email queued for: {}", to);
     }
 
-    private void sendHtmlEmail(String to, String subject, String htmlBody, String appName) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail, appName); // Use appName as the sender name
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlBody, true); // true = HTML
-
-            mailSender.send(message);
-        } catch (MessagingException e) {
-            log.error("Failed to send email to {}: {}", to, e.getMessage());
-            throw new RuntimeException("Failed to send email", e);
-        } catch (Exception e) {
-            log.error("Unexpected error sending email: {}", e.getMessage());
-            throw new RuntimeException("Failed to send email", e);
-        }
+    /**
+     * @param validFor lifetime of the code or link in the email, past which it is not worth delivering
+     */
+    private void sendHtmlEmail(String to, String subject, String htmlBody, String appName, Duration validFor) {
+        // Committed with the caller's transaction and delivered by EmailOutboxWorker
+        emailOutbox.enqueue(to, appName, subject, htmlBody, validFor); // Use appName as the sender name
     }
 
     private String buildVerificationEmailBody(String token, String appName) {
@@ -0,0 +1,63 @@
+package com.tokenly.backend.service.impl;
+
+import com.tokenly.backend.dto.responce.auth.TokenIntrospection;
+import com.tokenly.backend.entity.Application;
+import com.tokenly.backend.security.token.AccessTokenVerifier;
+import com.tokenly.backend.service.TokenIntrospectionService;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class TokenIntrospectionServiceImpl implements TokenIntrospectionService {
+
+    private static final Set<String> REGISTERED_CLAIMS = Set.of(
+            Claims.SUBJECT, Claims.ID, Claims.ISSUED_AT, Claims.EXPIRATION, "appId"
+    );
+
+    private final AccessTokenVerifier tokenVerifier;
+
+    @Override
+    public List<TokenIntrospection> introspect(Application application, List<String> tokens) {
+        // Sequential on the request thread: each token may block on the Redis revocation check, and
+        // the batch is capped (app.introspection.max-batch-size), so the common pool is not borrowed
+        String applicationId = application.getId().toString();
+
+        return tokens.stream()
+                .map(token -> introspect(applicationId, token))
+                .toList();
+    }
+
+    private TokenIntrospection introspect(String applicationId, String token) {
+        return tokenVerifier.tryVerify(token)
+                // Only user tokens of the calling application are visible to it
+                .filter(claims -> applicationId.equals(claims.get("appId", String.class)))
+                .map(this::toIntrospection)
+                .orElseGet(TokenIntrospection::inactive);
+    }
+
+    private TokenIntrospection toIntrospection(Claims claims) {
+        Map<String, Object> extra = new HashMap<>();
+        claims.forEach((name, value) -> {
+            if (!REGISTERED_CLAIMS.contains(name)) {
+                extra.put(name, value);
+            }
+        });
+
+        return TokenIntrospection.builder()
+                .active(true)
+                .sub(claims.getSubject())
+                .appId(claims.get("appId", String.class))
+                .jti(claims.getId())
+                .iat(claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant().getEpochSecond() : null)
+                .exp(claims.getExpiration() != null ? claims.getExpiration().toInstant().getEpochSecond() : null)
+                .claims(extra)
+                .build();
+    }
+}
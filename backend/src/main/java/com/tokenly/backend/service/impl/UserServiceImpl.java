@@ -7,7 +7,7 @@ import com.tokenly.backend.entity.Application;
 import com.tokenly.backend.entity.User;
 import com.tokenly.backend.enums.UserStatus;
 import com.tokenly.backend.repository.UserRepository;
-import com.tokenly.backend.security.PasswordEncoderFactory;
+import com.tokenly.backend.security.policy.AuthPolicyCache;
 import com.tokenly.backend.service.ApplicationFieldService;
 import com.tokenly.backend.service.EmailService;
 import com.tokenly.backend.service.UserService;
@@ -29,7 +29,7 @@ import java.util.UUID;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoderFactory encoderFactory;
+    private final AuthPolicyCache authPolicyCache;
     private final ObjectMapper objectMapper;
     private final EmailService emailService;
     private final ApplicationFieldService fieldService;
@@ -56,7 +56,7 @@ public class UserServiceImpl implements UserService {
         user.setApplication(application);
         user.setEmail(request.getEmail());
         if (request.getPassword() != null) {
-            user.setPasswordHash(encoderFactory.getEncoderForApplication(application).encode(request.getPassword()));
+            user.setPasswordHash(authPolicyCache.get(application).getPasswordEncoder().encode(request.getPassword()));
         }
         user.setStatus(UserStatus.ACTIVE);
         user.setEmailVerified(false);
@@ -157,7 +157,7 @@ public class UserServiceImpl implements UserService {
             throw new IllegalStateException("Reset token expired");
         }
 
-        user.setPasswordHash(encoderFactory.getEncoderForApplication(user.getApplication()).encode(newPassword));
+        user.setPasswordHash(authPolicyCache.get(user.getApplication()).getPasswordEncoder().encode(newPassword));
         user.setPasswordResetToken(null);
         user.setPasswordResetTokenExpiry(null);
 
@@ -167,11 +167,11 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public void changePassword(User user, String currentPassword, String newPassword) {
-        if (!encoderFactory.getEncoderForApplication(user.getApplication()).matches(currentPassword, user.getPasswordHash())) {
+        if (!authPolicyCache.get(user.getApplication()).getPasswordEncoder().matches(currentPassword, user.getPasswordHash())) {
             throw new IllegalStateException("Current password is incorrect");
         }
 
-        user.setPasswordHash(encoderFactory.getEncoderForApplication(user.getApplication()).encode(newPassword));
+        user.setPasswordHash(authPolicyCache.get(user.getApplication()).getPasswordEncoder().encode(newPassword));
         userRepository.save(user);
         log.info("Password changed for user: {}", user.getEmail());
     }
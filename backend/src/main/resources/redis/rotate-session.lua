@@ -0,0 +1,87 @@
+-- Atomically rotate a Redis-authoritative refresh session.
+--
+-- KEYS[1]  session key named by the presented token's selector
+-- KEYS[2]  session key for the new session
+-- ARGV[1]  now (ISO-8601)            ARGV[2]  hash of the presented verifier
+-- ARGV[3]  new session id            ARGV[4]  new verifier hash
+-- ARGV[5]  new expiresAt (ISO-8601)  ARGV[6]  new TTL in seconds
+-- ARGV[7]  family key prefix         ARGV[8]  user index prefix
+-- ARGV[9]  now (epoch millis)        ARGV[10] grace window in millis (0 disables)
+-- ARGV[11] application id the token was presented to
+--
+-- Returns {outcome, field, value, ...} where outcome is ROTATED, REUSED, GRACE, REVOKED, INVALID or
+-- MISSING and the field/value pairs are the presented session as it was before this call. GRACE
+-- means the token was rotated less than the grace window ago and nothing was changed.
+--
+-- The family key holds the family's current generation (or 'revoked'); see TokenFamilyRegistry.
+--
+-- The verifier check compares SHA-256 digests, so its timing says nothing about the verifier.
+--
+-- The family key and user index are built from ARGV prefixes and the session hash, not declared
+-- in KEYS, because the caller only knows the session id: single Redis node only (see RedisSessionStore).
+
+local old = redis.call('HGETALL', KEYS[1])
+if #old == 0 then
+  return {'MISSING'}
+end
+
+local session = {}
+for i = 1, #old, 2 do
+  session[old[i]] = old[i + 1]
+end
+
+if session['applicationId'] ~= ARGV[11] or session['refreshTokenHash'] ~= ARGV[2] then
+  return {'INVALID'}
+end
+
+local familyKey = ARGV[7] .. session['tokenFamily']
+local generation = tonumber(session['generation'] or '0')
+
+-- Reuse of an already-rotated token (or any token of a revoked family): one write revokes the family
+local current = redis.call('GET', familyKey)
+if current == 'revoked' or (current and tonumber(current) > generation) then
+  -- ...unless it is the token rotated just now, whose successor is still the family head
+  if current ~= 'revoked' and tonumber(current) == generation + 1 and session['rotatedAt']
+      and tonumber(ARGV[9]) - tonumber(session['rotatedAt']) <= tonumber(ARGV[10]) then
+    return {'GRACE'}
+  end
+  redis.call('SET', familyKey, 'revoked', 'EX', ARGV[6])
+  table.insert(old, 1, 'REUSED')
+  return old
+end
+
+-- Revoked individually (logout) but never rotated
+if session['revoked'] == '1' then
+  return {'REVOKED'}
+end
+
+redis.call('HSET', KEYS[1], 'revoked', '1', 'revokedAt', ARGV[1], 'rotatedAt', ARGV[9])
+
+session['id'] = ARGV[3]
+session['generation'] = tostring(generation + 1)
+session['refreshTokenHash'] = ARGV[4]
+session['createdAt'] = ARGV[1]
+session['lastUsedAt'] = ARGV[1]
+session['expiresAt'] = ARGV[5]
+session['revoked'] = '0'
+session['revokedAt'] = nil
+
+local fields = {}
+for field, value in pairs(session) do
+  fields[#fields + 1] = field
+  fields[#fields + 1] = value
+end
+redis.call('HSET', KEYS[2], unpack(fields))
+redis.call('EXPIRE', KEYS[2], ARGV[6])
+
+redis.call('SET', familyKey, session['generation'], 'EX', ARGV[6])
+-- The user index is scored by last use, so the successor takes the predecessor's place as most recent
+local userKey = ARGV[8] .. session['userId']
+redis.call('ZREM', userKey, KEYS[1])
+redis.call('ZADD', userKey, ARGV[9], KEYS[2])
+if redis.call('TTL', userKey) < tonumber(ARGV[6]) then
+  redis.call('EXPIRE', userKey, ARGV[6])
+end
+
+table.insert(old, 1, 'ROTATED')
+return old
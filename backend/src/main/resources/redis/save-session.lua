@@ -0,0 +1,54 @@
+-- Write a Redis-authoritative session and enforce the per-user session limit, atomically.
+--
+-- KEYS[1]  session key               KEYS[2]  family key
+-- KEYS[3]  user index (sorted set of session keys scored by last use, epoch millis)
+-- ARGV[1]  TTL in seconds            ARGV[2]  family generation (at least the session's)
+-- ARGV[3]  now (epoch millis)        ARGV[4]  max sessions per user (0 = unlimited)
+-- ARGV[5]  now (ISO-8601)            ARGV[6]  family key prefix
+-- ARGV[7..] session hash field/value pairs
+--
+-- Returns the keys of sessions evicted (least recently used first) to make room.
+--
+-- The eviction pass reads other session keys from the index and family keys built from ARGV[6],
+-- none declared in KEYS: single Redis node only (see RedisSessionStore).
+
+redis.call('HSET', KEYS[1], unpack(ARGV, 7))
+redis.call('EXPIRE', KEYS[1], ARGV[1])
+
+-- The family key only moves forward: a session recovered from MySQL must neither lower the
+-- generation a later rotation set nor lift a family revocation; it only keeps the key alive
+local family = redis.call('GET', KEYS[2])
+if family ~= 'revoked' and (not family or tonumber(family) < tonumber(ARGV[2])) then
+  redis.call('SET', KEYS[2], ARGV[2], 'EX', ARGV[1])
+elseif redis.call('TTL', KEYS[2]) < tonumber(ARGV[1]) then
+  redis.call('EXPIRE', KEYS[2], ARGV[1])
+end
+
+redis.call('ZADD', KEYS[3], ARGV[3], KEYS[1])
+if redis.call('TTL', KEYS[3]) < tonumber(ARGV[1]) then
+  redis.call('EXPIRE', KEYS[3], ARGV[1])
+end
+
+local evicted = {}
+local max = tonumber(ARGV[4])
+if max > 0 then
+  -- Only live sessions count towards the limit: expired, revoked and reused-family entries are
+  -- dropped from the index instead of pushing out the oldest session still in use
+  local live = {}
+  for _, key in ipairs(redis.call('ZRANGE', KEYS[3], 0, -1)) do
+    local fields = redis.call('HMGET', key, 'id', 'revoked', 'tokenFamily')
+    if fields[1] and fields[2] ~= '1'
+        and (not fields[3] or redis.call('GET', ARGV[6] .. fields[3]) ~= 'revoked') then
+      live[#live + 1] = key
+    else
+      redis.call('ZREM', KEYS[3], key)
+    end
+  end
+  for i = 1, #live - max do
+    local key = live[i]
+    redis.call('ZREM', KEYS[3], key)
+    redis.call('HSET', key, 'revoked', '1', 'revokedAt', ARGV[5])
+    evicted[#evicted + 1] = key
+  end
+end
+return evicted
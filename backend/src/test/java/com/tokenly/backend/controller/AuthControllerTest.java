@@ -11,6 +11,7 @@ import com.tokenly.backend.enums.ApplicationEnvironment;
 import com.tokenly.backend.enums.UserStatus;
 import com.tokenly.backend.service.*;
 import com.tokenly.backend.security.JwtService;
+import com.tokenly.backend.security.revocation.TokenRevocationService;
 import com.tokenly.backend.mapper.AuthMapper;
 import com.tokenly.backend.config.AppProperties;
 import org.junit.jupiter.api.BeforeEach;
@@ -52,6 +53,9 @@ class AuthControllerTest {
     @MockBean
     private JwtService jwtService;
 
+    @MockBean
+    private TokenRevocationService revocationService;
+
     @MockBean
     private AuthMapper authMapper;
 
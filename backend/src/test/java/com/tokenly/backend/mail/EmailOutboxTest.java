@@ -0,0 +1,177 @@
+package com.tokenly.backend.mail;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.entity.OutboxEmail;
+import com.tokenly.backend.enums.EmailOutboxStatus;
+import com.tokenly.backend.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mail.MailSendException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxTest {
+
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private AppProperties appProperties;
+    private EmailOutbox emailOutbox;
+
+    @BeforeEach
+    void setUp() {
+        appProperties = new AppProperties();
+        appProperties.getEmailOutbox().setMaxAttempts(3);
+        appProperties.getEmailOutbox().setInitialBackoffMs(1_000);
+        appProperties.getEmailOutbox().setMaxBackoffMs(10_000);
+        emailOutbox = new EmailOutbox(outboxRepository, eventPublisher, appProperties);
+    }
+
+    @Test
+    void enqueue_ShouldStorePendingEmailAndNotifyWorkers() {
+        // Arrange
+        when(outboxRepository.save(any(OutboxEmail.class))).then(returnsFirstArg());
+
+        // Act
+        OutboxEmail email = emailOutbox.enqueue("user@test.com", "Test App", "Subject", "<p>Hi</p>", Duration.ofMinutes(10));
+
+        // Assert
+        assertEquals(EmailOutboxStatus.PENDING, email.getStatus());
+        assertEquals(0, email.getAttempts());
+        assertFalse(email.getNextAttemptAt().isAfter(Instant.now()));
+        assertEquals(email.getNextAttemptAt().plus(Duration.ofMinutes(10)), email.getExpiresAt());
+        verify(eventPublisher).publishEvent(any(EmailQueuedEvent.class));
+    }
+
+    @Test
+    void claimDue_ShouldCountAttemptAndLeaseRows() {
+        // Arrange
+        OutboxEmail email = email(0);
+        when(outboxRepository.lockDue(any(Instant.class), eq(20))).thenReturn(List.of(email));
+
+        // Act
+        List<OutboxEmail> claimed = emailOutbox.claimDue(20);
+
+        // Assert
+        assertEquals(1, claimed.size());
+        assertEquals(1, email.getAttempts());
+        assertTrue(email.getNextAttemptAt().isAfter(Instant.now().plusSeconds(100)));
+    }
+
+    @Test
+    void claimDue_ExpiredEmail_ShouldDiscardInsteadOfClaim() {
+        // Arrange
+        OutboxEmail expired = email(0);
+        expired.setExpiresAt(Instant.now().minusSeconds(1));
+        OutboxEmail current = email(0);
+        current.setExpiresAt(Instant.now().plusSeconds(600));
+        when(outboxRepository.lockDue(any(Instant.class), eq(20))).thenReturn(List.of(expired, current));
+
+        // Act
+        List<OutboxEmail> claimed = emailOutbox.claimDue(20);
+
+        // Assert
+        assertEquals(List.of(current), claimed);
+        assertEquals(EmailOutboxStatus.EXPIRED, expired.getStatus());
+        assertNull(expired.getSubject());
+        assertNull(expired.getHtmlBody());
+        assertEquals(0, expired.getAttempts());
+    }
+
+    @Test
+    void recordSent_ShouldFinishAndClearContent() {
+        // Arrange
+        OutboxEmail email = email(1);
+
+        // Act
+        emailOutbox.recordSent(email);
+
+        // Assert
+        verify(outboxRepository).markFinished(eq(email.getId()), eq(EmailOutboxStatus.SENT), any(Instant.class), isNull(), any(Instant.class));
+    }
+
+    @Test
+    void recordFailure_AttemptsLeft_ShouldRescheduleWithBackoff() {
+        // Arrange
+        OutboxEmail email = email(2);
+
+        // Act
+        Instant before = Instant.now();
+        emailOutbox.recordFailure(email, new MailSendException("Connection refused"));
+
+        // Assert
+        ArgumentCaptor<Instant> retryAt = ArgumentCaptor.forClass(Instant.class);
+        verify(outboxRepository).reschedule(eq(email.getId()), retryAt.capture(), contains("Connection refused"), any(Instant.class));
+        Duration delay = Duration.between(before, retryAt.getValue());
+        assertTrue(delay.toMillis() >= 2_000 && delay.toMillis() <= 2_500, "delay was " + delay);
+    }
+
+    @Test
+    void recordFailure_LastAttempt_ShouldGiveUp() {
+        // Arrange
+        OutboxEmail email = email(3);
+
+        // Act
+        emailOutbox.recordFailure(email, new MailSendException("Mailbox unavailable"));
+
+        // Assert
+        verify(outboxRepository).markFinished(eq(email.getId()), eq(EmailOutboxStatus.FAILED), isNull(), anyString(), any());
+    }
+
+    @Test
+    void recordFailure_RetryAfterExpiry_ShouldExpire() {
+        // Arrange: a 10-minute code whose next retry would be an hour away
+        appProperties.getEmailOutbox().setInitialBackoffMs(3_600_000);
+        appProperties.getEmailOutbox().setMaxBackoffMs(3_600_000);
+        OutboxEmail email = email(1);
+        email.setExpiresAt(Instant.now().plus(Duration.ofMinutes(10)));
+
+        // Act
+        emailOutbox.recordFailure(email, new MailSendException("Connection refused"));
+
+        // Assert
+        verify(outboxRepository).markFinished(eq(email.getId()), eq(EmailOutboxStatus.EXPIRED), isNull(), anyString(), any());
+        verify(outboxRepository, never()).reschedule(any(), any(), any(), any());
+    }
+
+    @Test
+    void backoff_ShouldDoubleAndCap() {
+        // Act & Assert
+        assertBetween(1_000, emailOutbox.backoff(1));
+        assertBetween(4_000, emailOutbox.backoff(3));
+        assertBetween(10_000, emailOutbox.backoff(5));
+        assertBetween(10_000, emailOutbox.backoff(60));
+    }
+
+    private static void assertBetween(long baseMs, Duration actual) {
+        assertTrue(actual.toMillis() >= baseMs && actual.toMillis() <= baseMs + baseMs / 5, "backoff was " + actual);
+    }
+
+    private static OutboxEmail email(int attempts) {
+        OutboxEmail email = new OutboxEmail();
+        email.setId(UUID.randomUUID());
+        email.setRecipient("user@test.com");
+        email.setSubject("Subject");
+        email.setHtmlBody("<p>Hi</p>");
+        email.setAttempts(attempts);
+        email.setNextAttemptAt(Instant.now());
+        return email;
+    }
+}
@@ -0,0 +1,108 @@
+package com.tokenly.backend.mail;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.entity.OutboxEmail;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxWorkerTest {
+
+    @Mock
+    private EmailOutbox emailOutbox;
+
+    @Mock
+    private MailTransport mailTransport;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AppProperties appProperties;
+    private EmailOutboxWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        appProperties = new AppProperties();
+        appProperties.getEmailOutbox().setWorkers(0); // Batches are driven by the test
+        worker = new EmailOutboxWorker(emailOutbox, mailTransport, appProperties, meterRegistry);
+        worker.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        worker.stop();
+    }
+
+    @Test
+    void deliverBatch_ShouldRecordEachOutcome() {
+        // Arrange
+        OutboxEmail delivered = email("ok@test.com");
+        OutboxEmail rejected = email("bad@test.com");
+        when(emailOutbox.claimDue(20)).thenReturn(List.of(delivered, rejected));
+        MailSendException error = new MailSendException("Mailbox unavailable");
+        when(mailTransport.sendAll(List.of(delivered, rejected))).thenReturn(Arrays.asList(null, error));
+
+        // Act
+        int claimed = worker.deliverBatch();
+
+        // Assert
+        assertEquals(2, claimed);
+        verify(emailOutbox).recordSent(delivered);
+        verify(emailOutbox).recordFailure(rejected, error);
+        verify(emailOutbox, never()).recordSent(rejected);
+        assertEquals(1.0, meterRegistry.get("tokenly.email.outbox.deliveries").tag("result", "sent").counter().count());
+        assertEquals(1.0, meterRegistry.get("tokenly.email.outbox.deliveries").tag("result", "failed").counter().count());
+    }
+
+    @Test
+    void deliverBatch_NothingDue_ShouldNotSend() {
+        // Arrange
+        when(emailOutbox.claimDue(anyInt())).thenReturn(List.of());
+
+        // Act & Assert
+        assertEquals(0, worker.deliverBatch());
+        verifyNoInteractions(mailTransport);
+    }
+
+    @Test
+    void start_WithWorkers_ShouldDeliverQueuedEmailOnWakeUp() throws InterruptedException {
+        // Arrange
+        appProperties.getEmailOutbox().setWorkers(1);
+        appProperties.getEmailOutbox().setPollIntervalMs(60_000);
+        OutboxEmail email = email("user@test.com");
+        when(emailOutbox.claimDue(anyInt())).thenReturn(List.of()).thenReturn(List.of(email)).thenReturn(List.of());
+        when(mailTransport.sendAll(List.of(email))).thenReturn(Arrays.asList((Exception) null));
+        EmailOutboxWorker running = new EmailOutboxWorker(emailOutbox, mailTransport, appProperties, meterRegistry);
+
+        // Act
+        running.start();
+        verify(emailOutbox, timeout(2_000)).claimDue(anyInt()); // Idle, waiting out the long poll interval
+        running.onEmailQueued(new EmailQueuedEvent());
+
+        // Assert
+        verify(mailTransport, timeout(2_000)).sendAll(List.of(email));
+        verify(emailOutbox, timeout(2_000)).recordSent(email);
+        running.stop();
+    }
+
+    private static OutboxEmail email(String recipient) {
+        OutboxEmail email = new OutboxEmail();
+        email.setId(UUID.randomUUID());
+        email.setRecipient(recipient);
+        email.setAttempts(1);
+        return email;
+    }
+}
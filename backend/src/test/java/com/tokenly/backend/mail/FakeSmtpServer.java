@@ -0,0 +1,124 @@
+package com.tokenly.backend.mail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Just enough SMTP (EHLO, AUTH PLAIN, MAIL, RCPT, DATA, RSET, NOOP, QUIT) to count connections,
+ * logins and messages. Recipients containing "reject" are refused.
+ */
+class FakeSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "fake-smtp");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+
+    final AtomicInteger connections = new AtomicInteger();
+    final AtomicInteger logins = new AtomicInteger();
+    final AtomicInteger messages = new AtomicInteger();
+    final AtomicInteger quits = new AtomicInteger();
+    final AtomicInteger maxConcurrent = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+
+    FakeSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        executor.execute(this::acceptLoop);
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Drop every open connection without a goodbye, as a server timing out idle clients would
+     */
+    void dropAll() throws IOException {
+        for (Socket client : clients) {
+            client.close();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        dropAll();
+        executor.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                clients.add(client);
+                executor.execute(() -> serve(client));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket client) {
+        connections.incrementAndGet();
+        maxConcurrent.accumulateAndGet(active.incrementAndGet(), Math::max);
+        try (client;
+             BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.US_ASCII));
+             OutputStream out = client.getOutputStream()) {
+            reply(out, "220 fake ESMTP");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase();
+                if (command.startsWith("EHLO")) {
+                    reply(out, "250-fake\r\n250 AUTH PLAIN");
+                } else if (command.equals("AUTH PLAIN")) {
+                    reply(out, "334 ");
+                    in.readLine();
+                    logins.incrementAndGet();
+                    reply(out, "235 2.7.0 Authenticated");
+                } else if (command.startsWith("AUTH PLAIN ")) {
+                    logins.incrementAndGet();
+                    reply(out, "235 2.7.0 Authenticated");
+                } else if (command.startsWith("RCPT TO") && command.contains("REJECT")) {
+                    reply(out, "550 5.1.1 No such user");
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    while ((line = in.readLine()) != null && !line.equals(".")) {
+                        // Message content is not kept
+                    }
+                    messages.incrementAndGet();
+                    reply(out, "250 2.0.0 Queued");
+                } else if (command.equals("QUIT")) {
+                    quits.incrementAndGet();
+                    reply(out, "221 2.0.0 Bye");
+                    return;
+                } else {
+                    reply(out, "250 2.0.0 OK"); // HELO, MAIL, RCPT, RSET, NOOP
+                }
+            }
+        } catch (IOException e) {
+            // Dropped by the client or by dropAll()
+        } finally {
+            active.decrementAndGet();
+            clients.remove(client);
+        }
+    }
+
+    private static void reply(OutputStream out, String response) throws IOException {
+        out.write((response + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+}
@@ -0,0 +1,207 @@
+package com.tokenly.backend.mail;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.entity.OutboxEmail;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledSmtpTransportTest {
+
+    private FakeSmtpServer server;
+    private AppProperties appProperties;
+    private PooledSmtpTransport transport;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeSmtpServer();
+        appProperties = new AppProperties();
+        transport = transport();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        transport.shutdown();
+        server.close();
+    }
+
+    @Test
+    void sendAll_ShouldSendBatchOverOneConnection() {
+        // Act
+        List<Exception> errors = transport.sendAll(emails(50));
+
+        // Assert
+        assertTrue(errors.stream().allMatch(error -> error == null));
+        assertEquals(50, server.messages.get());
+        assertEquals(1, server.connections.get());
+        assertEquals(1, server.logins.get());
+    }
+
+    @Test
+    void send_Repeatedly_ShouldReuseConnection() {
+        // Act
+        for (OutboxEmail email : emails(10)) {
+            transport.send(email);
+        }
+
+        // Assert
+        assertEquals(10, server.messages.get());
+        assertEquals(1, server.connections.get());
+        assertEquals(1, transport.idleConnections());
+    }
+
+    @Test
+    void sendAll_MessageLimitReached_ShouldRollOverToNewConnection() {
+        // Arrange
+        appProperties.getSmtpPool().setMaxMessagesPerConnection(10);
+
+        // Act
+        transport.sendAll(emails(25));
+
+        // Assert
+        assertEquals(25, server.messages.get());
+        assertEquals(3, server.connections.get());
+    }
+
+    @Test
+    void sendAll_RejectedRecipient_ShouldFailOnlyThatEmail() {
+        // Arrange
+        List<OutboxEmail> emails = emails(3);
+        emails.get(1).setRecipient("reject@test.com");
+
+        // Act
+        List<Exception> errors = transport.sendAll(emails);
+
+        // Assert
+        assertNull(errors.get(0));
+        assertNotNull(errors.get(1));
+        assertNull(errors.get(2));
+        assertEquals(2, server.messages.get());
+        assertEquals(1, server.connections.get());
+    }
+
+    @Test
+    void sendAll_ServerDroppedIdleConnection_ShouldReconnect() throws Exception {
+        // Arrange
+        appProperties.getSmtpPool().setValidateAfterIdleMs(0);
+        transport.sendAll(emails(1));
+        server.dropAll();
+
+        // Act
+        List<Exception> errors = transport.sendAll(emails(1));
+
+        // Assert
+        assertNull(errors.get(0));
+        assertEquals(2, server.messages.get());
+        assertEquals(2, server.connections.get());
+    }
+
+    @Test
+    void evictIdle_ShouldCloseConnectionsPastIdleTimeout() throws InterruptedException {
+        // Arrange
+        transport.sendAll(emails(1));
+        appProperties.getSmtpPool().setIdleTimeoutMs(1);
+        Thread.sleep(5);
+
+        // Act
+        transport.evictIdle();
+
+        // Assert
+        assertEquals(0, transport.idleConnections());
+        assertEquals(1, server.quits.get());
+    }
+
+    @Test
+    void sendAll_Concurrent_ShouldRespectConnectionLimit() throws Exception {
+        // Arrange
+        appProperties.getSmtpPool().setMaxConnections(2);
+        transport.shutdown();
+        transport = transport();
+        ExecutorService senders = Executors.newFixedThreadPool(6);
+
+        // Act
+        List<Future<List<Exception>>> results = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            results.add(senders.submit(() -> transport.sendAll(emails(10))));
+        }
+        for (Future<List<Exception>> result : results) {
+            assertTrue(result.get().stream().allMatch(error -> error == null));
+        }
+        senders.shutdown();
+
+        // Assert
+        assertEquals(120, server.messages.get());
+        assertTrue(server.maxConcurrent.get() <= 2, "concurrent connections: " + server.maxConcurrent.get());
+        assertTrue(server.connections.get() <= 2);
+    }
+
+    @Test
+    void throughput_PooledVersusConnectionPerMessage() {
+        // Arrange
+        int count = 200;
+        appProperties.getSmtpPool().setMaxMessagesPerConnection(1); // What a plain JavaMailSender does
+        List<OutboxEmail> emails = emails(count);
+
+        // Act
+        long start = System.nanoTime();
+        emails.forEach(transport::send);
+        double unpooledSeconds = (System.nanoTime() - start) / 1e9;
+        int unpooledConnections = server.connections.get();
+
+        appProperties.getSmtpPool().setMaxMessagesPerConnection(100);
+        start = System.nanoTime();
+        emails.forEach(transport::send);
+        double pooledSeconds = (System.nanoTime() - start) / 1e9;
+
+        // Assert
+        String throughput = String.format("SMTP throughput over %d messages: connection per message %.0f msg/s, pooled %.0f msg/s",
+                count, count / unpooledSeconds, count / pooledSeconds);
+        assertEquals(count, unpooledConnections, throughput);
+        assertEquals(count + 2, server.connections.get(), throughput);
+        assertEquals(2 * count, server.messages.get(), throughput);
+    }
+
+    private PooledSmtpTransport transport() {
+        MailProperties mailProperties = new MailProperties();
+        mailProperties.setHost("127.0.0.1");
+        mailProperties.setPort(server.port());
+        mailProperties.setUsername("user");
+        mailProperties.setPassword("secret");
+        mailProperties.getProperties().put("mail.smtp.auth", "true");
+        mailProperties.getProperties().put("mail.smtp.connectiontimeout", "2000");
+        mailProperties.getProperties().put("mail.smtp.timeout", "2000");
+
+        PooledSmtpTransport pooled = new PooledSmtpTransport(mailProperties, appProperties, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(pooled, "fromEmail", "noreply@tokenly.test");
+        pooled.init();
+        return pooled;
+    }
+
+    private static List<OutboxEmail> emails(int count) {
+        return new ArrayList<>(IntStream.range(0, count)
+                .mapToObj(i -> {
+                    OutboxEmail email = new OutboxEmail();
+                    email.setId(UUID.randomUUID());
+                    email.setRecipient("user" + i + "@test.com");
+                    email.setSenderName("Test App");
+                    email.setSubject("Verify your email");
+                    email.setHtmlBody("<p>Hello " + i + "</p>");
+                    return email;
+                })
+                .toList());
+    }
+}
@@ -4,7 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tokenly.backend.entity.Application;
 import com.tokenly.backend.entity.AuthConfig;
 import com.tokenly.backend.entity.User;
-import com.tokenly.backend.repository.AuthConfigRepository;
+import com.tokenly.backend.security.policy.AuthPolicy;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,9 +25,6 @@ class JwtServiceTest {
     @Mock
     private JwtProperties jwtProperties;
 
-    @Mock
-    private AuthConfigRepository authConfigRepository;
-
     @Mock
     private ObjectMapper objectMapper;
 
@@ -54,7 +51,7 @@ class JwtServiceTest {
     @Test
     void generateAccessToken_ShouldReturnValidToken() {
         // Act
-        String token = jwtService.generateAccessToken(testUser, testApplication);
+        String token = jwtService.generateAccessToken(testUser, policy(), null);
 
         // Assert
         assertNotNull(token);
@@ -66,10 +63,24 @@ class JwtServiceTest {
         assertEquals(testUser.getEmail(), claimsJws.getBody().get("email"));
     }
 
+    @Test
+    void generateAccessToken_WithSession_ShouldCarrySidClaim() {
+        // Arrange
+        UUID sessionId = UUID.randomUUID();
+
+        // Act
+        String withSession = jwtService.generateAccessToken(testUser, policy(), sessionId);
+        String withoutSession = jwtService.generateAccessToken(testUser, policy(), null);
+
+        // Assert
+        assertEquals(sessionId.toString(), jwtService.validateToken(withSession).getBody().get("sid"));
+        assertNull(jwtService.validateToken(withoutSession).getBody().get("sid"));
+    }
+
     @Test
     void extractUserId_ShouldReturnCorrectId() {
         // Arrange
-        String token = jwtService.generateAccessToken(testUser, testApplication);
+        String token = jwtService.generateAccessToken(testUser, policy(), null);
 
         // Act
         UUID extractedId = jwtService.extractUserId(token);
@@ -84,7 +95,7 @@ class JwtServiceTest {
     @Test
     void extractApplicationId_ShouldReturnCorrectId() {
         // Arrange
-        String token = jwtService.generateAccessToken(testUser, testApplication);
+        String token = jwtService.generateAccessToken(testUser, policy(), null);
 
         // Act
         // The method in JwtService uses: validateToken(token).getBody().get("appId", String.class) -> UUID.fromString
@@ -103,4 +114,8 @@ class JwtServiceTest {
         assertNotNull(refreshToken);
         assertDoesNotThrow(() -> UUID.fromString(refreshToken));
     }
+
+    private AuthPolicy policy() {
+        return AuthPolicy.of(testApplication.getId(), testApplication.getAuthConfig(), null);
+    }
 }
@@ -0,0 +1,89 @@
+package com.tokenly.backend.security;
+
+import com.tokenly.backend.entity.AuthConfig;
+import com.tokenly.backend.enums.PasswordHashAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordEncoderFactoryTest {
+
+    @Mock
+    private PasswordHashingExecutor hashingExecutor;
+
+    private PasswordEncoderFactory encoderFactory;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(hashingExecutor.offload(any())).then(returnsFirstArg());
+        encoderFactory = new PasswordEncoderFactory(hashingExecutor);
+    }
+
+    @Test
+    void getEncoder_SameParams_ShouldReuseEncoder() {
+        // Act
+        PasswordEncoder first = encoderFactory.getEncoder(PasswordHashParams.bcrypt(10));
+        PasswordEncoder second = encoderFactory.getEncoder(PasswordHashParams.bcrypt(10));
+        PasswordEncoder other = encoderFactory.getEncoder(PasswordHashParams.bcrypt(11));
+        first.encode("secret");
+        second.encode("secret");
+
+        // Assert
+        assertSame(first, second);
+        assertNotSame(first, other);
+        verify(hashingExecutor, times(1)).offload(any());
+    }
+
+    @Test
+    void getEncoder_ShouldApplyConfiguredWorkFactor() {
+        // Arrange
+        AuthConfig config = new AuthConfig();
+        config.setPasswordHashAlgorithm(PasswordHashAlgorithm.BCRYPT);
+        config.setBcryptCost(10);
+
+        // Act
+        String hash = encoderFactory.getEncoder(PasswordHashParams.of(config)).encode("secret");
+
+        // Assert
+        assertTrue(hash.startsWith("{bcrypt}$2a$10$"));
+    }
+
+    @Test
+    void paramsOf_ShouldIgnoreFieldsOfOtherAlgorithms() {
+        // Arrange
+        AuthConfig config = new AuthConfig();
+        config.setPasswordHashAlgorithm(PasswordHashAlgorithm.PBKDF2);
+        config.setBcryptCost(14);
+        config.setArgon2MemoryKb(65_536);
+
+        // Act
+        PasswordHashParams params = PasswordHashParams.of(config);
+
+        // Assert
+        assertEquals(PasswordHashParams.pbkdf2(PasswordHashParams.DEFAULT_PBKDF2_ITERATIONS), params);
+        assertEquals(PasswordHashParams.defaults(PasswordHashAlgorithm.PBKDF2), params);
+    }
+
+    @Test
+    void createEncoder_Argon2_ShouldRoundTrip() {
+        // Arrange
+        PasswordEncoder encoder = encoderFactory.createEncoder(PasswordHashParams.argon2(8_192, 1, 1));
+
+        // Act
+        String hash = encoder.encode("secret");
+
+        // Assert
+        assertTrue(hash.startsWith("$argon2id$v=19$m=8192,t=1,p=1$"));
+        assertTrue(encoder.matches("secret", hash));
+        verifyNoInteractions(hashingExecutor);
+    }
+}
@@ -0,0 +1,121 @@
+package com.tokenly.backend.security;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.enums.PasswordHashAlgorithm;
+import com.tokenly.backend.exception.ConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordHashCalibratorTest {
+
+    @Mock
+    private PasswordEncoderFactory encoderFactory;
+
+    private final AppProperties appProperties = new AppProperties();
+
+    private PasswordHashCalibrator calibrator;
+
+    @BeforeEach
+    void setUp() {
+        appProperties.getHashing().setCalibrationSamples(1);
+        calibrator = new PasswordHashCalibrator(encoderFactory, appProperties);
+    }
+
+    @Test
+    void calibrate_ShouldRecommendStrongestWithinTarget() {
+        // Arrange: BCrypt costs 10ms per round above 9, the others are free
+        when(encoderFactory.createEncoder(any())).thenAnswer(invocation -> {
+            PasswordHashParams params = invocation.getArgument(0);
+            long delay = params.algorithm() == PasswordHashAlgorithm.BCRYPT ? (params.cost() - 9) * 10L : 0;
+            return new SleepingEncoder(delay);
+        });
+
+        // Act
+        PasswordHashCalibrator.Calibration calibration = calibrator.calibrate(35, PasswordHashParams.bcrypt(12));
+
+        // Assert
+        assertEquals(PasswordHashParams.bcrypt(12), calibration.recommended().get(PasswordHashAlgorithm.BCRYPT).params());
+        assertEquals(PasswordHashParams.argon2(65_536, 4, 2), calibration.recommended().get(PasswordHashAlgorithm.ARGON2).params());
+        assertEquals(PasswordHashParams.pbkdf2(1_000_000), calibration.recommended().get(PasswordHashAlgorithm.PBKDF2).params());
+        assertEquals(PasswordHashParams.bcrypt(12), calibration.current().params());
+        assertTrue(calibration.current().withinTarget());
+    }
+
+    @Test
+    void calibrate_NothingFits_ShouldStopEarlyAndRecommendCheapest() {
+        // Arrange
+        when(encoderFactory.createEncoder(any())).thenReturn(new SleepingEncoder(30));
+
+        // Act
+        PasswordHashCalibrator.Calibration calibration = calibrator.calibrate(10, PasswordHashParams.bcrypt(12));
+
+        // Assert
+        PasswordHashCalibrator.Measurement bcrypt = calibration.recommended().get(PasswordHashAlgorithm.BCRYPT);
+        assertEquals(PasswordHashParams.bcrypt(10), bcrypt.params());
+        assertFalse(bcrypt.withinTarget());
+        assertEquals(PasswordHashAlgorithm.values().length, calibration.measurements().size());
+    }
+
+    @Test
+    void calibrate_WhileRunning_ShouldConflict() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(encoderFactory.createEncoder(any())).thenReturn(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        });
+        CompletableFuture<PasswordHashCalibrator.Calibration> first =
+                CompletableFuture.supplyAsync(() -> calibrator.calibrate(5_000, PasswordHashParams.bcrypt(12)));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> calibrator.calibrate(5_000, PasswordHashParams.bcrypt(12)));
+        release.countDown();
+        assertNotNull(first.get(5, TimeUnit.SECONDS));
+    }
+
+    private record SleepingEncoder(long delayMs) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash";
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return false;
+        }
+    }
+}
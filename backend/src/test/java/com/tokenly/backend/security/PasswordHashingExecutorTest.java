@@ -0,0 +1,121 @@
+package com.tokenly.backend.security;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private final AppProperties appProperties = new AppProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private PasswordHashingExecutor hashingExecutor;
+
+    @BeforeEach
+    void setUp() {
+        appProperties.getHashing().setThreads(1);
+        appProperties.getHashing().setQueueCapacity(1);
+        appProperties.getHashing().setWaitTimeoutMs(2_000);
+        hashingExecutor = new PasswordHashingExecutor(appProperties, meterRegistry);
+        hashingExecutor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        hashingExecutor.shutdown();
+    }
+
+    @Test
+    void offload_ShouldHashOnPoolThread() {
+        // Arrange
+        AtomicReference<String> hashedOn = new AtomicReference<>();
+        PasswordEncoder encoder = hashingExecutor.offload(new StubEncoder(() -> hashedOn.set(Thread.currentThread().getName())));
+
+        // Act
+        String hash = encoder.encode("secret");
+
+        // Assert
+        assertEquals("hash:secret", hash);
+        assertTrue(encoder.matches("secret", hash));
+        assertTrue(hashedOn.get().startsWith("password-hash-"));
+        assertEquals(1, meterRegistry.get("tokenly.hashing.duration").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("tokenly.hashing.duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void offload_QueueFull_ShouldFailFast() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = hashingExecutor.offload(new StubEncoder(() -> {
+            started.countDown();
+            awaitRelease();
+        }));
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> blocking.encode("first"));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> blocking.encode("second"));
+        waitForQueueDepth(1);
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> blocking.encode("third"));
+        assertEquals(1, meterRegistry.get("tokenly.hashing.rejected").tag("reason", "queue_full").counter().count());
+
+        release.countDown();
+        assertEquals("hash:first", running.get(2, TimeUnit.SECONDS));
+        assertEquals("hash:second", queued.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void offload_WaitTimeout_ShouldReturnServiceUnavailable() {
+        // Arrange
+        appProperties.getHashing().setWaitTimeoutMs(50);
+        PasswordEncoder blocking = hashingExecutor.offload(new StubEncoder(this::awaitRelease));
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> blocking.encode("slow"));
+        assertEquals(1, meterRegistry.get("tokenly.hashing.rejected").tag("reason", "timeout").counter().count());
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (meterRegistry.get("tokenly.hashing.queue.depth").gauge().value() < depth) {
+            assertTrue(System.currentTimeMillis() < deadline, "task never queued");
+            Thread.sleep(5);
+        }
+    }
+
+    private record StubEncoder(Runnable onHash) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            onHash.run();
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            onHash.run();
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.tokenly.backend.security;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.entity.User;
+import com.tokenly.backend.repository.UserRepository;
+import com.tokenly.backend.security.policy.AuthPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordRehasherTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PasswordRehasher rehasher;
+    private User testUser;
+    private AuthPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        rehasher = new PasswordRehasher(userRepository, new AppProperties(), meterRegistry);
+        rehasher.init();
+
+        testUser = new User();
+        testUser.setId(UUID.randomUUID());
+        testUser.setPasswordHash("oldHash");
+
+        policy = AuthPolicy.of(UUID.randomUUID(), null, passwordEncoder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rehasher.shutdown();
+    }
+
+    @Test
+    void rehashIfNeeded_OutdatedHash_ShouldReplaceInBackground() {
+        // Arrange
+        when(passwordEncoder.upgradeEncoding("oldHash")).thenReturn(true);
+        when(passwordEncoder.encode("secret")).thenReturn("newHash");
+        when(userRepository.replacePasswordHash(testUser.getId(), "oldHash", "newHash")).thenReturn(1);
+
+        // Act
+        rehasher.rehashIfNeeded(testUser, "secret", policy);
+
+        // Assert
+        verify(userRepository, timeout(2_000)).replacePasswordHash(testUser.getId(), "oldHash", "newHash");
+        assertEquals("oldHash", testUser.getPasswordHash()); // The caller's entity is left alone
+    }
+
+    @Test
+    void rehashIfNeeded_CurrentHash_ShouldDoNothing() {
+        // Arrange
+        when(passwordEncoder.upgradeEncoding("oldHash")).thenReturn(false);
+
+        // Act
+        rehasher.rehashIfNeeded(testUser, "secret", policy);
+
+        // Assert
+        verify(passwordEncoder, never()).encode(any());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void rehashIfNeeded_PasswordChangedMeanwhile_ShouldCountStale() throws InterruptedException {
+        // Arrange
+        when(passwordEncoder.upgradeEncoding("oldHash")).thenReturn(true);
+        when(passwordEncoder.encode("secret")).thenReturn("newHash");
+        when(userRepository.replacePasswordHash(any(), anyString(), anyString())).thenReturn(0);
+
+        // Act
+        rehasher.rehashIfNeeded(testUser, "secret", policy);
+
+        // Assert
+        assertTrue(awaitCount("stale"));
+    }
+
+    private boolean awaitCount(String result) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (meterRegistry.get("tokenly.hashing.rehash").tag("result", result).counter().count() == 1) {
+                return true;
+            }
+            Thread.sleep(5);
+        }
+        return false;
+    }
+}
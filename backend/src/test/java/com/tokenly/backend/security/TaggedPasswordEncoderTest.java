@@ -0,0 +1,100 @@
+package com.tokenly.backend.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaggedPasswordEncoderTest {
+
+    @Mock
+    private PasswordHashingExecutor hashingExecutor;
+
+    private PasswordEncoderFactory encoderFactory;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(hashingExecutor.offload(any())).then(returnsFirstArg());
+        encoderFactory = new PasswordEncoderFactory(hashingExecutor);
+    }
+
+    @Test
+    void encode_ShouldTagWithSchemeAndVerify() {
+        // Arrange
+        PasswordEncoder bcrypt = encoderFactory.getEncoder(PasswordHashParams.bcrypt(10));
+        PasswordEncoder pbkdf2 = encoderFactory.getEncoder(PasswordHashParams.pbkdf2(100_000));
+
+        // Act
+        String bcryptHash = bcrypt.encode("secret");
+        String pbkdf2Hash = pbkdf2.encode("secret");
+
+        // Assert
+        assertTrue(bcryptHash.startsWith("{bcrypt}$2a$10$"));
+        assertTrue(pbkdf2Hash.startsWith("{pbkdf2:100000}"));
+        assertTrue(bcrypt.matches("secret", bcryptHash));
+        assertFalse(bcrypt.matches("wrong", bcryptHash));
+        assertFalse(bcrypt.upgradeEncoding(bcryptHash));
+        assertFalse(pbkdf2.upgradeEncoding(pbkdf2Hash));
+    }
+
+    @Test
+    void matches_ShouldVerifyHashesOfOtherSchemes() {
+        // Arrange: the application moved from BCrypt to Argon2
+        String oldHash = encoderFactory.getEncoder(PasswordHashParams.bcrypt(10)).encode("secret");
+        PasswordEncoder current = encoderFactory.getEncoder(PasswordHashParams.argon2(8_192, 1, 1));
+
+        // Act & Assert
+        assertTrue(current.matches("secret", oldHash));
+        assertTrue(current.upgradeEncoding(oldHash));
+        assertTrue(current.encode("secret").startsWith("{argon2}$argon2id$v=19$m=8192,t=1,p=1$"));
+    }
+
+    @Test
+    void matches_LegacyUntaggedHashes_ShouldVerifyAndAskForUpgrade() {
+        // Arrange: what PasswordEncoderFactory stored before hashes were tagged
+        PasswordEncoder current = encoderFactory.getEncoder(PasswordHashParams.bcrypt(10));
+        String bcrypt = new BCryptPasswordEncoder(10).encode("secret");
+        String argon2 = new Argon2PasswordEncoder(16, 32, 1, 8_192, 1).encode("secret");
+        String pbkdf2 = Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8().encode("secret");
+
+        // Act & Assert
+        assertTrue(current.matches("secret", bcrypt));
+        assertTrue(current.matches("secret", argon2));
+        assertTrue(current.matches("secret", pbkdf2));
+        assertTrue(current.upgradeEncoding(bcrypt)); // Same cost, but untagged
+        assertTrue(current.upgradeEncoding(argon2));
+        assertTrue(current.upgradeEncoding(pbkdf2));
+    }
+
+    @Test
+    void upgradeEncoding_CostChanged_ShouldAskForUpgrade() {
+        // Arrange
+        String hash = encoderFactory.getEncoder(PasswordHashParams.bcrypt(10)).encode("secret");
+
+        // Act & Assert
+        assertTrue(encoderFactory.getEncoder(PasswordHashParams.bcrypt(11)).upgradeEncoding(hash));
+    }
+
+    @Test
+    void matches_MalformedOrForeignHash_ShouldNotMatch() {
+        // Arrange
+        PasswordEncoder current = encoderFactory.getEncoder(PasswordHashParams.bcrypt(10));
+
+        // Act & Assert
+        assertFalse(current.matches("secret", null));
+        assertFalse(current.matches("secret", "{noop}secret"));
+        assertFalse(current.matches("secret", "{pbkdf2:abc}00ff"));
+        assertFalse(current.upgradeEncoding("{noop}secret"));
+    }
+}
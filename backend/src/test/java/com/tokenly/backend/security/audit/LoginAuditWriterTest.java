@@ -0,0 +1,163 @@
+package com.tokenly.backend.security.audit;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.enums.FailureReason;
+import com.tokenly.backend.enums.LoginAuditOverflow;
+import com.tokenly.backend.enums.LoginStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginAuditWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AppProperties appProperties;
+    private LoginAuditWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        appProperties = new AppProperties();
+        appProperties.getLoginAudit().setBufferCapacity(4);
+        appProperties.getLoginAudit().setBatchSize(3);
+        writer = new LoginAuditWriter(jdbcTemplate, appProperties, meterRegistry);
+        writer.init();
+    }
+
+    @Test
+    void flush_ShouldWriteMultiRowInsertsPerBatch() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            writer.submit(event("user" + i + "@test.com"));
+        }
+
+        // Act
+        writer.flush();
+
+        // Assert
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(2)).update(sql.capture(), args.capture());
+
+        List<String> statements = sql.getAllValues();
+        assertTrue(statements.get(0).startsWith("INSERT INTO login_logs"));
+        assertEquals(3, statements.get(0).split("\\(\\?,").length - 1);
+        assertEquals(1, statements.get(1).split("\\(\\?,").length - 1);
+        assertEquals(30, args.getAllValues().get(0).length);
+        assertEquals("user0@test.com", args.getAllValues().get(0)[5]);
+        assertEquals("FAILED", args.getAllValues().get(0)[8]);
+        assertEquals("INVALID_PASSWORD", args.getAllValues().get(0)[9]);
+        assertEquals(4.0, meterRegistry.get("tokenly.login_audit.written").counter().count());
+    }
+
+    @Test
+    void flush_Empty_ShouldNotTouchDatabase() {
+        // Act
+        writer.flush();
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void submit_BufferFull_ShouldDropAndCount() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            writer.submit(event("user" + i + "@test.com"));
+        }
+
+        // Act
+        writer.submit(event("overflow@test.com"));
+
+        // Assert
+        assertEquals(1.0, dropped("buffer_full"));
+    }
+
+    @Test
+    void submit_BlockPolicy_ShouldWaitForRoom() throws InterruptedException {
+        // Arrange
+        appProperties.getLoginAudit().setOverflow(LoginAuditOverflow.BLOCK);
+        appProperties.getLoginAudit().setBlockTimeoutMs(2_000);
+        for (int i = 0; i < 4; i++) {
+            writer.submit(event("user" + i + "@test.com"));
+        }
+        Thread flusher = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+            }
+            writer.flush();
+        });
+
+        // Act
+        flusher.start();
+        writer.submit(event("waited@test.com"));
+        flusher.join();
+        writer.flush();
+
+        // Assert
+        assertEquals(0.0, dropped("buffer_full"));
+        assertEquals(5.0, meterRegistry.get("tokenly.login_audit.written").counter().count());
+    }
+
+    @Test
+    void flush_WriteFails_ShouldDropBatchAndContinue() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            writer.submit(event("user" + i + "@test.com"));
+        }
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(1);
+
+        // Act
+        writer.flush();
+
+        // Assert
+        assertEquals(3.0, dropped("write_failed"));
+        assertEquals(1.0, meterRegistry.get("tokenly.login_audit.written").counter().count());
+    }
+
+    @Test
+    void flush_OversizedUserAgent_ShouldTruncate() {
+        // Arrange
+        writer.submit(new LoginEvent(Instant.now(), UUID.randomUUID(), UUID.randomUUID(), null,
+                "127.0.0.1", "x".repeat(1_000), LoginStatus.SUCCESS, null));
+
+        // Act
+        writer.flush();
+
+        // Assert
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(anyString(), args.capture());
+        assertEquals(255, ((String) args.getValue()[7]).length());
+        assertNull(args.getValue()[9]);
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.get("tokenly.login_audit.dropped").tag("reason", reason).counter().count();
+    }
+
+    private static LoginEvent event(String email) {
+        return new LoginEvent(Instant.now(), UUID.randomUUID(), null, email, "127.0.0.1", "test",
+                LoginStatus.FAILED, FailureReason.INVALID_PASSWORD);
+    }
+}
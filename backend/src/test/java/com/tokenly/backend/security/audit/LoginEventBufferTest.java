@@ -0,0 +1,109 @@
+package com.tokenly.backend.security.audit;
+
+import com.tokenly.backend.enums.LoginStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginEventBufferTest {
+
+    @Test
+    void constructor_ShouldRoundCapacityToPowerOfTwo() {
+        assertEquals(2, new LoginEventBuffer(1).capacity());
+        assertEquals(8, new LoginEventBuffer(8).capacity());
+        assertEquals(16, new LoginEventBuffer(9).capacity());
+    }
+
+    @Test
+    void offer_Full_ShouldRejectUntilDrained() {
+        // Arrange
+        LoginEventBuffer buffer = new LoginEventBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(event("user" + i)));
+        }
+
+        // Act & Assert
+        assertFalse(buffer.offer(event("overflow")));
+        assertEquals("user0", buffer.poll().emailAttempted());
+        assertTrue(buffer.offer(event("user4")));
+        assertEquals(4, buffer.size());
+    }
+
+    @Test
+    void drainTo_ShouldKeepOrderAcrossLaps() {
+        // Arrange
+        LoginEventBuffer buffer = new LoginEventBuffer(4);
+        List<String> drained = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            buffer.offer(event("user" + i));
+            if (i % 3 == 2) {
+                List<LoginEvent> batch = new ArrayList<>();
+                buffer.drainTo(batch, 10);
+                batch.forEach(e -> drained.add(e.emailAttempted()));
+            }
+        }
+        List<LoginEvent> rest = new ArrayList<>();
+        buffer.drainTo(rest, 10);
+        rest.forEach(e -> drained.add(e.emailAttempted()));
+
+        // Assert
+        assertEquals(List.of("user0", "user1", "user2", "user3", "user4", "user5", "user6", "user7", "user8", "user9"), drained);
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void offer_ConcurrentProducers_ShouldLoseNothing() throws InterruptedException {
+        // Arrange
+        LoginEventBuffer buffer = new LoginEventBuffer(1024);
+        int producers = 8;
+        int perProducer = 5_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<String> seen = new HashSet<>();
+
+        // Act
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(event(producer + ":" + i))) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (seen.size() < producers * perProducer && System.currentTimeMillis() < deadline) {
+            LoginEvent event = buffer.poll();
+            if (event != null) {
+                assertTrue(seen.add(event.emailAttempted()));
+            }
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(producers * perProducer, seen.size());
+        assertEquals(0, buffer.size());
+    }
+
+    private static LoginEvent event(String email) {
+        return new LoginEvent(Instant.now(), UUID.randomUUID(), null, email, "127.0.0.1", "test", LoginStatus.FAILED, null);
+    }
+}
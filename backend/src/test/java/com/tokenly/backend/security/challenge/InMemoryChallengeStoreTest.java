@@ -0,0 +1,141 @@
+package com.tokenly.backend.security.challenge;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.security.challenge.ChallengeStore.OtpVerification;
+import com.tokenly.backend.security.util.TokenHashUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryChallengeStoreTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final String EMAIL = "user@test.com";
+
+    private AppProperties appProperties;
+    private InMemoryChallengeStore store;
+    private UUID appId;
+
+    @BeforeEach
+    void setUp() {
+        appProperties = new AppProperties();
+        appProperties.getChallenges().setMaxOtpAttempts(3);
+        store = new InMemoryChallengeStore(new TokenHashUtil(), appProperties);
+        appId = UUID.randomUUID();
+    }
+
+    @Test
+    void verifyOtp_CorrectCode_ShouldSucceedOnce() {
+        // Arrange
+        store.issueOtp(appId, EMAIL, "123456", TTL);
+
+        // Act & Assert
+        assertEquals(OtpVerification.VERIFIED, store.verifyOtp(appId, EMAIL, "123456"));
+        assertEquals(OtpVerification.MISSING, store.verifyOtp(appId, EMAIL, "123456"));
+    }
+
+    @Test
+    void verifyOtp_TooManyWrongCodes_ShouldDiscardChallenge() {
+        // Arrange
+        store.issueOtp(appId, EMAIL, "123456", TTL);
+
+        // Act & Assert
+        assertEquals(OtpVerification.INVALID, store.verifyOtp(appId, EMAIL, "000000"));
+        assertEquals(OtpVerification.INVALID, store.verifyOtp(appId, EMAIL, "000001"));
+        assertEquals(OtpVerification.EXHAUSTED, store.verifyOtp(appId, EMAIL, "000002"));
+        assertEquals(OtpVerification.MISSING, store.verifyOtp(appId, EMAIL, "123456"));
+    }
+
+    @Test
+    void issueOtp_Reissued_ShouldReplaceCodeAndResetAttempts() {
+        // Arrange
+        store.issueOtp(appId, EMAIL, "123456", TTL);
+        store.verifyOtp(appId, EMAIL, "000000");
+        store.verifyOtp(appId, EMAIL, "000001");
+
+        // Act
+        store.issueOtp(appId, EMAIL, "654321", TTL);
+
+        // Assert
+        assertEquals(OtpVerification.INVALID, store.verifyOtp(appId, EMAIL, "123456"));
+        assertEquals(OtpVerification.VERIFIED, store.verifyOtp(appId, EMAIL, "654321"));
+    }
+
+    @Test
+    void verifyOtp_OtherApplication_ShouldBeMissing() {
+        // Arrange
+        store.issueOtp(appId, EMAIL, "123456", TTL);
+
+        // Act & Assert
+        assertEquals(OtpVerification.MISSING, store.verifyOtp(UUID.randomUUID(), EMAIL, "123456"));
+    }
+
+    @Test
+    void verifyOtp_Expired_ShouldBeMissing() throws InterruptedException {
+        // Arrange
+        store.issueOtp(appId, EMAIL, "123456", Duration.ofMillis(1));
+        Thread.sleep(5);
+
+        // Act & Assert
+        assertEquals(OtpVerification.MISSING, store.verifyOtp(appId, EMAIL, "123456"));
+    }
+
+    @Test
+    void consumeMagicLink_ShouldReturnEmailOnce() {
+        // Arrange
+        store.issueMagicLink(appId, "token-1", EMAIL, TTL);
+
+        // Act & Assert
+        assertEquals(Optional.of(EMAIL), store.consumeMagicLink(appId, "token-1"));
+        assertEquals(Optional.empty(), store.consumeMagicLink(appId, "token-1"));
+        assertEquals(Optional.empty(), store.consumeMagicLink(appId, "unknown"));
+    }
+
+    @Test
+    void consumeMagicLink_Concurrent_ShouldSucceedOnce() throws Exception {
+        // Arrange
+        store.issueMagicLink(appId, "token-1", EMAIL, TTL);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<Optional<String>>> results = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            results.add(pool.submit(() -> store.consumeMagicLink(appId, "token-1")));
+        }
+        int consumed = 0;
+        for (Future<Optional<String>> result : results) {
+            consumed += result.get().isPresent() ? 1 : 0;
+        }
+        pool.shutdown();
+
+        // Assert
+        assertEquals(1, consumed);
+    }
+
+    @Test
+    void issue_BeyondCapacity_ShouldEvictOldest() {
+        // Arrange
+        appProperties.getChallenges().setMemoryMaxEntries(2);
+
+        // Act
+        store.issueOtp(appId, "a@test.com", "111111", TTL);
+        store.issueOtp(appId, "b@test.com", "222222", TTL);
+        store.issueMagicLink(appId, "token-1", "c@test.com", TTL);
+
+        // Assert
+        assertEquals(2, store.size());
+        assertEquals(OtpVerification.MISSING, store.verifyOtp(appId, "a@test.com", "111111"));
+        assertEquals(OtpVerification.VERIFIED, store.verifyOtp(appId, "b@test.com", "222222"));
+        assertEquals(Optional.of("c@test.com"), store.consumeMagicLink(appId, "token-1"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.tokenly.backend.security.filter;
+
+import com.tokenly.backend.security.session.SessionActivityTracker;
+import com.tokenly.backend.security.token.AccessTokenVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GatewayAuthFilterTest {
+
+    @Mock
+    private AccessTokenVerifier tokenVerifier;
+
+    @Mock
+    private SessionActivityTracker sessionActivityTracker;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private GatewayAuthFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new GatewayAuthFilter(tokenVerifier, sessionActivityTracker, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void validToken_ShouldReturn200WithIdentityHeaders() throws Exception {
+        // Arrange
+        Claims claims = Jwts.claims();
+        claims.setSubject("user-1");
+        claims.put("appId", "app-1");
+        claims.put("scope", List.of("read", "write"));
+        when(tokenVerifier.tryVerify("good")).thenReturn(Optional.of(claims));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request("Bearer good"), response, filterChain);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals("user-1", response.getHeader(GatewayAuthFilter.SUBJECT_HEADER));
+        assertEquals("app-1", response.getHeader(GatewayAuthFilter.APPLICATION_HEADER));
+        assertEquals("read write", response.getHeader(GatewayAuthFilter.SCOPES_HEADER));
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void invalidToken_ShouldReturn401() throws Exception {
+        // Arrange
+        when(tokenVerifier.tryVerify("bad")).thenReturn(Optional.empty());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request("Bearer bad"), response, filterChain);
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertNull(response.getHeader(GatewayAuthFilter.SUBJECT_HEADER));
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void otherPaths_ShouldPassThrough() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auth/profile");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(any(), any());
+        verifyNoInteractions(tokenVerifier);
+    }
+
+    private MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", GatewayAuthFilter.VERIFY_PATH);
+        request.addHeader("Authorization", authorization);
+        return request;
+    }
+}
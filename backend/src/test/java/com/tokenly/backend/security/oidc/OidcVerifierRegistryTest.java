@@ -0,0 +1,63 @@
+package com.tokenly.backend.security.oidc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OidcVerifierRegistryTest {
+
+    @Mock
+    private OidcProvider provider;
+
+    private OidcVerifierRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        when(provider.name()).thenReturn("google");
+        registry = new OidcVerifierRegistry(List.of(provider));
+    }
+
+    @Test
+    void verifier_SameAudience_ShouldBuildOnce() {
+        // Arrange
+        OidcVerifier verifier = idToken -> new OidcIdentity("sub", "user@example.com", true);
+        when(provider.createVerifier("client-1")).thenReturn(verifier);
+
+        // Act
+        OidcVerifier first = registry.verifier("google", "client-1");
+        OidcVerifier second = registry.verifier("google", " client-1 ");
+
+        // Assert
+        assertSame(verifier, first);
+        assertSame(first, second);
+        verify(provider, times(1)).createVerifier(anyString());
+    }
+
+    @Test
+    void verifier_DifferentAudiences_ShouldBuildEach() {
+        // Arrange
+        when(provider.createVerifier(anyString())).thenAnswer(inv -> mock(OidcVerifier.class));
+
+        // Act
+        OidcVerifier first = registry.verifier("google", "client-1");
+        OidcVerifier second = registry.verifier("google", "client-2");
+
+        // Assert
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void verifier_UnknownProvider_ShouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> registry.verifier("github", "client-1"));
+    }
+}
@@ -0,0 +1,158 @@
+package com.tokenly.backend.security.policy;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.entity.Application;
+import com.tokenly.backend.entity.AuthConfig;
+import com.tokenly.backend.enums.AuthMode;
+import com.tokenly.backend.enums.LoginMethod;
+import com.tokenly.backend.enums.PasswordHashAlgorithm;
+import com.tokenly.backend.repository.AuthConfigRepository;
+import com.tokenly.backend.security.PasswordEncoderFactory;
+import com.tokenly.backend.security.PasswordHashingExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthPolicyCacheTest {
+
+    @Mock
+    private AuthConfigRepository authConfigRepository;
+
+    @Mock
+    private PasswordHashingExecutor hashingExecutor;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private final AppProperties appProperties = new AppProperties();
+
+    private AuthPolicyCache cache;
+    private Application testApplication;
+    private AuthConfig testConfig;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(hashingExecutor.offload(any())).then(returnsFirstArg());
+        cache = new AuthPolicyCache(authConfigRepository, new PasswordEncoderFactory(hashingExecutor), redisTemplate,
+                listenerContainer, appProperties);
+
+        testApplication = new Application();
+        testApplication.setId(UUID.randomUUID());
+
+        testConfig = new AuthConfig();
+        testConfig.setAuthMode(AuthMode.SESSION);
+        testConfig.setLoginMethod(LoginMethod.PASSWORD);
+        testConfig.setPasswordHashAlgorithm(PasswordHashAlgorithm.PBKDF2);
+        testConfig.setAccessTokenTtlMinutes(15);
+        testConfig.setRefreshGraceSeconds(10);
+        testConfig.setEmailVerificationRequired(true);
+        testConfig.setJwtCustomClaims(" status, ,plan ");
+        testConfig.setUpdatedAt(Instant.ofEpochMilli(1234));
+    }
+
+    @Test
+    void get_ShouldSnapshotConfigOnce() {
+        // Arrange
+        when(authConfigRepository.findByApplication(testApplication)).thenReturn(Optional.of(testConfig));
+
+        // Act
+        AuthPolicy first = cache.get(testApplication);
+        AuthPolicy second = cache.get(testApplication);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1234, first.getVersion());
+        assertEquals(AuthMode.SESSION, first.getAuthMode());
+        assertEquals(15, first.getAccessTokenTtlMinutes());
+        assertEquals(AuthPolicy.DEFAULT_REFRESH_TTL_MINUTES, first.getRefreshTokenTtlMinutes());
+        assertEquals(Duration.ofSeconds(10), first.getRefreshGrace());
+        assertEquals(List.of("status", "plan"), first.getCustomClaims());
+        assertTrue(first.isEmailVerificationRequired());
+        assertTrue(first.getPasswordEncoder().matches("secret", first.getPasswordEncoder().encode("secret")));
+        verify(authConfigRepository, times(1)).findByApplication(testApplication);
+    }
+
+    @Test
+    void get_WithoutConfig_ShouldFallBackToDefaults() {
+        // Arrange
+        when(authConfigRepository.findByApplication(testApplication)).thenReturn(Optional.empty());
+
+        // Act
+        AuthPolicy policy = cache.get(testApplication);
+
+        // Assert
+        assertFalse(policy.isConfigured());
+        assertEquals(LoginMethod.PASSWORD, policy.getLoginMethod());
+        assertEquals(AuthPolicy.DEFAULT_ACCESS_TTL_MINUTES, policy.getAccessTokenTtlMinutes());
+        assertEquals(Duration.ZERO, policy.getRefreshGrace());
+        assertNotNull(policy.getPasswordEncoder());
+    }
+
+    @Test
+    void invalidate_ShouldReloadAndNotifyOtherNodes() {
+        // Arrange
+        when(authConfigRepository.findByApplication(testApplication)).thenReturn(Optional.of(testConfig));
+        cache.get(testApplication);
+        testConfig.setAccessTokenTtlMinutes(5);
+
+        // Act
+        cache.invalidate(testApplication.getId());
+        AuthPolicy reloaded = cache.get(testApplication);
+
+        // Assert
+        assertEquals(5, reloaded.getAccessTokenTtlMinutes());
+        verify(redisTemplate).convertAndSend(AuthPolicyCache.CHANNEL, testApplication.getId().toString());
+        verify(authConfigRepository, times(2)).findByApplication(testApplication);
+    }
+
+    @Test
+    void onMessage_ShouldEvictPolicy() {
+        // Arrange
+        when(authConfigRepository.findByApplication(testApplication)).thenReturn(Optional.of(testConfig));
+        cache.get(testApplication);
+        byte[] body = testApplication.getId().toString().getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        cache.onMessage(new DefaultMessage(AuthPolicyCache.CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+        cache.get(testApplication);
+
+        // Assert
+        verify(authConfigRepository, times(2)).findByApplication(testApplication);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void get_AfterTtl_ShouldReload() {
+        // Arrange
+        appProperties.getAuth().setPolicyCacheTtlMs(0);
+        when(authConfigRepository.findByApplication(testApplication)).thenReturn(Optional.of(testConfig));
+
+        // Act
+        cache.get(testApplication);
+        cache.get(testApplication);
+
+        // Assert
+        verify(authConfigRepository, times(2)).findByApplication(testApplication);
+    }
+}
@@ -0,0 +1,74 @@
+package com.tokenly.backend.security.rate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FailedLoginCounterTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @InjectMocks
+    private FailedLoginCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void record_ShouldIncrementPerIpWithWindowExpiry() {
+        // Act
+        counter.record("10.0.0.1", Duration.ofMinutes(15));
+
+        // Assert
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("tokenly:login:failed:10.0.0.1")), eq("900"));
+    }
+
+    @Test
+    void count_ShouldReadCurrentWindow() {
+        // Arrange
+        when(valueOperations.get("tokenly:login:failed:10.0.0.1")).thenReturn("5");
+
+        // Act & Assert
+        assertEquals(5, counter.count("10.0.0.1"));
+        assertEquals(0, counter.count("10.0.0.2"));
+    }
+
+    @Test
+    void count_RedisDown_ShouldNotThrottle() {
+        // Arrange
+        when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        // Act & Assert
+        assertEquals(0, counter.count("10.0.0.1"));
+    }
+
+    @Test
+    void record_WithoutIp_ShouldSkipRedis() {
+        // Act
+        counter.record(null, Duration.ofMinutes(15));
+
+        // Assert
+        verifyNoInteractions(redisTemplate);
+    }
+}
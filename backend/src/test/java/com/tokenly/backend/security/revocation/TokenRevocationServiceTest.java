@@ -0,0 +1,94 @@
+package com.tokenly.backend.security.revocation;
+
+import com.tokenly.backend.config.AppProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private AppProperties appProperties;
+
+    @InjectMocks
+    private TokenRevocationService revocationService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        lenient().when(appProperties.getRevocation()).thenReturn(new AppProperties.Revocation());
+    }
+
+    @Test
+    void isRevoked_UnknownJti_ShouldAnswerWithoutRedis() {
+        boolean revoked = revocationService.isRevoked(UUID.randomUUID().toString(), "subject", Instant.now());
+
+        assertFalse(revoked);
+        verify(zSetOperations, never()).score(anyString(), any());
+    }
+
+    @Test
+    void revokeToken_ShouldDenylistAndPublish() {
+        String jti = UUID.randomUUID().toString();
+
+        revocationService.revokeToken(jti, Instant.now().plusSeconds(600));
+
+        assertTrue(revocationService.isRevoked(jti, "subject", Instant.now()));
+        verify(zSetOperations).add(eq("tokenly:revoked:jti"), eq(jti), anyDouble());
+        verify(redisTemplate).convertAndSend(TokenRevocationService.CHANNEL, "jti:" + jti);
+    }
+
+    @Test
+    void revokeAllForSubject_ShouldRejectOlderTokensOnly() {
+        revocationService.revokeAllForSubject("user-1");
+
+        assertTrue(revocationService.isRevoked(null, "user-1", Instant.now().minusSeconds(60)));
+        assertFalse(revocationService.isRevoked(null, "user-1", Instant.now().plusSeconds(1)));
+        assertFalse(revocationService.isRevoked(null, "user-2", Instant.now().minusSeconds(60)));
+    }
+
+    @Test
+    void onMessage_ShouldApplyRevocationsFromOtherNodes() {
+        String jti = UUID.randomUUID().toString();
+        long epoch = Instant.now().getEpochSecond();
+
+        revocationService.onMessage(message("jti:" + jti), null);
+        revocationService.onMessage(message("sub:user-1:" + epoch), null);
+
+        assertTrue(revocationService.isRevoked(jti, "user-2", Instant.now()));
+        assertTrue(revocationService.isRevoked(null, "user-1", Instant.ofEpochSecond(epoch - 1)));
+        verifyNoInteractions(zSetOperations);
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage(
+                TokenRevocationService.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+}
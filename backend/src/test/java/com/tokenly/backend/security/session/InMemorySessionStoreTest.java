@@ -0,0 +1,79 @@
+package com.tokenly.backend.security.session;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.security.util.TokenHashUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemorySessionStoreTest extends SessionStoreContractTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final AppProperties appProperties = new AppProperties();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    protected SessionStore createStore() {
+        appProperties.getSessions().setSnapshotPath(tempDir.resolve("sessions.json").toString());
+        return newStore();
+    }
+
+    private InMemorySessionStore newStore() {
+        InMemorySessionStore store = new InMemorySessionStore(new TokenHashUtil(), objectMapper, appProperties);
+        store.load();
+        return store;
+    }
+
+    @Test
+    void snapshot_ShouldRestoreSessionsAndFamiliesOnRestart() {
+        // Arrange
+        SessionState created = create("hash-1", Instant.now().plus(1, ChronoUnit.HOURS));
+        SessionState next = rotate(created.getId(), "hash-1", "hash-2", Duration.ZERO).next();
+
+        // Act
+        ((InMemorySessionStore) store).snapshot();
+        store = newStore();
+
+        // Assert
+        assertTrue(Files.exists(tempDir.resolve("sessions.json")));
+        assertEquals(SessionStore.RotationOutcome.ROTATED, rotate(next.getId(), "hash-2", "hash-3", Duration.ZERO).outcome());
+        assertEquals(SessionStore.RotationOutcome.REUSED, rotate(created.getId(), "hash-1", "hash-4", Duration.ZERO).outcome());
+    }
+
+    @Test
+    void snapshot_WithoutPath_ShouldWriteNothing() {
+        // Arrange
+        appProperties.getSessions().setSnapshotPath("");
+        create("hash-1", Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // Act
+        ((InMemorySessionStore) store).snapshot();
+
+        // Assert
+        assertFalse(Files.exists(tempDir.resolve("sessions.json")));
+    }
+
+    @Test
+    void purgeExpired_ShouldDropSessionsPastRetention() {
+        // Arrange
+        SessionState expired = create("hash-1", Instant.now().minus(30, ChronoUnit.DAYS));
+        SessionState live = create("hash-2", Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // Act
+        store.purgeExpired();
+
+        // Assert
+        assertFalse(store.revoke(expired.getId(), Instant.now()));
+        assertTrue(store.revoke(live.getId(), Instant.now()));
+    }
+}
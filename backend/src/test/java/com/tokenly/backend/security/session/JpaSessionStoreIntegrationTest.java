@@ -0,0 +1,66 @@
+package com.tokenly.backend.security.session;
+
+import com.tokenly.backend.entity.Application;
+import com.tokenly.backend.entity.Client;
+import com.tokenly.backend.entity.User;
+import com.tokenly.backend.enums.ApplicationEnvironment;
+import com.tokenly.backend.enums.UserStatus;
+import com.tokenly.backend.repository.ApplicationRepository;
+import com.tokenly.backend.repository.ClientRepository;
+import com.tokenly.backend.repository.UserRepository;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+/**
+ * Runs the store contract against the configured MySQL and Redis.
+ * Set TOKENLY_TEST_INTEGRATION=true, with both reachable, to enable.
+ */
+@SpringBootTest(properties = "app.sessions.store=hybrid")
+@EnabledIfEnvironmentVariable(named = "TOKENLY_TEST_INTEGRATION", matches = "true")
+class JpaSessionStoreIntegrationTest extends SessionStoreContractTest {
+
+    @Autowired
+    private JpaSessionStore jpaSessionStore;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Override
+    protected SessionStore createStore() {
+        return jpaSessionStore;
+    }
+
+    @Override
+    protected UUID createApplication() {
+        Client client = new Client();
+        client.setEmail("client-" + UUID.randomUUID() + "@test.com");
+        client.setPasswordHash("password");
+        client.setCompanyName("Test Client");
+        clientRepository.save(client);
+
+        Application application = new Application();
+        application.setAppName("Test App");
+        application.setClient(client);
+        application.setEnvironment(ApplicationEnvironment.DEV);
+        return applicationRepository.save(application).getId();
+    }
+
+    @Override
+    protected UUID createUser(UUID applicationId) {
+        User user = new User();
+        user.setEmail("user@test.com");
+        user.setPasswordHash("password");
+        user.setApplication(applicationRepository.getReferenceById(applicationId));
+        user.setStatus(UserStatus.ACTIVE);
+        return userRepository.save(user).getId();
+    }
+}
@@ -0,0 +1,280 @@
+package com.tokenly.backend.security.session;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tokenly.backend.entity.Application;
+import com.tokenly.backend.entity.Session;
+import com.tokenly.backend.entity.User;
+import com.tokenly.backend.repository.ApplicationRepository;
+import com.tokenly.backend.repository.SessionRepository;
+import com.tokenly.backend.repository.UserRepository;
+import com.tokenly.backend.security.util.TokenHashUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JpaSessionStoreTest {
+
+    @Mock
+    private SessionRepository sessionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private TokenHashUtil tokenHashUtil = new TokenHashUtil();
+
+    @Mock
+    private TokenFamilyRegistry tokenFamilyRegistry;
+
+    @Mock
+    private SessionPurger sessionPurger;
+
+    @InjectMocks
+    private JpaSessionStore store;
+
+    private User testUser;
+    private Application testApplication;
+    private Session testSession;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId(UUID.randomUUID());
+        testUser.setEmail("user@test.com");
+
+        testApplication = new Application();
+        testApplication.setId(UUID.randomUUID());
+
+        testSession = new Session();
+        testSession.setId(UUID.randomUUID());
+        testSession.setUser(testUser);
+        testSession.setApplication(testApplication);
+        testSession.setRefreshTokenHash("hashedToken");
+        testSession.setTokenFamily(UUID.randomUUID());
+        testSession.setRevoked(false);
+        testSession.setExpiresAt(Instant.now().plusSeconds(3600));
+
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        lenient().when(userRepository.getReferenceById(testUser.getId())).thenReturn(testUser);
+        lenient().when(applicationRepository.getReferenceById(testApplication.getId())).thenReturn(testApplication);
+    }
+
+    @Test
+    void create_ShouldSaveAndCache() {
+        // Arrange
+        when(sessionRepository.save(any(Session.class))).thenReturn(testSession);
+
+        // Act
+        SessionStore.Created created = store.create(SessionState.of(testSession, testUser).toBuilder().id(null).build(), 0);
+
+        // Assert
+        assertEquals(testSession.getId(), created.session().getId());
+        assertTrue(created.evicted().isEmpty());
+        verify(sessionRepository).save(argThat(session -> session.getUser() == testUser && session.getId() == null));
+        verify(valueOperations).set(eq("tokenly:session:" + testApplication.getId() + ":" + testSession.getId()),
+                anyString(), any(Duration.class));
+    }
+
+    @Test
+    void create_OverSessionLimit_ShouldRevokeLeastRecentlyUsed() {
+        // Arrange
+        UUID evicted = UUID.randomUUID();
+        when(sessionRepository.save(any(Session.class))).thenReturn(testSession);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), eq("3")))
+                .thenReturn(List.of("tokenly:session:" + testApplication.getId() + ":" + evicted));
+
+        // Act
+        SessionStore.Created created = store.create(SessionState.of(testSession, testUser), 3);
+
+        // Assert
+        assertEquals(List.of(evicted), created.evicted());
+        verify(sessionRepository).revokeAllById(eq(List.of(evicted)), any(Instant.class));
+    }
+
+    @Test
+    void revoke_ShouldRevokeAndRemoveFromRedis() {
+        // Arrange
+        when(sessionRepository.findById(testSession.getId())).thenReturn(Optional.of(testSession));
+
+        // Act
+        boolean revoked = store.revoke(testSession.getId(), Instant.now());
+
+        // Assert
+        assertTrue(revoked);
+        assertTrue(testSession.isRevoked());
+        verify(sessionRepository).save(testSession);
+        verify(redisTemplate).delete("tokenly:session:" + testApplication.getId() + ":" + testSession.getId());
+    }
+
+    @Test
+    void revokeAllForUser_ShouldUpdateRowsAndEvictIndexedRedisKeysInOneCall() {
+        // Arrange
+        UUID keep = UUID.randomUUID();
+
+        // Act
+        store.revokeAllForUser(testUser.getId(), keep, Instant.now());
+
+        // Assert
+        verify(sessionRepository).revokeAllUserSessionsExcept(eq(testUser.getId()), eq(keep), any(Instant.class));
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("tokenly:sessions:lru:" + testUser.getId())), eq(keep.toString()));
+        verify(redisTemplate, never()).keys(anyString());
+    }
+
+    @Test
+    void revokeAllForUser_WithoutException_ShouldRevokeEverySession() {
+        // Act
+        store.revokeAllForUser(testUser.getId(), null, Instant.now());
+
+        // Assert
+        verify(sessionRepository).revokeAllUserSessions(eq(testUser.getId()), any(Instant.class));
+        verify(sessionRepository, never()).revokeAllUserSessionsExcept(any(), any(), any());
+    }
+
+    @Test
+    void purgeExpired_ShouldRunChunkedPurge() {
+        // Act
+        store.purgeExpired();
+
+        // Assert
+        verify(sessionPurger).purge();
+        verifyNoInteractions(sessionRepository);
+    }
+
+    @Test
+    void rotate_CurrentGeneration_ShouldIssueNextGeneration() {
+        // Arrange
+        testSession.setGeneration(3);
+        when(sessionRepository.findWithUserById(testSession.getId())).thenReturn(Optional.of(testSession));
+        when(tokenFamilyRegistry.currentGeneration(testSession.getTokenFamily())).thenReturn(3L);
+        when(sessionRepository.revokeIfActive(eq(testSession.getId()), any(Instant.class))).thenReturn(1);
+        when(sessionRepository.save(any(Session.class))).thenAnswer(invocation -> {
+            Session saved = invocation.getArgument(0);
+            saved.setId(UUID.randomUUID());
+            return saved;
+        });
+
+        // Act
+        SessionStore.Rotation rotation = store.rotate(request("hashedToken", Duration.ZERO));
+
+        // Assert
+        assertEquals(SessionStore.RotationOutcome.ROTATED, rotation.outcome());
+        assertEquals(4, rotation.next().getGeneration());
+        assertEquals("newHash", rotation.next().getRefreshTokenHash());
+        verify(sessionRepository).save(argThat(next -> next.getGeneration() == 4
+                && next.getTokenFamily().equals(testSession.getTokenFamily())));
+        verify(tokenFamilyRegistry).advance(eq(testSession.getTokenFamily()), eq(4L), any());
+        verify(sessionRepository, never()).revokeTokenFamily(any(), any());
+    }
+
+    @Test
+    void rotate_StaleGeneration_ShouldRevokeFamily() {
+        // Arrange
+        testSession.setGeneration(1);
+        testSession.setRevoked(true);
+        when(sessionRepository.findWithUserById(testSession.getId())).thenReturn(Optional.of(testSession));
+        when(tokenFamilyRegistry.currentGeneration(testSession.getTokenFamily())).thenReturn(2L);
+
+        // Act
+        SessionStore.Rotation rotation = store.rotate(request("hashedToken", Duration.ZERO));
+
+        // Assert
+        assertEquals(SessionStore.RotationOutcome.REUSED, rotation.outcome());
+        verify(sessionRepository).revokeTokenFamily(eq(testSession.getTokenFamily()), any(Instant.class));
+        verify(tokenFamilyRegistry).revoke(eq(testSession.getTokenFamily()), any());
+        verify(sessionRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_StaleGeneration_ShouldEvictFamilyHeadFromRedis() {
+        // Arrange
+        UUID head = UUID.randomUUID();
+        testSession.setGeneration(1);
+        testSession.setRevoked(true);
+        when(sessionRepository.findWithUserById(testSession.getId())).thenReturn(Optional.of(testSession));
+        when(tokenFamilyRegistry.currentGeneration(testSession.getTokenFamily())).thenReturn(2L);
+        when(sessionRepository.findActiveIdsByTokenFamily(testSession.getTokenFamily())).thenReturn(List.of(head));
+
+        // Act
+        store.rotate(request("hashedToken", Duration.ZERO));
+
+        // Assert
+        String headKey = "tokenly:session:" + testApplication.getId() + ":" + head;
+        verify(redisTemplate).delete(headKey);
+        verify(zSetOperations).remove("tokenly:sessions:lru:" + testUser.getId(), headKey);
+    }
+
+    @Test
+    void rotate_WithinGraceWindow_ShouldChangeNothing() {
+        // Arrange
+        testSession.setGeneration(1);
+        testSession.setRevoked(true);
+        testSession.setRevokedAt(Instant.now().minusSeconds(2));
+        when(sessionRepository.findWithUserById(testSession.getId())).thenReturn(Optional.of(testSession));
+        when(tokenFamilyRegistry.currentGeneration(testSession.getTokenFamily())).thenReturn(2L);
+
+        // Act
+        SessionStore.Rotation rotation = store.rotate(request("hashedToken", Duration.ofSeconds(10)));
+
+        // Assert
+        assertEquals(SessionStore.RotationOutcome.GRACE, rotation.outcome());
+        verify(sessionRepository, never()).revokeTokenFamily(any(), any());
+        verify(sessionRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_CachedHashMismatch_ShouldRejectWithoutDatabaseRead() {
+        // Arrange
+        when(valueOperations.get("tokenly:session:" + testApplication.getId() + ":" + testSession.getId()))
+                .thenReturn("{\"hash\":\"hashedToken\"}");
+
+        // Act
+        SessionStore.Rotation rotation = store.rotate(request("otherHash", Duration.ZERO));
+
+        // Assert
+        assertEquals(SessionStore.RotationOutcome.INVALID, rotation.outcome());
+        verifyNoInteractions(sessionRepository);
+    }
+
+    private SessionStore.RotationRequest request(String presentedHash, Duration graceWindow) {
+        Instant now = Instant.now();
+        return new SessionStore.RotationRequest(testApplication.getId(), testSession.getId(), presentedHash,
+                "newHash", now, now.plusSeconds(3600), graceWindow);
+    }
+}
@@ -0,0 +1,41 @@
+package com.tokenly.backend.security.session;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.repository.SessionRepository;
+import com.tokenly.backend.security.util.TokenHashUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the store contract against a real Redis, with write-behind off so no MySQL is involved.
+ * Set TOKENLY_TEST_REDIS_HOST (and optionally TOKENLY_TEST_REDIS_PORT) to enable.
+ */
+@EnabledIfEnvironmentVariable(named = "TOKENLY_TEST_REDIS_HOST", matches = ".+")
+class RedisSessionStoreIntegrationTest extends SessionStoreContractTest {
+
+    private LettuceConnectionFactory connectionFactory;
+
+    @Override
+    protected SessionStore createStore() {
+        String port = System.getenv().getOrDefault("TOKENLY_TEST_REDIS_PORT", "6379");
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(System.getenv("TOKENLY_TEST_REDIS_HOST"), Integer.parseInt(port)));
+        connectionFactory.afterPropertiesSet();
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+
+        AppProperties appProperties = new AppProperties();
+        appProperties.getSessions().setRedisWriteBehind(false);
+        return new RedisSessionStore(redisTemplate, mock(SessionJournal.class), mock(SessionRepository.class),
+                mock(SessionPurger.class), new TokenHashUtil(), appProperties);
+    }
+
+    @AfterEach
+    void closeConnection() {
+        connectionFactory.destroy();
+    }
+}
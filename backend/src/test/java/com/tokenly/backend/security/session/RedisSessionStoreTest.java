@@ -0,0 +1,218 @@
+package com.tokenly.backend.security.session;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.entity.Application;
+import com.tokenly.backend.entity.Session;
+import com.tokenly.backend.entity.User;
+import com.tokenly.backend.enums.UserStatus;
+import com.tokenly.backend.repository.SessionRepository;
+import com.tokenly.backend.security.util.TokenHashUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Journal and recovery behaviour; the Lua scripts themselves are covered by
+ * {@link RedisSessionStoreIntegrationTest}
+ */
+@ExtendWith(MockitoExtension.class)
+class RedisSessionStoreTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private SessionJournal sessionJournal;
+
+    @Mock
+    private SessionRepository sessionRepository;
+
+    @Mock
+    private SessionPurger sessionPurger;
+
+    private final AppProperties appProperties = new AppProperties();
+
+    private RedisSessionStore store;
+    private SessionState state;
+
+    @BeforeEach
+    void setUp() {
+        store = new RedisSessionStore(redisTemplate, sessionJournal, sessionRepository, sessionPurger,
+                new TokenHashUtil(), appProperties);
+        state = SessionState.builder()
+                .id(UUID.randomUUID())
+                .applicationId(UUID.randomUUID())
+                .refreshTokenHash("hashedToken")
+                .tokenFamily(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .email("user@test.com")
+                .userStatus(UserStatus.ACTIVE)
+                .createdAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+    }
+
+    @Test
+    void requireSingleNode_ClusterConnection_ShouldRefuseToStart() {
+        // Arrange
+        LettuceConnectionFactory factory = mock(LettuceConnectionFactory.class);
+        when(factory.isClusterAware()).thenReturn(true);
+        when(redisTemplate.getConnectionFactory()).thenReturn(factory);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, store::requireSingleNode);
+    }
+
+    @Test
+    void create_OverSessionLimit_ShouldJournalEvictions() {
+        // Arrange
+        UUID evicted = UUID.randomUUID();
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(List.of("tokenly:rs:s:" + evicted));
+
+        // Act
+        SessionStore.Created created = store.create(state.toBuilder().id(null).build(), 1);
+
+        // Assert
+        assertNotNull(created.session().getId());
+        assertEquals(List.of(evicted), created.evicted());
+        verify(sessionJournal).insert(created.session());
+        verify(sessionJournal).revoke(eq(evicted), any(Instant.class));
+        verifyNoInteractions(sessionRepository);
+    }
+
+    @Test
+    void create_WithoutWriteBehind_ShouldNotJournal() {
+        // Arrange
+        appProperties.getSessions().setRedisWriteBehind(false);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(List.of());
+
+        // Act
+        store.create(state, 0);
+
+        // Assert
+        verifyNoInteractions(sessionJournal, sessionRepository);
+    }
+
+    @Test
+    void rotate_ShouldJournalRevokeAndSuccessor() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(scriptResult("ROTATED"));
+
+        // Act
+        SessionStore.Rotation rotation = store.rotate(request());
+
+        // Assert
+        assertEquals(SessionStore.RotationOutcome.ROTATED, rotation.outcome());
+        SessionState next = rotation.next();
+        assertEquals("newHash", next.getRefreshTokenHash());
+        assertEquals(state.getTokenFamily(), next.getTokenFamily());
+        verify(sessionJournal).revoke(eq(state.getId()), any(Instant.class));
+        verify(sessionJournal).insert(next);
+        verifyNoInteractions(sessionRepository);
+    }
+
+    @Test
+    void rotate_Reused_ShouldJournalFamilyRevocation() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(scriptResult("REUSED"));
+
+        // Act
+        SessionStore.Rotation rotation = store.rotate(request());
+
+        // Assert
+        assertEquals(SessionStore.RotationOutcome.REUSED, rotation.outcome());
+        verify(sessionJournal).revokeFamily(eq(state.getTokenFamily()), any(Instant.class));
+        verify(sessionJournal, never()).insert(any());
+    }
+
+    @Test
+    void rotate_MissingWithoutWriteBehind_ShouldBeInvalidWithoutRecovery() {
+        // Arrange
+        appProperties.getSessions().setRedisWriteBehind(false);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(List.of("MISSING"));
+
+        // Act
+        SessionStore.Rotation rotation = store.rotate(request());
+
+        // Assert
+        assertEquals(SessionStore.RotationOutcome.INVALID, rotation.outcome());
+        verifyNoInteractions(sessionRepository, sessionJournal);
+    }
+
+    @Test
+    void rotate_RecoveredBehindItsFamily_ShouldKeepFamilyAtNewestGeneration() {
+        // Arrange
+        Session row = row(1);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(List.of("MISSING"), List.of(), scriptResult("REUSED"));
+        when(sessionRepository.findWithUserById(state.getId())).thenReturn(Optional.of(row));
+        when(sessionRepository.findCurrentGeneration(state.getTokenFamily())).thenReturn(Optional.of(3L));
+
+        // Act
+        SessionStore.Rotation rotation = store.rotate(request());
+
+        // Assert
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("tokenly:rs:s:" + state.getId(), TokenFamilyRegistry.KEY_PREFIX + state.getTokenFamily(),
+                        "tokenly:rs:lru:" + state.getUserId())),
+                args.capture());
+        assertEquals("3", args.getValue()[1]);
+        assertEquals(SessionStore.RotationOutcome.REUSED, rotation.outcome());
+    }
+
+    private Session row(long generation) {
+        Application application = new Application();
+        application.setId(state.getApplicationId());
+        User user = new User();
+        user.setId(state.getUserId());
+        user.setEmail(state.getEmail());
+        user.setStatus(UserStatus.ACTIVE);
+        Session row = new Session();
+        row.setId(state.getId());
+        row.setApplication(application);
+        row.setUser(user);
+        row.setRefreshTokenHash("hashedToken");
+        row.setTokenFamily(state.getTokenFamily());
+        row.setGeneration(generation);
+        row.setExpiresAt(state.getExpiresAt());
+        return row;
+    }
+
+    private List<Object> scriptResult(String outcome) {
+        List<Object> result = new ArrayList<>();
+        result.add(outcome);
+        state.toHash().forEach((field, value) -> {
+            result.add(field);
+            result.add(value);
+        });
+        return result;
+    }
+
+    private SessionStore.RotationRequest request() {
+        Instant now = Instant.now();
+        return new SessionStore.RotationRequest(state.getApplicationId(), state.getId(), "hashedToken", "newHash",
+                now, now.plusSeconds(3600), Duration.ZERO);
+    }
+}
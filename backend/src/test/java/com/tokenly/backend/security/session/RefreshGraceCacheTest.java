@@ -0,0 +1,102 @@
+package com.tokenly.backend.security.session;
+
+import com.tokenly.backend.dto.responce.auth.AuthResponse;
+import com.tokenly.backend.security.util.TokenHashUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshGraceCacheTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private final Map<String, String> redis = new ConcurrentHashMap<>();
+    private final UUID sessionId = UUID.randomUUID();
+    private final AuthResponse pair = AuthResponse.builder()
+            .accessToken("access-token").refreshToken("refresh-token").expiresIn(900L).build();
+
+    private RefreshGraceCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RefreshGraceCache(redisTemplate, listenerContainer, new TokenHashUtil());
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        lenient().when(valueOperations.get(anyString())).then(invocation -> redis.get(invocation.<String>getArgument(0)));
+    }
+
+    @Test
+    void put_ShouldStoreNeitherTokenNorVerifierInClear() {
+        // Act
+        cache.put(sessionId, "old-verifier", pair, Duration.ofSeconds(10));
+
+        // Assert
+        Map.Entry<String, String> entry = redis.entrySet().iterator().next();
+        assertFalse(entry.getKey().contains("old-verifier"));
+        assertFalse(entry.getValue().contains("access-token"));
+        assertFalse(entry.getValue().contains("refresh-token"));
+        verify(redisTemplate).convertAndSend(RefreshGraceCache.CHANNEL, entry.getKey());
+    }
+
+    @Test
+    void find_ShouldOnlyOpenForTheOldVerifier() {
+        // Arrange
+        cache.put(sessionId, "old-verifier", pair, Duration.ofSeconds(10));
+        String key = redis.keySet().iterator().next();
+
+        // Act
+        Optional<AuthResponse> found = cache.find(sessionId, "old-verifier");
+
+        // Assert
+        assertEquals(pair, found.orElseThrow());
+        assertTrue(cache.find(sessionId, "other-verifier").isEmpty());
+        UUID otherSession = UUID.randomUUID();
+        redis.put(key.replace(sessionId.toString(), otherSession.toString()), redis.get(key));
+        assertTrue(cache.find(otherSession, "old-verifier").isEmpty());
+    }
+
+    @Test
+    void await_ShouldWakeOnPublishWithoutPolling() throws Exception {
+        // Arrange
+        CompletableFuture<Optional<AuthResponse>> waiter = CompletableFuture.supplyAsync(() -> cache.await(sessionId, "old-verifier"));
+        verify(valueOperations, timeout(1000)).get(anyString());
+
+        // Act
+        cache.put(sessionId, "old-verifier", pair, Duration.ofSeconds(10));
+        String key = redis.keySet().iterator().next();
+        cache.onMessage(new DefaultMessage(RefreshGraceCache.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                key.getBytes(StandardCharsets.UTF_8)), null);
+
+        // Assert
+        assertEquals(pair, waiter.get(500, TimeUnit.MILLISECONDS).orElseThrow());
+        verify(valueOperations, times(2)).get(key);
+    }
+}
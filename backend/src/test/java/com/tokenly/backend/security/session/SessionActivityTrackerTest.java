@@ -0,0 +1,125 @@
+package com.tokenly.backend.security.session;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.security.policy.AuthPolicy;
+import com.tokenly.backend.security.policy.AuthPolicyCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionActivityTrackerTest {
+
+    private static final UUID APPLICATION_ID = UUID.randomUUID();
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Mock
+    private SessionStore sessionStore;
+
+    @Mock
+    private AuthPolicyCache authPolicyCache;
+
+    private final AppProperties appProperties = new AppProperties();
+
+    private SessionActivityTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(authPolicyCache.get(APPLICATION_ID)).thenReturn(AuthPolicy.builder().build());
+        tracker = new SessionActivityTracker(sessionStore, authPolicyCache, appProperties, new SimpleMeterRegistry());
+        tracker.init();
+    }
+
+    @Test
+    void flush_ShouldWriteOneEntryPerSessionRegardlessOfTouches() {
+        // Arrange
+        UUID busy = UUID.randomUUID();
+        UUID idle = UUID.randomUUID();
+        for (int i = 0; i < 100; i++) {
+            touch(busy);
+        }
+        touch(idle);
+
+        // Act
+        tracker.flush();
+
+        // Assert
+        verify(sessionStore).touch(argThat(activity -> activity.size() == 2
+                && activity.stream().allMatch(used -> used.expiresAtLeast() == null)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_WithSlidingExpiry_ShouldExtendFromLastUse() {
+        // Arrange
+        when(authPolicyCache.get(APPLICATION_ID)).thenReturn(AuthPolicy.builder().slidingExpiryMinutes(30).build());
+        touch(UUID.randomUUID());
+
+        // Act
+        tracker.flush();
+
+        // Assert
+        ArgumentCaptor<List<SessionStore.Activity>> activity = ArgumentCaptor.forClass(List.class);
+        verify(sessionStore).touch(activity.capture());
+        SessionStore.Activity used = activity.getValue().get(0);
+        assertEquals(used.usedAt().plus(Duration.ofMinutes(30)), used.expiresAtLeast());
+    }
+
+    @Test
+    void flush_PolicyUnavailable_ShouldStillRecordUse() {
+        // Arrange
+        when(authPolicyCache.get(APPLICATION_ID)).thenThrow(new DataAccessResourceFailureException("down"));
+        touch(UUID.randomUUID());
+
+        // Act
+        tracker.flush();
+
+        // Assert
+        verify(sessionStore).touch(argThat(activity -> activity.size() == 1 && activity.get(0).expiresAtLeast() == null));
+    }
+
+    @Test
+    void flush_ShouldOnlyWriteWhenSessionsWereTouched() {
+        // Act
+        tracker.flush();
+        touch(UUID.randomUUID());
+        tracker.flush();
+        tracker.flush();
+
+        // Assert
+        verify(sessionStore, times(1)).touch(anyList());
+    }
+
+    @Test
+    void touch_BeyondCapacity_ShouldShedNewSessions() {
+        // Arrange
+        appProperties.getSessions().setActivityMaxPending(1);
+        UUID first = UUID.randomUUID();
+
+        // Act
+        touch(first);
+        touch(UUID.randomUUID());
+        touch(first);
+        tracker.flush();
+
+        // Assert
+        verify(sessionStore).touch(argThat(activity -> activity.size() == 1));
+    }
+
+    private void touch(UUID sessionId) {
+        tracker.touch(sessionId, APPLICATION_ID, USER_ID);
+    }
+}
@@ -0,0 +1,97 @@
+package com.tokenly.backend.security.session;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionJournalTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final AppProperties appProperties = new AppProperties();
+
+    private SessionJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        appProperties.getSessions().setJournalQueueCapacity(1);
+        journal = new SessionJournal(jdbcTemplate, appProperties, new SimpleMeterRegistry());
+        journal.init();
+    }
+
+    @Test
+    void append_QueueFull_ShouldWriteQueuedEntriesFirst() {
+        // Arrange
+        SessionState session = session();
+        journal.insert(session);
+
+        // Act
+        journal.revoke(session.getId(), Instant.now());
+        journal.flush();
+
+        // Assert
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO sessions"), anyList());
+        order.verify(jdbcTemplate).batchUpdate(startsWith("UPDATE sessions"), anyList());
+    }
+
+    @Test
+    void append_QueueFullAndDatabaseDown_ShouldRefuseRatherThanOvertake() {
+        // Arrange
+        SessionState session = session();
+        journal.insert(session);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> journal.revoke(session.getId(), Instant.now()));
+        verify(jdbcTemplate, never()).batchUpdate(startsWith("UPDATE sessions"), anyList());
+    }
+
+    @Test
+    void touch_ShouldOnlyMoveLastUseAndExpiryForward() {
+        // Arrange
+        SessionState session = session();
+        Instant now = Instant.now();
+
+        // Act
+        journal.touch(new SessionStore.Activity(session.getId(), session.getApplicationId(), session.getUserId(),
+                now, now.plus(2, ChronoUnit.HOURS)));
+        journal.flush();
+
+        // Assert
+        verify(jdbcTemplate).batchUpdate(eq(SessionJournal.TOUCH_SQL), argThat((List<Object[]> rows) -> rows.size() == 1));
+    }
+
+    private static SessionState session() {
+        Instant now = Instant.now();
+        return SessionState.builder()
+                .id(UUID.randomUUID())
+                .applicationId(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .refreshTokenHash("hash")
+                .tokenFamily(UUID.randomUUID())
+                .createdAt(now)
+                .lastUsedAt(now)
+                .expiresAt(now.plus(1, ChronoUnit.HOURS))
+                .build();
+    }
+}
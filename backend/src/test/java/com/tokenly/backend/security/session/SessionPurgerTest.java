@@ -0,0 +1,76 @@
+package com.tokenly.backend.security.session;
+
+import com.tokenly.backend.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionPurgerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final AppProperties appProperties = new AppProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SessionPurger purger;
+
+    @BeforeEach
+    void setUp() {
+        appProperties.getSessions().setPurgeBatchSize(2);
+        appProperties.getSessions().setPurgePauseMs(0);
+        purger = new SessionPurger(jdbcTemplate, appProperties, meterRegistry);
+        purger.init();
+    }
+
+    @Test
+    void purge_ShouldDeleteInPrimaryKeyOrderedChunksUntilExhausted() {
+        // Arrange
+        byte[] first = id(1);
+        byte[] second = id(2);
+        byte[] third = id(3);
+        when(jdbcTemplate.queryForList(anyString(), eq(byte[].class), any(), any(), any(), any()))
+                .thenReturn(List.of(first, second), List.of(third), List.of());
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(2, 1);
+
+        // Act
+        long deleted = purger.purge();
+
+        // Assert
+        assertEquals(3, deleted);
+        verify(jdbcTemplate).queryForList(anyString(), eq(byte[].class), same(second), any(), any(), eq(2));
+        verify(jdbcTemplate).update("DELETE FROM sessions WHERE id IN (?, ?)", first, second);
+        verify(jdbcTemplate).update("DELETE FROM sessions WHERE id IN (?)", third);
+        assertEquals(3.0, meterRegistry.get("tokenly.sessions.purge.deleted").counter().count());
+    }
+
+    @Test
+    void purge_ShouldStopWhenTimeBudgetIsSpent() {
+        // Arrange
+        appProperties.getSessions().setPurgeTimeBudgetMs(0);
+
+        // Act
+        long deleted = purger.purge();
+
+        // Assert
+        assertEquals(0, deleted);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static byte[] id(int value) {
+        byte[] id = new byte[16];
+        id[15] = (byte) value;
+        return id;
+    }
+}
@@ -0,0 +1,308 @@
+package com.tokenly.backend.security.session;
+
+import com.tokenly.backend.enums.UserStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour every {@link SessionStore} must share; one subclass per implementation supplies the
+ * store and, where rows must exist first, the users and applications.
+ */
+abstract class SessionStoreContractTest {
+
+    protected SessionStore store;
+
+    private UUID userId;
+    private UUID applicationId;
+
+    protected abstract SessionStore createStore() throws Exception;
+
+    protected UUID createUser(UUID applicationId) {
+        return UUID.randomUUID();
+    }
+
+    protected UUID createApplication() {
+        return UUID.randomUUID();
+    }
+
+    @BeforeEach
+    void setUpStore() throws Exception {
+        store = createStore();
+        applicationId = createApplication();
+        userId = createUser(applicationId);
+    }
+
+    @Test
+    void create_ShouldAssignIdAndKeepState() {
+        // Act
+        SessionState created = create("hash-1", Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // Assert
+        assertNotNull(created.getId());
+        assertEquals(userId, created.getUserId());
+        assertEquals("hash-1", created.getRefreshTokenHash());
+        assertEquals(0, created.getGeneration());
+    }
+
+    @Test
+    void rotate_LiveSession_ShouldIssueSuccessorInSameFamily() {
+        // Arrange
+        SessionState created = create("hash-1", Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // Act
+        SessionStore.Rotation rotation = rotate(created.getId(), "hash-1", "hash-2", Duration.ZERO);
+
+        // Assert
+        assertEquals(SessionStore.RotationOutcome.ROTATED, rotation.outcome());
+        assertEquals(created.getId(), rotation.previous().getId());
+        SessionState next = rotation.next();
+        assertNotEquals(created.getId(), next.getId());
+        assertEquals(created.getTokenFamily(), next.getTokenFamily());
+        assertEquals(1, next.getGeneration());
+        assertEquals("hash-2", next.getRefreshTokenHash());
+        assertEquals("user@test.com", next.toUser().getEmail());
+        assertEquals(SessionStore.RotationOutcome.ROTATED, rotate(next.getId(), "hash-2", "hash-3", Duration.ZERO).outcome());
+    }
+
+    @Test
+    void rotate_WrongVerifier_ShouldBeInvalid() {
+        // Arrange
+        SessionState created = create("hash-1", Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // Act & Assert
+        assertEquals(SessionStore.RotationOutcome.INVALID, rotate(created.getId(), "other", "hash-2", Duration.ZERO).outcome());
+        assertEquals(SessionStore.RotationOutcome.ROTATED, rotate(created.getId(), "hash-1", "hash-2", Duration.ZERO).outcome());
+    }
+
+    @Test
+    void rotate_OtherApplication_ShouldBeInvalid() {
+        // Arrange
+        SessionState created = create("hash-1", Instant.now().plus(1, ChronoUnit.HOURS));
+        Instant now = Instant.now();
+
+        // Act
+        SessionStore.Rotation rotation = store.rotate(new SessionStore.RotationRequest(createApplication(),
+                created.getId(), "hash-1", "hash-2", now, now.plus(1, ChronoUnit.HOURS), Duration.ZERO));
+
+        // Assert
+        assertEquals(SessionStore.RotationOutcome.INVALID, rotation.outcome());
+    }
+
+    @Test
+    void rotate_UnknownOrExpiredSession_ShouldBeInvalid() {
+        // Arrange
+        SessionState expired = create("hash-1", Instant.now().minus(1, ChronoUnit.MINUTES));
+
+        // Act & Assert
+        assertEquals(SessionStore.RotationOutcome.INVALID, rotate(UUID.randomUUID(), "hash-1", "hash-2", Duration.ZERO).outcome());
+        assertEquals(SessionStore.RotationOutcome.INVALID, rotate(expired.getId(), "hash-1", "hash-2", Duration.ZERO).outcome());
+    }
+
+    @Test
+    void rotate_RotatedSessionAgain_ShouldRevokeFamily() {
+        // Arrange
+        SessionState created = create("hash-1", Instant.now().plus(1, ChronoUnit.HOURS));
+        SessionState next = rotate(created.getId(), "hash-1", "hash-2", Duration.ZERO).next();
+
+        // Act
+        SessionStore.Rotation replay = rotate(created.getId(), "hash-1", "hash-3", Duration.ZERO);
+
+        // Assert
+        assertEquals(SessionStore.RotationOutcome.REUSED, replay.outcome());
+        assertEquals(created.getTokenFamily(), replay.previous().getTokenFamily());
+        assertNotEquals(SessionStore.RotationOutcome.ROTATED, rotate(next.getId(), "hash-2", "hash-4", Duration.ZERO).outcome());
+    }
+
+    @Test
+    void rotate_RotatedSessionWithinGraceWindow_ShouldChangeNothing() {
+        // Arrange
+        SessionState created = create("hash-1", Instant.now().plus(1, ChronoUnit.HOURS));
+        SessionState next = rotate(created.getId(), "hash-1", "hash-2", Duration.ofSeconds(10)).next();
+
+        // Act
+        SessionStore.Rotation repeat = rotate(created.getId(), "hash-1", "hash-3", Duration.ofSeconds(10));
+
+        // Assert
+        assertEquals(SessionStore.RotationOutcome.GRACE, repeat.outcome());
+        assertEquals(SessionStore.RotationOutcome.ROTATED, rotate(next.getId(), "hash-2", "hash-4", Duration.ZERO).outcome());
+    }
+
+    @Test
+    void revoke_ShouldRejectLaterRotation() {
+        // Arrange
+        SessionState created = create("hash-1", Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // Act
+        boolean revoked = store.revoke(created.getId(), Instant.now());
+
+        // Assert
+        assertTrue(revoked);
+        assertEquals(SessionStore.RotationOutcome.REVOKED, rotate(created.getId(), "hash-1", "hash-2", Duration.ZERO).outcome());
+        assertFalse(store.revoke(UUID.randomUUID(), Instant.now()));
+    }
+
+    @Test
+    void revokeAllForUser_ShouldSpareExceptedSession() {
+        // Arrange
+        SessionState kept = create("hash-1", Instant.now().plus(1, ChronoUnit.HOURS));
+        SessionState other = create("hash-2", Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // Act
+        store.revokeAllForUser(userId, kept.getId(), Instant.now());
+
+        // Assert
+        assertEquals(SessionStore.RotationOutcome.REVOKED, rotate(other.getId(), "hash-2", "hash-3", Duration.ZERO).outcome());
+        assertEquals(SessionStore.RotationOutcome.ROTATED, rotate(kept.getId(), "hash-1", "hash-4", Duration.ZERO).outcome());
+    }
+
+    @Test
+    void create_OverSessionLimit_ShouldRevokeLeastRecentlyUsed() throws InterruptedException {
+        // Arrange
+        SessionState oldest = create("hash-1", Instant.now().plus(1, ChronoUnit.HOURS), 2);
+        Thread.sleep(5); // Distinct last-use times
+        SessionState middle = create("hash-2", Instant.now().plus(1, ChronoUnit.HOURS), 2);
+        Thread.sleep(5);
+
+        // Act
+        SessionStore.Created newest = store.create(session("hash-3", Instant.now().plus(1, ChronoUnit.HOURS)), 2);
+
+        // Assert
+        assertEquals(List.of(oldest.getId()), newest.evicted());
+        assertEquals(SessionStore.RotationOutcome.REVOKED, rotate(oldest.getId(), "hash-1", "hash-4", Duration.ZERO).outcome());
+        assertEquals(SessionStore.RotationOutcome.ROTATED, rotate(middle.getId(), "hash-2", "hash-5", Duration.ZERO).outcome());
+    }
+
+    @Test
+    void create_OverSessionLimit_ShouldSpareRecentlyUsedSession() throws InterruptedException {
+        // Arrange
+        SessionState active = create("hash-1", Instant.now().plus(1, ChronoUnit.HOURS), 2);
+        Thread.sleep(5);
+        SessionState idle = create("hash-2", Instant.now().plus(1, ChronoUnit.HOURS), 2);
+        Thread.sleep(5);
+        store.touch(List.of(new SessionStore.Activity(active.getId(), applicationId, userId, Instant.now(), null)));
+        Thread.sleep(5);
+
+        // Act
+        SessionStore.Created newest = store.create(session("hash-3", Instant.now().plus(1, ChronoUnit.HOURS)), 2);
+
+        // Assert
+        assertEquals(List.of(idle.getId()), newest.evicted());
+        assertEquals(SessionStore.RotationOutcome.ROTATED, rotate(active.getId(), "hash-1", "hash-4", Duration.ZERO).outcome());
+    }
+
+    @Test
+    void touch_WithSlidingExpiry_ShouldKeepSessionPastOriginalExpiry() {
+        // Arrange
+        SessionState created = create("hash-1", Instant.now().plus(1, ChronoUnit.MINUTES));
+        Instant now = Instant.now();
+
+        // Act
+        store.touch(List.of(new SessionStore.Activity(created.getId(), applicationId, userId, now,
+                now.plus(2, ChronoUnit.HOURS))));
+
+        // Assert
+        Instant later = now.plus(30, ChronoUnit.MINUTES);
+        SessionStore.Rotation rotation = store.rotate(new SessionStore.RotationRequest(applicationId,
+                created.getId(), "hash-1", "hash-2", later, later.plus(1, ChronoUnit.HOURS), Duration.ZERO));
+        assertEquals(SessionStore.RotationOutcome.ROTATED, rotation.outcome());
+    }
+
+    @Test
+    void touch_RevokedSession_ShouldNotRevive() {
+        // Arrange
+        SessionState created = create("hash-1", Instant.now().plus(1, ChronoUnit.HOURS));
+        store.revoke(created.getId(), Instant.now());
+        Instant now = Instant.now();
+
+        // Act
+        store.touch(List.of(new SessionStore.Activity(created.getId(), applicationId, userId, now,
+                now.plus(2, ChronoUnit.HOURS))));
+
+        // Assert
+        assertEquals(SessionStore.RotationOutcome.REVOKED, rotate(created.getId(), "hash-1", "hash-2", Duration.ZERO).outcome());
+    }
+
+    @Test
+    void create_AtSessionLimitAfterLogout_ShouldNotCountRevokedSession() throws InterruptedException {
+        // Arrange
+        SessionState first = create("hash-1", Instant.now().plus(1, ChronoUnit.HOURS), 2);
+        Thread.sleep(5);
+        SessionState loggedOut = create("hash-2", Instant.now().plus(1, ChronoUnit.HOURS), 2);
+        store.revoke(loggedOut.getId(), Instant.now());
+        Thread.sleep(5);
+
+        // Act
+        SessionStore.Created created = store.create(session("hash-3", Instant.now().plus(1, ChronoUnit.HOURS)), 2);
+
+        // Assert
+        assertEquals(List.of(), created.evicted());
+        assertEquals(SessionStore.RotationOutcome.ROTATED, rotate(first.getId(), "hash-1", "hash-4", Duration.ZERO).outcome());
+    }
+
+    @Test
+    void create_AtSessionLimitAfterReuse_ShouldNotCountRevokedFamily() throws InterruptedException {
+        // Arrange
+        SessionState first = create("hash-1", Instant.now().plus(1, ChronoUnit.HOURS), 2);
+        Thread.sleep(5);
+        SessionState stolen = create("hash-2", Instant.now().plus(1, ChronoUnit.HOURS), 2);
+        rotate(stolen.getId(), "hash-2", "hash-3", Duration.ZERO);
+        rotate(stolen.getId(), "hash-2", "hash-4", Duration.ZERO);
+        Thread.sleep(5);
+
+        // Act
+        SessionStore.Created created = store.create(session("hash-5", Instant.now().plus(1, ChronoUnit.HOURS)), 2);
+
+        // Assert
+        assertEquals(List.of(), created.evicted());
+        assertEquals(SessionStore.RotationOutcome.ROTATED, rotate(first.getId(), "hash-1", "hash-6", Duration.ZERO).outcome());
+    }
+
+    @Test
+    void purgeExpired_ShouldKeepLiveSessions() {
+        // Arrange
+        SessionState created = create("hash-1", Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // Act
+        store.purgeExpired();
+
+        // Assert
+        assertEquals(SessionStore.RotationOutcome.ROTATED, rotate(created.getId(), "hash-1", "hash-2", Duration.ZERO).outcome());
+    }
+
+    protected SessionState create(String hash, Instant expiresAt) {
+        return create(hash, expiresAt, 0);
+    }
+
+    protected SessionState create(String hash, Instant expiresAt, int maxSessionsPerUser) {
+        return store.create(session(hash, expiresAt), maxSessionsPerUser).session();
+    }
+
+    protected SessionState session(String hash, Instant expiresAt) {
+        Instant now = Instant.now();
+        return SessionState.builder()
+                .applicationId(applicationId)
+                .refreshTokenHash(hash)
+                .tokenFamily(UUID.randomUUID())
+                .userId(userId)
+                .email("user@test.com")
+                .userStatus(UserStatus.ACTIVE)
+                .createdAt(now)
+                .lastUsedAt(now)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    protected SessionStore.Rotation rotate(UUID sessionId, String presentedHash, String newHash, Duration graceWindow) {
+        Instant now = Instant.now();
+        return store.rotate(new SessionStore.RotationRequest(applicationId, sessionId, presentedHash, newHash,
+                now, now.plus(1, ChronoUnit.HOURS), graceWindow));
+    }
+}
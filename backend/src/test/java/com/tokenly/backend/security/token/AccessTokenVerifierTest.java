@@ -0,0 +1,78 @@
+package com.tokenly.backend.security.token;
+
+import com.tokenly.backend.config.AppProperties;
+import com.tokenly.backend.security.JwtService;
+import com.tokenly.backend.security.revocation.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccessTokenVerifierTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private TokenRevocationService revocationService;
+
+    @Mock
+    private Jws<Claims> jws;
+
+    private final AppProperties appProperties = new AppProperties();
+
+    private AccessTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        appProperties.getVerification().setCacheSize(2);
+        verifier = new AccessTokenVerifier(jwtService, revocationService, appProperties);
+    }
+
+    @Test
+    void tryVerify_FullCache_ShouldEvictLeastRecentlyUsedToken() {
+        // Arrange
+        when(jwtService.validateToken(anyString())).thenReturn(jws);
+        when(jws.getBody()).thenAnswer(invocation -> Jwts.claims()
+                .setSubject("user-1")
+                .setExpiration(Date.from(Instant.now().plusSeconds(600))));
+        verifier.tryVerify("token-a");
+        verifier.tryVerify("token-b");
+
+        // Act
+        verifier.tryVerify("token-a");
+        verifier.tryVerify("token-c");
+        verifier.tryVerify("token-a");
+        verifier.tryVerify("token-b");
+
+        // Assert
+        verify(jwtService, times(1)).validateToken("token-a");
+        verify(jwtService, times(2)).validateToken("token-b");
+        verify(jwtService, times(1)).validateToken("token-c");
+    }
+
+    @Test
+    void tryVerify_CachedButExpired_ShouldRejectAndForget() {
+        // Arrange
+        when(jwtService.validateToken("token-a")).thenReturn(jws);
+        when(jws.getBody()).thenReturn(Jwts.claims().setExpiration(Date.from(Instant.now().minusSeconds(1))));
+        verifier.tryVerify("token-a");
+
+        // Act & Assert
+        assertTrue(verifier.tryVerify("token-a").isEmpty());
+        verifier.tryVerify("token-a");
+        verify(jwtService, times(2)).validateToken("token-a");
+    }
+}
@@ -7,6 +7,9 @@ import com.tokenly.backend.entity.Application;
 import com.tokenly.backend.enums.ApplicationEnvironment;
 import com.tokenly.backend.security.authflow.AuthFlow;
 import com.tokenly.backend.security.authflow.AuthFlowResolver;
+import com.tokenly.backend.security.challenge.ChallengeStore;
+import com.tokenly.backend.security.policy.AuthPolicy;
+import com.tokenly.backend.security.policy.AuthPolicyCache;
 import com.tokenly.backend.service.impl.AuthServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,9 +17,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
 
+import java.time.Duration;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,11 +31,14 @@ class AuthServiceTest {
     @Mock
     private AuthFlowResolver authFlowResolver;
 
+    @Mock
+    private AuthPolicyCache authPolicyCache;
+
     @Mock
     private SessionService sessionService;
 
     @Mock
-    private StringRedisTemplate redisTemplate;
+    private ChallengeStore challengeStore;
 
     @Mock
     private EmailService emailService;
@@ -73,8 +78,10 @@ class AuthServiceTest {
                 .expiresIn(3600L)
                 .build();
 
-        when(authFlowResolver.resolve(testApplication)).thenReturn(authFlow);
-        when(authFlow.login(testApplication, request)).thenReturn(expectedResponse);
+        AuthPolicy policy = AuthPolicy.of(testApplication.getId(), null, null);
+        when(authPolicyCache.get(testApplication)).thenReturn(policy);
+        when(authFlowResolver.resolve(policy)).thenReturn(authFlow);
+        when(authFlow.login(testApplication, policy, request)).thenReturn(expectedResponse);
 
         // Act
         AuthResponse result = authService.login(testApplication, request);
@@ -82,17 +89,15 @@ class AuthServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals("accessToken", result.getAccessToken());
-        verify(authFlowResolver).resolve(testApplication);
-        verify(authFlow).login(testApplication, request);
+        verify(authPolicyCache, times(1)).get(testApplication);
+        verify(authFlowResolver).resolve(policy);
+        verify(authFlow).login(testApplication, policy, request);
     }
 
     @Test
-    void requestOtp_ShouldStoreInRedisAndSendEmail() {
+    void requestOtp_ShouldIssueChallengeAndSendEmail() {
         // Arrange
         String email = "user@test.com";
-        ValueOperations<String, String> valueOps = mock(ValueOperations.class);
-        when(redisTemplate.opsForValue()).thenReturn(valueOps);
-        
         when(appProperties.getAuth()).thenReturn(authProperties);
         when(authProperties.getOtpExpiryMinutes()).thenReturn(10);
 
@@ -100,17 +105,14 @@ class AuthServiceTest {
         authService.requestOtp(testApplication, email);
 
         // Assert
-        verify(valueOps).set(anyString(), anyString(), any());
+        verify(challengeStore).issueOtp(eq(testApplication.getId()), eq(email), anyString(), eq(Duration.ofMinutes(10)));
         verify(emailService).sendOtpEmail(eq(email), anyString(), eq("Test App"));
     }
 
     @Test
-    void requestMagicLink_ShouldStoreInRedisAndSendEmail() {
+    void requestMagicLink_ShouldIssueChallengeAndSendEmail() {
         // Arrange
         String email = "user@test.com";
-        ValueOperations<String, String> valueOps = mock(ValueOperations.class);
-        when(redisTemplate.opsForValue()).thenReturn(valueOps);
-
         when(appProperties.getAuth()).thenReturn(authProperties);
         when(authProperties.getMagicLinkExpiryMinutes()).thenReturn(15);
 
@@ -118,8 +120,8 @@ class AuthServiceTest {
         authService.requestMagicLink(testApplication, email);
 
         // Assert
-        verify(valueOps).set(anyString(), anyString(), any());
-        
+        verify(challengeStore).issueMagicLink(eq(testApplication.getId()), anyString(), eq(email), eq(Duration.ofMinutes(15)));
+
         // EmailService.sendMagicLinkEmail(to, token, appId, appName)
         verify(emailService).sendMagicLinkEmail(eq(email), anyString(), eq(testApplication.getId().toString()), eq("Test App"));
     }
@@ -1,11 +1,18 @@
 package com.tokenly.backend.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tokenly.backend.dto.responce.auth.AuthResponse;
 import com.tokenly.backend.entity.Application;
+import com.tokenly.backend.entity.AuthConfig;
 import com.tokenly.backend.entity.Session;
 import com.tokenly.backend.entity.User;
-import com.tokenly.backend.repository.SessionRepository;
+import com.tokenly.backend.exception.UnauthorizedException;
 import com.tokenly.backend.security.JwtService;
+import com.tokenly.backend.security.policy.AuthPolicy;
+import com.tokenly.backend.security.revocation.TokenRevocationService;
+import com.tokenly.backend.security.session.RefreshGraceCache;
+import com.tokenly.backend.security.session.SessionState;
+import com.tokenly.backend.security.session.SessionStore;
+import com.tokenly.backend.security.util.RefreshTokenCodec;
 import com.tokenly.backend.security.util.TokenHashUtil;
 import com.tokenly.backend.service.impl.SessionServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,11 +20,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -30,7 +38,7 @@ import static org.mockito.Mockito.*;
 class SessionServiceTest {
 
     @Mock
-    private SessionRepository sessionRepository;
+    private SessionStore sessionStore;
 
     @Mock
     private JwtService jwtService;
@@ -38,21 +46,21 @@ class SessionServiceTest {
     @Mock
     private TokenHashUtil tokenHashUtil;
 
-    @Mock
-    private StringRedisTemplate redisTemplate;
+    @Spy
+    private RefreshTokenCodec refreshTokenCodec = new RefreshTokenCodec();
 
     @Mock
-    private ValueOperations<String, String> valueOperations;
+    private TokenRevocationService revocationService;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private RefreshGraceCache refreshGraceCache;
 
     @InjectMocks
     private SessionServiceImpl sessionService;
 
     private User testUser;
     private Application testApplication;
-    private Session testSession;
+    private SessionState testState;
 
     @BeforeEach
     void setUp() {
@@ -63,64 +71,224 @@ class SessionServiceTest {
         testApplication = new Application();
         testApplication.setId(UUID.randomUUID());
 
-        testSession = new Session();
-        testSession.setId(UUID.randomUUID());
-        testSession.setUser(testUser);
-        testSession.setApplication(testApplication);
-        testSession.setRefreshTokenHash("hashedToken");
-        testSession.setRevoked(false);
-        testSession.setExpiresAt(Instant.now().plusSeconds(3600));
-
-        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        testState = SessionState.builder()
+                .id(UUID.randomUUID())
+                .applicationId(testApplication.getId())
+                .refreshTokenHash("hashedToken")
+                .tokenFamily(UUID.randomUUID())
+                .userId(testUser.getId())
+                .email(testUser.getEmail())
+                .createdAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
     }
 
     @Test
     void createSession_ShouldCreateNewSession() {
         // Arrange
         when(tokenHashUtil.hash(anyString())).thenReturn("hashedToken");
-        when(sessionRepository.save(any(Session.class))).thenReturn(testSession);
+        when(sessionStore.create(any(SessionState.class), eq(0)))
+                .thenAnswer(invocation -> new SessionStore.Created(
+                        ((SessionState) invocation.getArgument(0)).toBuilder().id(testState.getId()).build(), List.of()));
 
         // Act
-        Session result = sessionService.createSession(testUser, testApplication, "rawToken", "127.0.0.1", "UserAgent");
+        Session result = sessionService.createSession(testUser, testApplication, policy(), "rawToken", "127.0.0.1", "UserAgent");
 
         // Assert
-        assertNotNull(result);
+        assertEquals(testState.getId(), result.getId());
         assertEquals(testUser, result.getUser());
         assertEquals("hashedToken", result.getRefreshTokenHash());
-        verify(sessionRepository).save(any(Session.class));
-        verify(redisTemplate).opsForValue(); // Verify redis interaction
+        verify(sessionStore).create(argThat(state -> state.getId() == null
+                && state.getUserId().equals(testUser.getId())
+                && state.getGeneration() == 0
+                && "127.0.0.1".equals(state.getIpAddress())), eq(0));
     }
 
     @Test
-    void revokeSession_ShouldRevokeAndRemoveFromRedis() {
+    void createSession_ShouldPassSessionLimit() {
         // Arrange
-        when(sessionRepository.findById(testSession.getId())).thenReturn(Optional.of(testSession));
-        when(sessionRepository.save(any(Session.class))).thenReturn(testSession);
+        AuthConfig config = new AuthConfig();
+        config.setRefreshTokenTtlMinutes(43200);
+        config.setMaxSessionsPerUser(3);
+        testApplication.setAuthConfig(config);
+        when(tokenHashUtil.hash(anyString())).thenReturn("hashedToken");
+        when(sessionStore.create(any(SessionState.class), eq(3)))
+                .thenReturn(new SessionStore.Created(testState, List.of(UUID.randomUUID())));
 
         // Act
-        sessionService.revokeSession(testSession.getId());
+        Session result = sessionService.createSession(testUser, testApplication, policy(), "rawToken", "127.0.0.1", "UserAgent");
 
         // Assert
-        assertTrue(testSession.isRevoked());
-        verify(sessionRepository).save(testSession);
-        verify(redisTemplate).delete(anyString());
+        assertEquals(testState.getId(), result.getId());
     }
 
     @Test
-    void cleanupExpiredSessions_ShouldCallRepository() {
+    void revokeSession_ShouldRevokeInStore() {
+        // Arrange
+        when(sessionStore.revoke(eq(testState.getId()), any(Instant.class))).thenReturn(true);
+
+        // Act
+        sessionService.revokeSession(testState.getId());
+
+        // Assert
+        verify(sessionStore).revoke(eq(testState.getId()), any(Instant.class));
+    }
+
+    @Test
+    void revokeSession_Unknown_ShouldThrow() {
+        // Arrange
+        UUID unknown = UUID.randomUUID();
+        when(sessionStore.revoke(eq(unknown), any(Instant.class))).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> sessionService.revokeSession(unknown));
+    }
+
+    @Test
+    void revokeSessionIfPresent_Unknown_ShouldNotThrow() {
+        // Arrange
+        UUID unknown = UUID.randomUUID();
+        when(sessionStore.revoke(eq(unknown), any(Instant.class))).thenReturn(false);
+
+        // Act & Assert
+        assertDoesNotThrow(() -> sessionService.revokeSessionIfPresent(unknown));
+        verifyNoInteractions(revocationService);
+    }
+
+    @Test
+    void cleanupExpiredSessions_ShouldPurgeStore() {
         // Act
         sessionService.cleanupExpiredSessions();
 
         // Assert
-        verify(sessionRepository).deleteByExpiresAtBeforeAndRevokedTrue(any(Instant.class));
+        verify(sessionStore).purgeExpired();
     }
 
     @Test
-    void revokeAllUserSessions_ShouldCallRepository() {
+    void revokeAllUserSessions_ShouldRevokeInStoreAndCutOffAccessTokens() {
         // Act
         sessionService.revokeAllUserSessions(testUser);
 
         // Assert
-        verify(sessionRepository).revokeAllUserSessions(eq(testUser), any(Instant.class));
+        verify(sessionStore).revokeAllForUser(eq(testUser.getId()), isNull(), any(Instant.class));
+        verify(revocationService).revokeAllForSubject(testUser.getId().toString());
+    }
+
+    @Test
+    void revokeAllUserSessionsExcept_ShouldSpareSession() {
+        // Arrange
+        UUID keep = UUID.randomUUID();
+
+        // Act
+        sessionService.revokeAllUserSessions(testUser, keep);
+
+        // Assert
+        verify(sessionStore).revokeAllForUser(eq(testUser.getId()), eq(keep), any(Instant.class));
+        verifyNoInteractions(revocationService);
+    }
+
+    @Test
+    void rotate_ShouldIssuePairForSuccessor() {
+        // Arrange
+        SessionState next = testState.rotate(UUID.randomUUID(), "newHash", Instant.now().plusSeconds(3600), Instant.now());
+        when(tokenHashUtil.hash("rawToken")).thenReturn("hashedToken");
+        when(tokenHashUtil.hash("newToken")).thenReturn("newHash");
+        when(jwtService.generateRefreshToken()).thenReturn("newToken");
+        when(sessionStore.rotate(argThat(request -> request.sessionId().equals(testState.getId())
+                && request.applicationId().equals(testApplication.getId())
+                && request.presentedHash().equals("hashedToken")
+                && request.newHash().equals("newHash"))))
+                .thenReturn(new SessionStore.Rotation(SessionStore.RotationOutcome.ROTATED, testState, next));
+        when(jwtService.generateAccessToken(any(User.class), any(AuthPolicy.class), eq(next.getId()))).thenReturn("access");
+
+        // Act
+        AuthResponse response = sessionService.validateAndRotateRefreshToken(
+                testApplication, policy(), refreshTokenCodec.encode(testState.getId(), "rawToken"));
+
+        // Assert
+        RefreshTokenCodec.RefreshToken issued = refreshTokenCodec.decode(response.getRefreshToken()).orElseThrow();
+        assertEquals(next.getId(), issued.sessionId());
+        assertEquals("newToken", issued.verifier());
+        assertEquals("access", response.getAccessToken());
+        verify(refreshGraceCache, never()).put(any(), any(), any(), any());
+    }
+
+    @Test
+    void rotate_WithGraceWindow_ShouldPublishPair() {
+        // Arrange
+        AuthConfig config = new AuthConfig();
+        config.setRefreshTokenTtlMinutes(43200);
+        config.setAccessTokenTtlMinutes(60);
+        config.setRefreshGraceSeconds(10);
+        testApplication.setAuthConfig(config);
+        SessionState next = testState.rotate(UUID.randomUUID(), "newHash", Instant.now().plusSeconds(3600), Instant.now());
+        when(tokenHashUtil.hash("rawToken")).thenReturn("hashedToken");
+        when(jwtService.generateRefreshToken()).thenReturn("newToken");
+        when(sessionStore.rotate(argThat(request -> request.graceWindow().equals(Duration.ofSeconds(10)))))
+                .thenReturn(new SessionStore.Rotation(SessionStore.RotationOutcome.ROTATED, testState, next));
+
+        // Act
+        AuthResponse response = sessionService.validateAndRotateRefreshToken(
+                testApplication, policy(), refreshTokenCodec.encode(testState.getId(), "rawToken"));
+
+        // Assert
+        verify(refreshGraceCache).put(testState.getId(), "rawToken", response, Duration.ofSeconds(10));
+    }
+
+    @Test
+    void rotate_Reused_ShouldReject() {
+        // Arrange
+        when(tokenHashUtil.hash(anyString())).thenReturn("hashedToken");
+        when(sessionStore.rotate(any()))
+                .thenReturn(new SessionStore.Rotation(SessionStore.RotationOutcome.REUSED, testState, null));
+        String presented = refreshTokenCodec.encode(testState.getId(), "rawToken");
+
+        // Act & Assert
+        UnauthorizedException exception = assertThrows(UnauthorizedException.class,
+                () -> sessionService.validateAndRotateRefreshToken(testApplication, policy(), presented));
+        assertTrue(exception.getMessage().contains("reuse"));
+        verify(jwtService, never()).generateAccessToken(any(User.class), any(AuthPolicy.class), any());
+    }
+
+    @Test
+    void rotate_Invalid_ShouldReject() {
+        // Arrange
+        when(tokenHashUtil.hash(anyString())).thenReturn("hashedToken");
+        when(sessionStore.rotate(any())).thenReturn(SessionStore.Rotation.of(SessionStore.RotationOutcome.INVALID));
+        String presented = refreshTokenCodec.encode(testState.getId(), "rawToken");
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class,
+                () -> sessionService.validateAndRotateRefreshToken(testApplication, policy(), presented));
+        verifyNoInteractions(refreshGraceCache);
+    }
+
+    @Test
+    void rotate_WithinGraceWindow_ShouldReturnCachedPair() {
+        // Arrange
+        AuthResponse cached = AuthResponse.builder().accessToken("access").refreshToken("next").expiresIn(3600L).build();
+        when(tokenHashUtil.hash("rawToken")).thenReturn("hashedToken");
+        when(sessionStore.rotate(any())).thenReturn(SessionStore.Rotation.of(SessionStore.RotationOutcome.GRACE));
+        when(refreshGraceCache.await(testState.getId(), "rawToken")).thenReturn(Optional.of(cached));
+
+        // Act
+        AuthResponse response = sessionService.validateAndRotateRefreshToken(
+                testApplication, policy(), refreshTokenCodec.encode(testState.getId(), "rawToken"));
+
+        // Assert
+        assertSame(cached, response);
+        verify(jwtService, never()).generateAccessToken(any(User.class), any(AuthPolicy.class), any());
+    }
+
+    @Test
+    void rotate_MalformedToken_ShouldRejectWithoutLookup() {
+        // Act & Assert
+        assertThrows(UnauthorizedException.class,
+                () -> sessionService.validateAndRotateRefreshToken(testApplication, policy(), UUID.randomUUID().toString()));
+        verifyNoInteractions(sessionStore);
+    }
+
+    private AuthPolicy policy() {
+        return AuthPolicy.of(testApplication.getId(), testApplication.getAuthConfig(), null);
     }
 }
@@ -0,0 +1,86 @@
+package com.tokenly.backend.service;
+
+import com.tokenly.backend.dto.responce.auth.TokenIntrospection;
+import com.tokenly.backend.entity.Application;
+import com.tokenly.backend.security.token.AccessTokenVerifier;
+import com.tokenly.backend.service.impl.TokenIntrospectionServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenIntrospectionServiceTest {
+
+    @Mock
+    private AccessTokenVerifier tokenVerifier;
+
+    @InjectMocks
+    private TokenIntrospectionServiceImpl introspectionService;
+
+    private Application testApplication;
+
+    @BeforeEach
+    void setUp() {
+        testApplication = new Application();
+        testApplication.setId(UUID.randomUUID());
+    }
+
+    @Test
+    void introspect_ShouldReturnResultsInRequestOrder() {
+        // Arrange
+        Instant exp = Instant.now().plusSeconds(600);
+        when(tokenVerifier.tryVerify("valid")).thenReturn(Optional.of(claims(testApplication.getId(), exp)));
+        when(tokenVerifier.tryVerify("revoked")).thenReturn(Optional.empty());
+
+        // Act
+        List<TokenIntrospection> results = introspectionService.introspect(testApplication, List.of("revoked", "valid"));
+
+        // Assert
+        assertEquals(2, results.size());
+        assertFalse(results.get(0).isActive());
+        assertTrue(results.get(1).isActive());
+        assertEquals("user-1", results.get(1).getSub());
+        assertEquals(exp.getEpochSecond(), results.get(1).getExp());
+        assertEquals("admin", results.get(1).getClaims().get("role"));
+        assertFalse(results.get(1).getClaims().containsKey("appId"));
+    }
+
+    @Test
+    void introspect_TokenOfAnotherApplication_ShouldBeInactive() {
+        // Arrange
+        when(tokenVerifier.tryVerify("foreign"))
+                .thenReturn(Optional.of(claims(UUID.randomUUID(), Instant.now().plusSeconds(600))));
+
+        // Act
+        List<TokenIntrospection> results = introspectionService.introspect(testApplication, List.of("foreign"));
+
+        // Assert
+        assertFalse(results.get(0).isActive());
+        assertNull(results.get(0).getSub());
+    }
+
+    private Claims claims(UUID applicationId, Instant exp) {
+        Claims claims = Jwts.claims();
+        claims.setSubject("user-1");
+        claims.setId(UUID.randomUUID().toString());
+        claims.setIssuedAt(new Date());
+        claims.setExpiration(Date.from(exp));
+        claims.put("appId", applicationId.toString());
+        claims.put("role", "admin");
+        return claims;
+    }
+}
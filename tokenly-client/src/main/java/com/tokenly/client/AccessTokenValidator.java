@@ -0,0 +1,15 @@
+package com.tokenly.client;
+
+import java.util.Optional;
+
+/**
+ * Verifies access tokens. {@link IntrospectionAccessTokenValidator} asks the Tokenly server;
+ * implement this to verify some other way.
+ */
+public interface AccessTokenValidator {
+
+    /**
+     * @return claims of a correctly signed, unexpired user token; empty otherwise
+     */
+    Optional<TokenClaims> validate(String accessToken);
+}
@@ -0,0 +1,37 @@
+package com.tokenly.client;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Verifies access tokens through the server's introspection endpoint, so revocations are seen
+ * and no signing key ever leaves the server.
+ *
+ * Every call is a request; callers on a hot path should cache the claims per token until they
+ * expire, as the Spring Boot starter does. A token is treated as invalid when the server cannot
+ * be reached.
+ */
+public class IntrospectionAccessTokenValidator implements AccessTokenValidator {
+
+    private final TokenlyClient client;
+
+    /**
+     * @param client configured with the application's secret key
+     */
+    public IntrospectionAccessTokenValidator(TokenlyClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public Optional<TokenClaims> validate(String accessToken) {
+        if (accessToken == null || accessToken.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            List<Optional<TokenClaims>> results = client.introspect(List.of(accessToken));
+            return results.isEmpty() ? Optional.empty() : results.get(0);
+        } catch (TokenlyException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.tokenly.client;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Claims of a verified access token.
+ *
+ * @param claims every claim in the token, including the registered ones
+ */
+public record TokenClaims(
+        String subject,
+        String applicationId,
+        String tokenId,
+        Instant issuedAt,
+        Instant expiresAt,
+        Map<String, Object> claims
+) {
+
+    public Object get(String name) {
+        return claims.get(name);
+    }
+}
@@ -0,0 +1,23 @@
+package com.tokenly.client;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Access/refresh token pair returned by login and refresh.
+ *
+ * @param expiresAt when the access token expires, or null when the server did not say
+ */
+public record TokenSet(String accessToken, String refreshToken, Instant expiresAt) {
+
+    /**
+     * @return true when the access token expires within {@code skew} of now
+     */
+    public boolean expiresWithin(Duration skew) {
+        return expiresAt != null && !Instant.now().plus(skew).isBefore(expiresAt);
+    }
+
+    public boolean isExpired() {
+        return expiresWithin(Duration.ZERO);
+    }
+}
@@ -0,0 +1,344 @@
+package com.tokenly.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Client for the Tokenly {@code /api/auth} endpoints.
+ *
+ * One instance should be shared per application: it owns a single {@link HttpClient}, whose
+ * connection pool keeps connections to the server alive between calls. Profiles are cached per
+ * access token, and {@link #session(TokenSet)} hands out tokens that refresh themselves.
+ */
+public class TokenlyClient {
+
+    private static final String AUTH_PATH = "/api/auth";
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private final TokenlyClientConfig config;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final AccessTokenValidator tokenValidator;
+    private final Map<String, CachedProfile> profileCache = new ConcurrentHashMap<>();
+
+    public TokenlyClient(TokenlyClientConfig config) {
+        this.config = config;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(config.getConnectTimeout())
+                .build();
+        this.objectMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        if (config.getTokenValidator() != null) {
+            this.tokenValidator = config.getTokenValidator();
+        } else {
+            this.tokenValidator = config.getApiSecret() != null ? new IntrospectionAccessTokenValidator(this) : null;
+        }
+    }
+
+    public TokenlyClientConfig getConfig() {
+        return config;
+    }
+
+    public TokenSet login(String email, String password) {
+        return await(loginAsync(email, password));
+    }
+
+    public CompletableFuture<TokenSet> loginAsync(String email, String password) {
+        HttpRequest request = post("/login", Map.of("email", email, "password", password)).build();
+        return send(request).thenApply(data -> toTokenSet(data, null));
+    }
+
+    public void signup(String email, String password, Map<String, Object> customData) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("email", email);
+        body.put("password", password);
+        if (customData != null) {
+            body.put("customData", customData);
+        }
+        await(send(post("/signup", body).build()));
+    }
+
+    public void requestOtp(String email) {
+        await(send(post("/request-otp?email=" + encode(email), null).build()));
+    }
+
+    public void requestMagicLink(String email) {
+        await(send(post("/request-magic-link?email=" + encode(email), null).build()));
+    }
+
+    public TokenSet refresh(String refreshToken) {
+        return await(refreshAsync(refreshToken));
+    }
+
+    public CompletableFuture<TokenSet> refreshAsync(String refreshToken) {
+        HttpRequest request = post("/refresh", null)
+                .header("Authorization", "Bearer " + refreshToken)
+                .build();
+        return send(request).thenApply(data -> toTokenSet(data, refreshToken));
+    }
+
+    public void logout(String accessToken) {
+        profileCache.remove(accessToken);
+        await(send(post("/logout", null).header("Authorization", "Bearer " + accessToken).build()));
+    }
+
+    public void logoutAll(String accessToken) {
+        profileCache.remove(accessToken);
+        await(send(post("/logout-all", null).header("Authorization", "Bearer " + accessToken).build()));
+    }
+
+    /**
+     * Profile of the token's user. Served from cache for up to the configured TTL, never past
+     * the token's own expiry.
+     */
+    public Map<String, Object> getProfile(String accessToken) {
+        long now = System.currentTimeMillis();
+        CachedProfile cached = profileCache.get(accessToken);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.profile();
+        }
+
+        HttpRequest request = request("/profile")
+                .header("Authorization", "Bearer " + accessToken)
+                .GET()
+                .build();
+        Map<String, Object> profile = objectMapper.convertValue(await(send(request)), MAP_TYPE);
+        rememberProfile(accessToken, profile, now);
+        return profile;
+    }
+
+    public Map<String, Object> updateProfile(String accessToken, Map<String, Object> customData) {
+        profileCache.remove(accessToken);
+        HttpRequest request = request("/profile")
+                .header("Authorization", "Bearer " + accessToken)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(toJson(customData)))
+                .build();
+        return objectMapper.convertValue(await(send(request)), MAP_TYPE);
+    }
+
+    /**
+     * Verify an access token with the configured validator, by default through introspection
+     *
+     * @throws IllegalStateException when neither a secret key nor a validator is configured
+     */
+    public Optional<TokenClaims> verify(String accessToken) {
+        if (tokenValidator == null) {
+            throw new IllegalStateException("Token verification needs the application's secret key or a token validator");
+        }
+        return tokenValidator.validate(accessToken);
+    }
+
+    /**
+     * Ask the server about a batch of access tokens: signature, expiry, revocation and whether
+     * they belong to this application
+     *
+     * @return claims per token, in request order; empty for inactive tokens
+     */
+    public List<Optional<TokenClaims>> introspect(List<String> accessTokens) {
+        return await(introspectAsync(accessTokens));
+    }
+
+    public CompletableFuture<List<Optional<TokenClaims>>> introspectAsync(List<String> accessTokens) {
+        if (config.getApiSecret() == null) {
+            throw new IllegalStateException("Introspection needs the application's secret key");
+        }
+        HttpRequest request = post("/introspect", Map.of("tokens", accessTokens))
+                .header("X-API-SECRET", config.getApiSecret())
+                .build();
+        return send(request).thenApply(data -> {
+            List<Optional<TokenClaims>> results = new ArrayList<>(accessTokens.size());
+            for (JsonNode result : data.path("results")) {
+                results.add(toClaims(result));
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Wrap tokens from {@link #login} in a session that refreshes them before they expire
+     */
+    public TokenlySession session(TokenSet tokens) {
+        return new TokenlySession(this, tokens, config.getRefreshSkew());
+    }
+
+    private void rememberProfile(String accessToken, Map<String, Object> profile, long now) {
+        long ttl = config.getProfileCacheTtl().toMillis();
+        if (ttl <= 0) {
+            return;
+        }
+        long expiresAt = now + ttl;
+        Instant tokenExpiry = tokenExpiry(accessToken);
+        if (tokenExpiry != null) {
+            expiresAt = Math.min(expiresAt, tokenExpiry.toEpochMilli());
+        }
+
+        if (profileCache.size() >= config.getProfileCacheSize()) {
+            profileCache.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (profileCache.size() >= config.getProfileCacheSize()) {
+                profileCache.clear();
+            }
+        }
+        profileCache.put(accessToken, new CachedProfile(profile, expiresAt));
+    }
+
+    private TokenSet toTokenSet(JsonNode data, String previousRefreshToken) {
+        String accessToken = data.path("accessToken").asText(null);
+        String refreshToken = data.path("refreshToken").asText(previousRefreshToken);
+        JsonNode expiresIn = data.path("expiresIn");
+
+        Instant expiresAt = expiresIn.canConvertToLong()
+                ? Instant.now().plusSeconds(expiresIn.asLong())
+                : tokenExpiry(accessToken);
+        return new TokenSet(accessToken, refreshToken, expiresAt);
+    }
+
+    private Optional<TokenClaims> toClaims(JsonNode result) {
+        if (!result.path("active").asBoolean(false)) {
+            return Optional.empty();
+        }
+
+        // Same shape as a decoded token: the extra claims plus the registered ones
+        Map<String, Object> claims = new HashMap<>();
+        if (result.path("claims").isObject()) {
+            claims.putAll(objectMapper.convertValue(result.path("claims"), MAP_TYPE));
+        }
+        String subject = result.path("sub").asText(null);
+        String applicationId = result.path("appId").asText(null);
+        String tokenId = result.path("jti").asText(null);
+        Instant issuedAt = epochSecond(result.path("iat"));
+        Instant expiresAt = epochSecond(result.path("exp"));
+        putIfPresent(claims, "sub", subject);
+        putIfPresent(claims, "appId", applicationId);
+        putIfPresent(claims, "jti", tokenId);
+        putIfPresent(claims, "iat", issuedAt != null ? issuedAt.getEpochSecond() : null);
+        putIfPresent(claims, "exp", expiresAt != null ? expiresAt.getEpochSecond() : null);
+
+        return Optional.of(new TokenClaims(subject, applicationId, tokenId, issuedAt, expiresAt,
+                Collections.unmodifiableMap(claims)));
+    }
+
+    private static Instant epochSecond(JsonNode value) {
+        return value.canConvertToLong() ? Instant.ofEpochSecond(value.asLong()) : null;
+    }
+
+    private static void putIfPresent(Map<String, Object> claims, String name, Object value) {
+        if (value != null) {
+            claims.put(name, value);
+        }
+    }
+
+    /**
+     * Reads {@code exp} from a JWT payload without verifying it; only used for cache bookkeeping
+     */
+    private Instant tokenExpiry(String token) {
+        if (token == null) {
+            return null;
+        }
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            JsonNode payload = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1]));
+            JsonNode exp = payload.path("exp");
+            return exp.canConvertToLong() ? Instant.ofEpochSecond(exp.asLong()) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(config.getBaseUrl() + AUTH_PATH + path))
+                .timeout(config.getRequestTimeout())
+                .header("X-API-KEY", config.getApiKey())
+                .header("Accept", "application/json");
+    }
+
+    private HttpRequest.Builder post(String path, Object body) {
+        if (body == null) {
+            return request(path).POST(HttpRequest.BodyPublishers.noBody());
+        }
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(body)));
+    }
+
+    private CompletableFuture<JsonNode> send(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                        throw new TokenlyException("Tokenly request to " + request.uri().getPath() + " failed", cause);
+                    }
+                    return unwrap(response);
+                });
+    }
+
+    /**
+     * Unwraps the {@code ApiResponse} envelope, turning error statuses and failures into exceptions
+     */
+    private JsonNode unwrap(HttpResponse<String> response) {
+        JsonNode body;
+        try {
+            String text = response.body();
+            body = text == null || text.isBlank() ? MissingNode.getInstance() : objectMapper.readTree(text);
+        } catch (JsonProcessingException e) {
+            body = MissingNode.getInstance();
+        }
+
+        int status = response.statusCode();
+        if (status >= 400 || !body.path("success").asBoolean(true)) {
+            throw new TokenlyException(status, body.path("message").asText("HTTP " + status));
+        }
+        return body.path("data");
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request body is not serializable", e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TokenlyException tokenlyException) {
+                throw tokenlyException;
+            }
+            throw new TokenlyException("Tokenly request failed", e.getCause());
+        }
+    }
+
+    private record CachedProfile(Map<String, Object> profile, long expiresAt) {
+    }
+}
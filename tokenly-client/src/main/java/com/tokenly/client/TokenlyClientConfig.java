@@ -0,0 +1,145 @@
+package com.tokenly.client;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Settings for {@link TokenlyClient}. Create with {@link #builder(String, String)}.
+ */
+public final class TokenlyClientConfig {
+
+    private final URI baseUrl;
+    private final String apiKey;
+    private final String apiSecret;
+    private final Duration connectTimeout;
+    private final Duration requestTimeout;
+    private final Duration refreshSkew;
+    private final Duration profileCacheTtl;
+    private final int profileCacheSize;
+    private final AccessTokenValidator tokenValidator;
+
+    private TokenlyClientConfig(Builder builder) {
+        String url = builder.baseUrl.endsWith("/") ? builder.baseUrl.substring(0, builder.baseUrl.length() - 1) : builder.baseUrl;
+        this.baseUrl = URI.create(url);
+        this.apiKey = builder.apiKey;
+        this.apiSecret = builder.apiSecret;
+        this.connectTimeout = builder.connectTimeout;
+        this.requestTimeout = builder.requestTimeout;
+        this.refreshSkew = builder.refreshSkew;
+        this.profileCacheTtl = builder.profileCacheTtl;
+        this.profileCacheSize = builder.profileCacheSize;
+        this.tokenValidator = builder.tokenValidator;
+    }
+
+    /**
+     * @param baseUrl server root, e.g. {@code https://auth.example.com}
+     * @param apiKey  the application's public key ({@code pk_...})
+     */
+    public static Builder builder(String baseUrl, String apiKey) {
+        return new Builder(baseUrl, apiKey);
+    }
+
+    public URI getBaseUrl() {
+        return baseUrl;
+    }
+
+    public String getApiKey() {
+        return apiKey;
+    }
+
+    public String getApiSecret() {
+        return apiSecret;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public Duration getRefreshSkew() {
+        return refreshSkew;
+    }
+
+    public Duration getProfileCacheTtl() {
+        return profileCacheTtl;
+    }
+
+    public int getProfileCacheSize() {
+        return profileCacheSize;
+    }
+
+    public AccessTokenValidator getTokenValidator() {
+        return tokenValidator;
+    }
+
+    public static final class Builder {
+
+        private final String baseUrl;
+        private final String apiKey;
+        private String apiSecret;
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private Duration requestTimeout = Duration.ofSeconds(10);
+        private Duration refreshSkew = Duration.ofSeconds(30);
+        private Duration profileCacheTtl = Duration.ofSeconds(60);
+        private int profileCacheSize = 1_000;
+        private AccessTokenValidator tokenValidator;
+
+        private Builder(String baseUrl, String apiKey) {
+            this.baseUrl = Objects.requireNonNull(baseUrl, "baseUrl");
+            this.apiKey = Objects.requireNonNull(apiKey, "apiKey");
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        /**
+         * How long before expiry a session refreshes its access token (default 30s)
+         */
+        public Builder refreshSkew(Duration refreshSkew) {
+            this.refreshSkew = refreshSkew;
+            return this;
+        }
+
+        /**
+         * Upper bound on how long a fetched profile is reused (default 60s); zero disables caching
+         */
+        public Builder profileCacheTtl(Duration profileCacheTtl) {
+            this.profileCacheTtl = profileCacheTtl;
+            return this;
+        }
+
+        public Builder profileCacheSize(int profileCacheSize) {
+            this.profileCacheSize = profileCacheSize;
+            return this;
+        }
+
+        /**
+         * The application's secret key ({@code sk_...}), which token introspection requires. Only
+         * set it in server-side code.
+         */
+        public Builder apiSecret(String apiSecret) {
+            this.apiSecret = apiSecret;
+            return this;
+        }
+
+        public Builder tokenValidator(AccessTokenValidator tokenValidator) {
+            this.tokenValidator = tokenValidator;
+            return this;
+        }
+
+        public TokenlyClientConfig build() {
+            return new TokenlyClientConfig(this);
+        }
+    }
+}
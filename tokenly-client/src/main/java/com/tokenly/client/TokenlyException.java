@@ -0,0 +1,28 @@
+package com.tokenly.client;
+
+/**
+ * Raised when the Tokenly API rejects a call or cannot be reached.
+ * {@link #getStatus()} is the HTTP status, or 0 when no response was received.
+ */
+public class TokenlyException extends RuntimeException {
+
+    private final int status;
+
+    public TokenlyException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public TokenlyException(String message, Throwable cause) {
+        super(message, cause);
+        this.status = 0;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public boolean isUnauthorized() {
+        return status == 401;
+    }
+}
@@ -0,0 +1,131 @@
+package com.tokenly.client;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * A logged-in user's tokens, refreshed before the access token expires.
+ *
+ * Inside the refresh window the current token is still handed out while a refresh runs in the
+ * background; only an already-expired token makes callers wait. Concurrent callers share one
+ * in-flight refresh, so the refresh token is only ever presented once.
+ *
+ * A refresh the server rejects (4xx) is not retried: the refresh token is dead and the user has
+ * to log in again. Unreachable or failing servers are retried with exponential backoff; until
+ * then callers needing a new token get the last failure without another request.
+ */
+public class TokenlySession {
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(1);
+
+    private final TokenlyClient client;
+    private final Duration refreshSkew;
+    private final Object lock = new Object();
+
+    private volatile TokenSet tokens;
+    private CompletableFuture<TokenSet> inFlight; // guarded by lock
+    private Throwable lastFailure; // guarded by lock
+    private boolean rejected; // guarded by lock
+    private int consecutiveFailures; // guarded by lock
+    private long retryAtNanos; // guarded by lock
+
+    TokenlySession(TokenlyClient client, TokenSet tokens, Duration refreshSkew) {
+        this.client = client;
+        this.tokens = tokens;
+        this.refreshSkew = refreshSkew;
+    }
+
+    /**
+     * @return a usable access token, refreshing first if the current one has expired
+     * @throws TokenlyException when the token has expired and cannot be refreshed (yet)
+     */
+    public String accessToken() {
+        TokenSet current = tokens;
+        if (!current.expiresWithin(refreshSkew)) {
+            return current.accessToken();
+        }
+
+        CompletableFuture<TokenSet> refresh = refreshAsync();
+        if (!current.isExpired()) {
+            return current.accessToken();
+        }
+        return TokenlyClient.await(refresh).accessToken();
+    }
+
+    public TokenSet tokens() {
+        return tokens;
+    }
+
+    /**
+     * Refresh unless the tokens are still outside the refresh window, joining any refresh
+     * already in flight. Fails at once with the last failure while backing off or once the
+     * server has rejected the refresh token.
+     */
+    public CompletableFuture<TokenSet> refreshAsync() {
+        CompletableFuture<TokenSet> result;
+        String refreshToken;
+        synchronized (lock) {
+            if (inFlight != null) {
+                return inFlight;
+            }
+            TokenSet current = tokens;
+            if (!current.expiresWithin(refreshSkew)) {
+                return CompletableFuture.completedFuture(current);
+            }
+            if (rejected || (lastFailure != null && System.nanoTime() - retryAtNanos < 0)) {
+                return CompletableFuture.failedFuture(lastFailure);
+            }
+            result = new CompletableFuture<>();
+            inFlight = result;
+            refreshToken = current.refreshToken();
+        }
+
+        client.refreshAsync(refreshToken).whenComplete((refreshed, error) -> {
+            synchronized (lock) {
+                if (refreshed != null) {
+                    tokens = refreshed;
+                    lastFailure = null;
+                    consecutiveFailures = 0;
+                } else {
+                    recordFailure(error);
+                }
+                inFlight = null;
+            }
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(refreshed);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return whether the server has rejected the refresh token, so only a new login helps
+     */
+    public boolean isRejected() {
+        synchronized (lock) {
+            return rejected;
+        }
+    }
+
+    // Caller holds lock
+    private void recordFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        lastFailure = cause;
+        // 429 and 5xx are the server's trouble, not the token's
+        if (cause instanceof TokenlyException e && e.getStatus() >= 400 && e.getStatus() < 500 && e.getStatus() != 429) {
+            rejected = true;
+            return;
+        }
+        consecutiveFailures++;
+        long backoff = Math.min(MAX_BACKOFF.toNanos(), INITIAL_BACKOFF.toNanos() << Math.min(consecutiveFailures - 1, 16));
+        retryAtNanos = System.nanoTime() + backoff;
+    }
+
+    public void logout() {
+        client.logout(tokens.accessToken());
+    }
+}
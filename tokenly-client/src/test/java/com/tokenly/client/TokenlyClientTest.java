@@ -0,0 +1,248 @@
+package com.tokenly.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenlyClientTest {
+
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hs256-signing";
+
+    private HttpServer server;
+    private TokenlyClient client;
+    private final AtomicInteger refreshCalls = new AtomicInteger();
+    private final AtomicInteger refreshStatus = new AtomicInteger(200);
+    private final AtomicInteger profileCalls = new AtomicInteger();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/auth/login", exchange ->
+                respond(exchange, 200, tokenBody(accessToken("app-1", 3600), "refresh-1", 3600)));
+        server.createContext("/api/auth/refresh", exchange -> {
+            refreshCalls.incrementAndGet();
+            if (refreshStatus.get() != 200) {
+                respond(exchange, refreshStatus.get(), "{\"success\":false,\"message\":\"Refresh failed\"}");
+                return;
+            }
+            sleep(200);
+            respond(exchange, 200, tokenBody(accessToken("app-1", 3600), "refresh-2", 3600));
+        });
+        server.createContext("/api/auth/profile", exchange -> {
+            profileCalls.incrementAndGet();
+            respond(exchange, 200, "{\"success\":true,\"data\":{\"email\":\"user@example.com\"}}");
+        });
+        server.createContext("/api/auth/introspect", exchange -> {
+            if (!"sk_test".equals(exchange.getRequestHeaders().getFirst("X-API-SECRET"))) {
+                respond(exchange, 401, "{\"success\":false,\"message\":\"A valid secret key is required\"}");
+                return;
+            }
+            List<String> results = new ArrayList<>();
+            for (JsonNode token : objectMapper.readTree(exchange.getRequestBody()).path("tokens")) {
+                results.add(introspection(token.asText()));
+            }
+            respond(exchange, 200, "{\"success\":true,\"data\":{\"results\":[" + String.join(",", results) + "]}}");
+        });
+        server.createContext("/api/auth/logout", exchange ->
+                respond(exchange, 401, "{\"success\":false,\"message\":\"Invalid token\"}"));
+        server.start();
+
+        client = new TokenlyClient(TokenlyClientConfig
+                .builder("http://127.0.0.1:" + server.getAddress().getPort(), "pk_test")
+                .apiSecret("sk_test")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void login_ShouldReturnTokensWithExpiry() {
+        TokenSet tokens = client.login("user@example.com", "password");
+
+        assertEquals("refresh-1", tokens.refreshToken());
+        assertNotNull(tokens.expiresAt());
+        assertFalse(tokens.isExpired());
+    }
+
+    @Test
+    void expiredSession_ConcurrentCallers_ShouldShareOneRefresh() {
+        TokenlySession session = client.session(new TokenSet(accessToken("app-1", -10), "refresh-1", Instant.now().minusSeconds(10)));
+
+        List<CompletableFuture<String>> callers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            callers.add(CompletableFuture.supplyAsync(session::accessToken));
+        }
+        callers.forEach(CompletableFuture::join);
+
+        assertEquals(1, refreshCalls.get());
+        assertEquals("refresh-2", session.tokens().refreshToken());
+    }
+
+    @Test
+    void sessionInsideRefreshWindow_ShouldKeepServingCurrentToken() {
+        String current = accessToken("app-1", 10);
+        TokenlySession session = client.session(new TokenSet(current, "refresh-1", Instant.now().plusSeconds(10)));
+
+        assertEquals(current, session.accessToken());
+        session.refreshAsync().join();
+
+        assertEquals(1, refreshCalls.get());
+        assertNotEquals(current, session.accessToken());
+    }
+
+    @Test
+    void refreshRejected_ShouldNotRetry() {
+        refreshStatus.set(401);
+        TokenlySession session = client.session(new TokenSet(accessToken("app-1", -10), "refresh-1", Instant.now().minusSeconds(10)));
+
+        TokenlyException first = assertThrows(TokenlyException.class, session::accessToken);
+        TokenlyException second = assertThrows(TokenlyException.class, session::accessToken);
+
+        assertTrue(first.isUnauthorized());
+        assertSame(first, second);
+        assertTrue(session.isRejected());
+        assertEquals(1, refreshCalls.get());
+    }
+
+    @Test
+    void refreshServerError_ShouldBackOffBeforeRetrying() {
+        refreshStatus.set(503);
+        TokenlySession session = client.session(new TokenSet(accessToken("app-1", -10), "refresh-1", Instant.now().minusSeconds(10)));
+
+        assertThrows(TokenlyException.class, session::accessToken);
+        assertThrows(TokenlyException.class, session::accessToken);
+
+        assertFalse(session.isRejected());
+        assertEquals(1, refreshCalls.get());
+
+        refreshStatus.set(200);
+        sleep(1100);
+        assertNotNull(session.accessToken());
+        assertEquals(2, refreshCalls.get());
+    }
+
+    @Test
+    void getProfile_ShouldBeCachedPerToken() {
+        String token = accessToken("app-1", 3600);
+
+        client.getProfile(token);
+        client.getProfile(token);
+
+        assertEquals(1, profileCalls.get());
+    }
+
+    @Test
+    void verify_ShouldIntrospectWithSecretKey() {
+        Optional<TokenClaims> claims = client.verify(accessToken("app-1", 3600));
+
+        assertTrue(claims.isPresent());
+        assertEquals("app-1", claims.get().applicationId());
+        assertEquals("admin", claims.get().get("role"));
+        assertNotNull(claims.get().expiresAt());
+        assertTrue(client.verify(accessToken("app-2", 3600)).isEmpty());
+        assertTrue(client.verify(accessToken("app-1", -10)).isEmpty());
+    }
+
+    @Test
+    void introspect_ShouldAnswerPerTokenInOrder() {
+        List<Optional<TokenClaims>> results = client.introspect(List.of(accessToken("app-1", 3600), "garbage"));
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isPresent());
+        assertTrue(results.get(1).isEmpty());
+    }
+
+    @Test
+    void errorResponses_ShouldSurfaceStatusAndMessage() {
+        TokenlyException e = assertThrows(TokenlyException.class, () -> client.logout("bad"));
+
+        assertTrue(e.isUnauthorized());
+        assertEquals("Invalid token", e.getMessage());
+    }
+
+    private static String accessToken(String applicationId, long ttlSeconds) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(UUID.randomUUID().toString())
+                .claim("appId", applicationId)
+                .claim("role", "admin")
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plusSeconds(ttlSeconds)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * What the server answers: inactive unless correctly signed, unexpired and issued to app-1
+     */
+    private static String introspection(String token) {
+        Claims claims;
+        try {
+            claims = Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return "{\"active\":false}";
+        }
+        if (!"app-1".equals(claims.get("appId", String.class))) {
+            return "{\"active\":false}";
+        }
+        return "{\"active\":true,\"sub\":\"" + claims.getSubject() + "\",\"appId\":\"app-1\",\"jti\":\"" + claims.getId()
+                + "\",\"iat\":" + claims.getIssuedAt().toInstant().getEpochSecond()
+                + ",\"exp\":" + claims.getExpiration().toInstant().getEpochSecond()
+                + ",\"claims\":{\"role\":\"" + claims.get("role", String.class) + "\"}}";
+    }
+
+    private static String tokenBody(String accessToken, String refreshToken, long expiresIn) {
+        return "{\"success\":true,\"data\":{\"accessToken\":\"" + accessToken + "\",\"refreshToken\":\""
+                + refreshToken + "\",\"expiresIn\":" + expiresIn + "}}";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.tokenly.spring.autoconfigure;
+
+import com.tokenly.client.AccessTokenValidator;
+import com.tokenly.client.IntrospectionAccessTokenValidator;
+import com.tokenly.client.TokenlyClient;
+import com.tokenly.client.TokenlyClientConfig;
+import com.tokenly.spring.security.CachingTokenVerifier;
+import com.tokenly.spring.security.TokenRevocationState;
+import com.tokenly.spring.security.TokenlyAuthenticationFilter;
+import com.tokenly.spring.security.TokenlyAuthoritiesMapper;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+/**
+ * Authenticates Tokenly access tokens in services that receive them.
+ *
+ * Active once {@code tokenly.resource-server.base-url} is set. Tokens are checked through the
+ * server's introspection endpoint once each and their claims cached until they expire; define an
+ * {@link AccessTokenValidator} bean to verify them another way. Services that define their own
+ * {@link SecurityFilterChain} add the {@link TokenlyAuthenticationFilter} bean to it themselves;
+ * otherwise a stateless chain requiring authentication on every request is provided.
+ */
+@AutoConfiguration(before = SecurityAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(SecurityFilterChain.class)
+@ConditionalOnProperty(prefix = "tokenly.resource-server", name = "base-url")
+@EnableConfigurationProperties(TokenlyResourceServerProperties.class)
+public class TokenlyResourceServerAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TokenlyClient tokenlyClient(TokenlyResourceServerProperties properties) {
+        return new TokenlyClient(TokenlyClientConfig.builder(properties.getBaseUrl(), properties.getApiKey())
+                .apiSecret(properties.getApiSecret())
+                .build());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AccessTokenValidator tokenlyAccessTokenValidator(TokenlyClient tokenlyClient) {
+        return new IntrospectionAccessTokenValidator(tokenlyClient);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TokenRevocationState tokenlyRevocationState(TokenlyResourceServerProperties properties) {
+        return new TokenRevocationState(properties.getRevocation().getEpochRetention());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CachingTokenVerifier tokenlyTokenVerifier(
+            AccessTokenValidator validator,
+            TokenRevocationState revocationState,
+            TokenlyResourceServerProperties properties
+    ) {
+        return new CachingTokenVerifier(validator, revocationState, properties.getClaimsCacheSize());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TokenlyAuthoritiesMapper tokenlyAuthoritiesMapper(TokenlyResourceServerProperties properties) {
+        return new TokenlyAuthoritiesMapper(properties.getApplicationAuthorityPrefix(), properties.getAuthorityClaims());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TokenlyAuthenticationFilter tokenlyAuthenticationFilter(
+            CachingTokenVerifier tokenVerifier,
+            TokenlyAuthoritiesMapper authoritiesMapper
+    ) {
+        return new TokenlyAuthenticationFilter(tokenVerifier, authoritiesMapper);
+    }
+
+    /**
+     * The filter belongs inside the security chain, not in the servlet filter chain as well
+     */
+    @Bean
+    public FilterRegistrationBean<TokenlyAuthenticationFilter> tokenlyAuthenticationFilterRegistration(
+            TokenlyAuthenticationFilter filter
+    ) {
+        FilterRegistrationBean<TokenlyAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnMissingBean(SecurityFilterChain.class)
+    static class DefaultSecurityChainConfiguration {
+
+        @Bean
+        public SecurityFilterChain tokenlySecurityFilterChain(
+                HttpSecurity http,
+                TokenlyAuthenticationFilter tokenlyAuthenticationFilter
+        ) throws Exception {
+            return http
+                    .csrf(AbstractHttpConfigurer::disable)
+                    .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                    .authorizeHttpRequests(auth -> auth.anyRequest().authenticated())
+                    .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                    .addFilterBefore(tokenlyAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                    .build();
+        }
+    }
+}
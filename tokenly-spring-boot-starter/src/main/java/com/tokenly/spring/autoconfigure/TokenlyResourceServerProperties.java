@@ -0,0 +1,170 @@
+package com.tokenly.spring.autoconfigure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "tokenly.resource-server")
+public class TokenlyResourceServerProperties {
+
+    /**
+     * Tokenly server root, e.g. {@code https://auth.example.com}
+     */
+    private String baseUrl;
+
+    /**
+     * The application's public key ({@code pk_...}); only its tokens are accepted
+     */
+    private String apiKey;
+
+    /**
+     * The application's secret key ({@code sk_...}), required by token introspection
+     */
+    private String apiSecret;
+
+    private int claimsCacheSize = 10_000;
+
+    private String applicationAuthorityPrefix = "APP_";
+
+    /**
+     * Claim name to authority prefix, e.g. {@code roles=ROLE_}
+     */
+    private Map<String, String> authorityClaims = new LinkedHashMap<>();
+
+    private final Revocation revocation = new Revocation();
+
+    public static class Revocation {
+
+        private boolean enabled = true;
+        private String channel = "tokenly:revocation";
+        private String epochKey = "tokenly:revoked:epochs";
+        private String jtiKey = "tokenly:revoked:jti";
+
+        /**
+         * How long a token id revoked over pub/sub is remembered; at least the access-token TTL
+         */
+        private Duration jtiRetention = Duration.ofHours(1);
+
+        /**
+         * How long a subject's revocation epoch is kept: the longest access-token TTL any
+         * application may configure. Matches Tokenly's {@code app.revocation.epoch-retention-minutes}.
+         */
+        private Duration epochRetention = Duration.ofMinutes(1440);
+
+        /**
+         * How often revocations are reloaded from Redis in case pub/sub messages were missed;
+         * zero disables (they are still reloaded whenever the subscription reconnects)
+         */
+        private Duration resyncInterval = Duration.ofMinutes(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getChannel() {
+            return channel;
+        }
+
+        public void setChannel(String channel) {
+            this.channel = channel;
+        }
+
+        public String getEpochKey() {
+            return epochKey;
+        }
+
+        public void setEpochKey(String epochKey) {
+            this.epochKey = epochKey;
+        }
+
+        public String getJtiKey() {
+            return jtiKey;
+        }
+
+        public void setJtiKey(String jtiKey) {
+            this.jtiKey = jtiKey;
+        }
+
+        public Duration getJtiRetention() {
+            return jtiRetention;
+        }
+
+        public void setJtiRetention(Duration jtiRetention) {
+            this.jtiRetention = jtiRetention;
+        }
+
+        public Duration getEpochRetention() {
+            return epochRetention;
+        }
+
+        public void setEpochRetention(Duration epochRetention) {
+            this.epochRetention = epochRetention;
+        }
+
+        public Duration getResyncInterval() {
+            return resyncInterval;
+        }
+
+        public void setResyncInterval(Duration resyncInterval) {
+            this.resyncInterval = resyncInterval;
+        }
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public String getApiKey() {
+        return apiKey;
+    }
+
+    public void setApiKey(String apiKey) {
+        this.apiKey = apiKey;
+    }
+
+    public String getApiSecret() {
+        return apiSecret;
+    }
+
+    public void setApiSecret(String apiSecret) {
+        this.apiSecret = apiSecret;
+    }
+
+    public int getClaimsCacheSize() {
+        return claimsCacheSize;
+    }
+
+    public void setClaimsCacheSize(int claimsCacheSize) {
+        this.claimsCacheSize = claimsCacheSize;
+    }
+
+    public String getApplicationAuthorityPrefix() {
+        return applicationAuthorityPrefix;
+    }
+
+    public void setApplicationAuthorityPrefix(String applicationAuthorityPrefix) {
+        this.applicationAuthorityPrefix = applicationAuthorityPrefix;
+    }
+
+    public Map<String, String> getAuthorityClaims() {
+        return authorityClaims;
+    }
+
+    public void setAuthorityClaims(Map<String, String> authorityClaims) {
+        this.authorityClaims = authorityClaims;
+    }
+
+    public Revocation getRevocation() {
+        return revocation;
+    }
+}
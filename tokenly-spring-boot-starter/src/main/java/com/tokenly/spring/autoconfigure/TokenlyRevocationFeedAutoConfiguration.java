@@ -0,0 +1,55 @@
+package com.tokenly.spring.autoconfigure;
+
+import com.tokenly.spring.security.RedisRevocationFeed;
+import com.tokenly.spring.security.TokenRevocationState;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Subscribes to Tokenly's revocation channel when the service has a Redis connection to the
+ * same Redis as the Tokenly server
+ */
+@AutoConfiguration(after = {RedisAutoConfiguration.class, TokenlyResourceServerAutoConfiguration.class})
+@ConditionalOnClass(RedisMessageListenerContainer.class)
+@ConditionalOnBean({RedisConnectionFactory.class, TokenRevocationState.class})
+@ConditionalOnProperty(prefix = "tokenly.resource-server.revocation", name = "enabled", matchIfMissing = true)
+public class TokenlyRevocationFeedAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(name = "tokenlyRevocationListenerContainer")
+    public RedisMessageListenerContainer tokenlyRevocationListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RedisRevocationFeed tokenlyRevocationFeed(
+            RedisConnectionFactory connectionFactory,
+            RedisMessageListenerContainer tokenlyRevocationListenerContainer,
+            TokenRevocationState revocationState,
+            TokenlyResourceServerProperties properties
+    ) {
+        TokenlyResourceServerProperties.Revocation revocation = properties.getRevocation();
+        return new RedisRevocationFeed(
+                new StringRedisTemplate(connectionFactory),
+                tokenlyRevocationListenerContainer,
+                revocationState,
+                revocation.getChannel(),
+                revocation.getEpochKey(),
+                revocation.getJtiKey(),
+                revocation.getJtiRetention(),
+                revocation.getEpochRetention(),
+                revocation.getResyncInterval()
+        );
+    }
+}
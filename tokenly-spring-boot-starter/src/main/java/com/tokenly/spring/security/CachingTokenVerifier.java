@@ -0,0 +1,69 @@
+package com.tokenly.spring.security;
+
+import com.tokenly.client.AccessTokenValidator;
+import com.tokenly.client.TokenClaims;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Verifies access tokens locally, caching parsed claims until the token expires.
+ * Signature checks happen once per token; revocation is re-checked on every call.
+ * The cache is a bounded LRU: a full cache drops its least recently used token in O(1).
+ */
+public class CachingTokenVerifier {
+
+    private final AccessTokenValidator validator;
+    private final TokenRevocationState revocationState;
+    private final Map<String, TokenClaims> cache;
+
+    public CachingTokenVerifier(AccessTokenValidator validator, TokenRevocationState revocationState, int maxEntries) {
+        this.validator = validator;
+        this.revocationState = revocationState;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenClaims> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public Optional<TokenClaims> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        Instant now = Instant.now();
+        TokenClaims claims;
+        synchronized (cache) {
+            claims = cache.get(token);
+        }
+
+        if (claims == null) {
+            Optional<TokenClaims> validated = validator.validate(token);
+            if (validated.isEmpty()) {
+                return Optional.empty();
+            }
+            claims = validated.get();
+            synchronized (cache) {
+                cache.put(token, claims);
+            }
+        } else if (isExpired(claims, now)) {
+            synchronized (cache) {
+                cache.remove(token);
+            }
+            return Optional.empty();
+        }
+
+        if (revocationState.isRevoked(claims)) {
+            return Optional.empty();
+        }
+        return Optional.of(claims);
+    }
+
+    private boolean isExpired(TokenClaims claims, Instant now) {
+        return claims.expiresAt() != null && !claims.expiresAt().isAfter(now);
+    }
+}
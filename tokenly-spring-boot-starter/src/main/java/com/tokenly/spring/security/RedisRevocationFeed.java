@@ -0,0 +1,144 @@
+package com.tokenly.spring.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps {@link TokenRevocationState} in step with Tokenly's revocation channel.
+ *
+ * On startup the current epochs and denylisted tokens are loaded from Tokenly's sorted sets;
+ * after that every "sub:" and "jti:" message is applied as it is published. Pub/sub drops
+ * messages while disconnected, so the sorted sets are reloaded whenever the subscription is
+ * (re)established and every {@code resyncInterval}.
+ */
+public class RedisRevocationFeed implements MessageListener, SubscriptionListener, InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisRevocationFeed.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final TokenRevocationState state;
+    private final String channel;
+    private final String epochKey;
+    private final String jtiKey;
+    private final Duration jtiRetention;
+    private final Duration epochRetention;
+    private final Duration resyncInterval;
+    private ScheduledExecutorService resync;
+
+    public RedisRevocationFeed(
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            TokenRevocationState state,
+            String channel,
+            String epochKey,
+            String jtiKey,
+            Duration jtiRetention,
+            Duration epochRetention,
+            Duration resyncInterval
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.state = state;
+        this.channel = channel;
+        this.epochKey = epochKey;
+        this.jtiKey = jtiKey;
+        this.jtiRetention = jtiRetention;
+        this.epochRetention = epochRetention;
+        this.resyncInterval = resyncInterval;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+        load();
+        if (resyncInterval != null && !resyncInterval.isZero() && !resyncInterval.isNegative()) {
+            resync = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "tokenly-revocation-resync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = resyncInterval.toMillis();
+            resync.scheduleWithFixedDelay(this::load, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (resync != null) {
+            resync.shutdownNow();
+        }
+    }
+
+    /**
+     * Also called when the container resubscribes after losing its connection
+     */
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        load();
+    }
+
+    /**
+     * Load revocations published before this service subscribed or while it was disconnected.
+     * Epochs older than the longest token lifetime cannot revoke a live token and are skipped.
+     */
+    public void load() {
+        try {
+            long now = Instant.now().getEpochSecond();
+            Set<ZSetOperations.TypedTuple<String>> epochs = redisTemplate.opsForZSet()
+                    .rangeByScoreWithScores(epochKey, now - epochRetention.getSeconds(), Double.POSITIVE_INFINITY);
+            if (epochs != null) {
+                for (ZSetOperations.TypedTuple<String> tuple : epochs) {
+                    if (tuple.getValue() != null && tuple.getScore() != null) {
+                        state.revokeSubject(tuple.getValue(), tuple.getScore().longValue());
+                    }
+                }
+            }
+
+            Set<ZSetOperations.TypedTuple<String>> tokens =
+                    redisTemplate.opsForZSet().rangeByScoreWithScores(jtiKey, now, Double.POSITIVE_INFINITY);
+            if (tokens != null) {
+                for (ZSetOperations.TypedTuple<String> tuple : tokens) {
+                    if (tuple.getValue() != null && tuple.getScore() != null) {
+                        state.revokeToken(tuple.getValue(), tuple.getScore().longValue());
+                    }
+                }
+            }
+            state.purge();
+        } catch (Exception e) {
+            log.warn("Could not load Tokenly revocations from Redis: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+
+        if (body.startsWith("jti:")) {
+            // The message carries no expiry; keep the id for as long as a token can live
+            state.revokeToken(body.substring(4), Instant.now().plus(jtiRetention).getEpochSecond());
+        } else if (body.startsWith("sub:")) {
+            int separator = body.lastIndexOf(':');
+            state.revokeSubject(body.substring(4, separator), Long.parseLong(body.substring(separator + 1)));
+        } else {
+            log.debug("Ignoring unknown revocation message: {}", body);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.tokenly.spring.security;
+
+import com.tokenly.client.TokenClaims;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local copy of Tokenly's revocations: per-subject "not before" epochs and revoked token ids.
+ * Fed by {@code RedisRevocationFeed} when Redis is available; empty (nothing revoked) otherwise.
+ */
+public class TokenRevocationState {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final Map<String, Long> notBefore = new ConcurrentHashMap<>();
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>(); // jti -> expiry (epoch seconds)
+    private final long maxTokenLifetimeSeconds;
+
+    public TokenRevocationState() {
+        this(Duration.ofMinutes(1440));
+    }
+
+    /**
+     * @param maxTokenLifetime the longest access-token TTL; a subject epoch older than this can no
+     *                         longer match an unexpired token and is dropped
+     */
+    public TokenRevocationState(Duration maxTokenLifetime) {
+        this.maxTokenLifetimeSeconds = maxTokenLifetime.getSeconds();
+    }
+
+    /**
+     * Tokens issued to {@code subject} before {@code epochSecond} are revoked
+     */
+    public void revokeSubject(String subject, long epochSecond) {
+        if (notBefore.size() >= PURGE_THRESHOLD) {
+            purge();
+        }
+        notBefore.merge(subject, epochSecond, Math::max);
+    }
+
+    /**
+     * Remember a revoked token id until {@code expiresAtEpochSecond}, after which the token is
+     * rejected for being expired anyway
+     */
+    public void revokeToken(String jti, long expiresAtEpochSecond) {
+        if (revokedTokens.size() >= PURGE_THRESHOLD) {
+            purge();
+        }
+        revokedTokens.merge(jti, expiresAtEpochSecond, Math::max);
+    }
+
+    /**
+     * Drop revocations no unexpired token can match: token ids past their expiry and subject
+     * epochs older than the longest access-token lifetime
+     */
+    public void purge() {
+        long now = Instant.now().getEpochSecond();
+        revokedTokens.values().removeIf(expiry -> expiry < now);
+        notBefore.values().removeIf(epoch -> epoch < now - maxTokenLifetimeSeconds);
+    }
+
+    public boolean isRevoked(TokenClaims claims) {
+        Long epoch = claims.subject() != null ? notBefore.get(claims.subject()) : null;
+        if (epoch != null && (claims.issuedAt() == null || claims.issuedAt().getEpochSecond() < epoch)) {
+            return true;
+        }
+        return claims.tokenId() != null && revokedTokens.containsKey(claims.tokenId());
+    }
+}
@@ -0,0 +1,55 @@
+package com.tokenly.spring.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates requests carrying a valid Tokenly bearer token.
+ *
+ * Invalid tokens leave the request unauthenticated; the application's authorization rules and
+ * entry point decide the response.
+ */
+public class TokenlyAuthenticationFilter extends OncePerRequestFilter {
+
+    private final CachingTokenVerifier tokenVerifier;
+    private final TokenlyAuthoritiesMapper authoritiesMapper;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    public TokenlyAuthenticationFilter(CachingTokenVerifier tokenVerifier, TokenlyAuthoritiesMapper authoritiesMapper) {
+        this.tokenVerifier = tokenVerifier;
+        this.authoritiesMapper = authoritiesMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String header = request.getHeader("Authorization");
+        if (header != null && header.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String token = header.substring(7);
+            tokenVerifier.verify(token).ifPresent(claims -> {
+                TokenlyAuthenticationToken authentication =
+                        new TokenlyAuthenticationToken(claims, token, authoritiesMapper.map(claims));
+                authentication.setDetails(detailsSource.buildDetails(request));
+
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                SecurityContextHolder.setContext(context);
+            });
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,38 @@
+package com.tokenly.spring.security;
+
+import com.tokenly.client.TokenClaims;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * Authentication for a verified Tokenly access token; the principal is the token's claims
+ */
+public class TokenlyAuthenticationToken extends AbstractAuthenticationToken {
+
+    private final TokenClaims claims;
+    private final String token;
+
+    public TokenlyAuthenticationToken(TokenClaims claims, String token, Collection<? extends GrantedAuthority> authorities) {
+        super(authorities);
+        this.claims = claims;
+        this.token = token;
+        setAuthenticated(true);
+    }
+
+    @Override
+    public TokenClaims getPrincipal() {
+        return claims;
+    }
+
+    @Override
+    public String getCredentials() {
+        return token;
+    }
+
+    @Override
+    public String getName() {
+        return claims.subject();
+    }
+}
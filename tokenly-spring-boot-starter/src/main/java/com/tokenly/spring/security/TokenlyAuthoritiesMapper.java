@@ -0,0 +1,50 @@
+package com.tokenly.spring.security;
+
+import com.tokenly.client.TokenClaims;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns token claims into authorities: {@code appId} becomes {@code <applicationPrefix><appId>},
+ * and every value of a configured claim becomes {@code <claimPrefix><value>}
+ * (e.g. {@code roles=ROLE_} maps {@code "roles": ["admin"]} to {@code ROLE_admin}).
+ */
+public class TokenlyAuthoritiesMapper {
+
+    private final String applicationPrefix;
+    private final Map<String, String> claimPrefixes;
+
+    public TokenlyAuthoritiesMapper(String applicationPrefix, Map<String, String> claimPrefixes) {
+        this.applicationPrefix = applicationPrefix;
+        this.claimPrefixes = Map.copyOf(claimPrefixes);
+    }
+
+    public Collection<GrantedAuthority> map(TokenClaims claims) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        if (claims.applicationId() != null) {
+            authorities.add(new SimpleGrantedAuthority(applicationPrefix + claims.applicationId()));
+        }
+
+        claimPrefixes.forEach((claim, prefix) -> {
+            Object value = claims.get(claim);
+            if (value instanceof Collection<?> values) {
+                values.forEach(item -> authorities.add(new SimpleGrantedAuthority(prefix + item)));
+            } else if (value instanceof String text) {
+                // Space- or comma-separated, as in an OAuth "scope" claim
+                for (String item : text.split("[\\s,]+")) {
+                    if (!item.isEmpty()) {
+                        authorities.add(new SimpleGrantedAuthority(prefix + item));
+                    }
+                }
+            } else if (value != null) {
+                authorities.add(new SimpleGrantedAuthority(prefix + value));
+            }
+        });
+        return authorities;
+    }
+}
@@ -0,0 +1,162 @@
+package com.tokenly.spring.autoconfigure;
+
+import com.tokenly.client.AccessTokenValidator;
+import com.tokenly.client.IntrospectionAccessTokenValidator;
+import com.tokenly.client.TokenClaims;
+import com.tokenly.spring.security.CachingTokenVerifier;
+import com.tokenly.spring.security.TokenRevocationState;
+import com.tokenly.spring.security.TokenlyAuthenticationFilter;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.SecurityFilterChain;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenlyResourceServerAutoConfigurationTest {
+
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hs256-signing";
+    private static final String BASE_URL = "tokenly.resource-server.base-url=http://127.0.0.1:1";
+    private static final String API_KEY = "tokenly.resource-server.api-key=pk_test";
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    TokenlyResourceServerAutoConfiguration.class,
+                    TokenlyRevocationFeedAutoConfiguration.class,
+                    SecurityAutoConfiguration.class
+            ));
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void withoutBaseUrl_ShouldBackOff() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(CachingTokenVerifier.class));
+    }
+
+    @Test
+    void withBaseUrl_ShouldProvideIntrospectingFilterAndDefaultChain() {
+        contextRunner
+                .withPropertyValues(BASE_URL, API_KEY, "tokenly.resource-server.api-secret=sk_test")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(TokenlyAuthenticationFilter.class);
+                    assertThat(context).getBean(AccessTokenValidator.class).isInstanceOf(IntrospectionAccessTokenValidator.class);
+                    assertThat(context).hasSingleBean(SecurityFilterChain.class);
+                    assertThat(context).doesNotHaveBean("tokenlyRevocationFeed");
+                });
+    }
+
+    @Test
+    void validToken_ShouldAuthenticateWithMappedAuthorities() {
+        contextRunner
+                .withPropertyValues(BASE_URL, API_KEY, "tokenly.resource-server.authority-claims.roles=ROLE_")
+                .withBean(AccessTokenValidator.class, () -> TokenlyResourceServerAutoConfigurationTest::validate)
+                .run(context -> {
+                    String subject = UUID.randomUUID().toString();
+                    Authentication authentication = authenticate(context.getBean(TokenlyAuthenticationFilter.class),
+                            token(subject, Instant.now()));
+
+                    assertThat(authentication).isNotNull();
+                    assertThat(authentication.getName()).isEqualTo(subject);
+                    assertThat(authentication.getAuthorities())
+                            .extracting(GrantedAuthority::getAuthority)
+                            .containsExactlyInAnyOrder("APP_app-1", "ROLE_admin", "ROLE_editor");
+                });
+    }
+
+    @Test
+    void tokenIssuedBeforeSubjectEpoch_ShouldNotAuthenticate() {
+        contextRunner
+                .withPropertyValues(BASE_URL, API_KEY)
+                .withBean(AccessTokenValidator.class, () -> TokenlyResourceServerAutoConfigurationTest::validate)
+                .run(context -> {
+                    String subject = UUID.randomUUID().toString();
+                    Instant issuedAt = Instant.now().minusSeconds(60);
+                    TokenlyAuthenticationFilter filter = context.getBean(TokenlyAuthenticationFilter.class);
+                    String token = token(subject, issuedAt);
+
+                    assertThat(authenticate(filter, token)).isNotNull();
+                    SecurityContextHolder.clearContext();
+
+                    context.getBean(TokenRevocationState.class).revokeSubject(subject, Instant.now().getEpochSecond());
+                    assertThat(authenticate(filter, token)).isNull();
+                });
+    }
+
+    @Test
+    void subjectEpoch_ShouldBeKeptForTheLongestTokenLifetimeNotTheJtiRetention() {
+        contextRunner
+                .withPropertyValues(BASE_URL, API_KEY)
+                .run(context -> {
+                    TokenRevocationState state = context.getBean(TokenRevocationState.class);
+                    Instant epoch = Instant.now().minus(Duration.ofHours(2));
+                    state.revokeSubject("user-1", epoch.getEpochSecond());
+
+                    state.purge();
+
+                    Instant issuedAt = epoch.minus(Duration.ofHours(1));
+                    assertThat(state.isRevoked(new TokenClaims("user-1", "app-1", null, issuedAt,
+                            issuedAt.plus(Duration.ofHours(12)), Map.of()))).isTrue();
+                });
+    }
+
+    private static Authentication authenticate(TokenlyAuthenticationFilter filter, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orders");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    /**
+     * Stands in for the server's introspection answer
+     */
+    private static Optional<TokenClaims> validate(String token) {
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            return Optional.of(new TokenClaims(claims.getSubject(), claims.get("appId", String.class), claims.getId(),
+                    claims.getIssuedAt().toInstant(), claims.getExpiration().toInstant(), Map.copyOf(claims)));
+        } catch (JwtException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String token(String subject, Instant issuedAt) {
+        return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(subject)
+                .claim("appId", "app-1")
+                .claim("roles", List.of("admin", "editor"))
+                .setIssuedAt(Date.from(issuedAt))
+                .setExpiration(Date.from(issuedAt.plusSeconds(3600)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
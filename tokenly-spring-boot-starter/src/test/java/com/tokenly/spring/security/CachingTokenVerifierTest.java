@@ -0,0 +1,39 @@
+package com.tokenly.spring.security;
+
+import com.tokenly.client.TokenClaims;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingTokenVerifierTest {
+
+    private final List<String> validated = new ArrayList<>();
+
+    private final CachingTokenVerifier verifier = new CachingTokenVerifier(token -> {
+        validated.add(token);
+        Instant now = Instant.now();
+        return Optional.of(new TokenClaims("user-1", "app-1", token, now, now.plusSeconds(600), Map.of()));
+    }, new TokenRevocationState(), 2);
+
+    @Test
+    void verify_FullCache_ShouldEvictLeastRecentlyUsedToken() {
+        // Arrange
+        verifier.verify("token-a");
+        verifier.verify("token-b");
+
+        // Act
+        verifier.verify("token-a");
+        verifier.verify("token-c");
+        verifier.verify("token-a");
+        verifier.verify("token-b");
+
+        // Assert
+        assertThat(validated).containsExactly("token-a", "token-b", "token-c", "token-b");
+    }
+}
@@ -0,0 +1,61 @@
+package com.tokenly.spring.security;
+
+import com.tokenly.client.TokenClaims;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationStateTest {
+
+    private final TokenRevocationState state = new TokenRevocationState(Duration.ofHours(1));
+
+    @Test
+    void revokeSubject_ShouldRejectTokensIssuedBeforeEpoch() {
+        // Arrange
+        Instant now = Instant.now();
+        state.revokeSubject("user-1", now.getEpochSecond());
+
+        // Act & Assert
+        assertThat(state.isRevoked(claims("user-1", null, now.minusSeconds(10)))).isTrue();
+        assertThat(state.isRevoked(claims("user-1", null, now.plusSeconds(10)))).isFalse();
+    }
+
+    @Test
+    void purge_ShouldDropEpochsOlderThanTokenLifetime() {
+        // Arrange
+        Instant now = Instant.now();
+        state.revokeSubject("stale", now.minus(Duration.ofHours(2)).getEpochSecond());
+        state.revokeSubject("recent", now.minus(Duration.ofMinutes(10)).getEpochSecond());
+
+        // Act
+        state.purge();
+
+        // Assert
+        Instant longAgo = now.minus(Duration.ofHours(3));
+        assertThat(state.isRevoked(claims("stale", null, longAgo))).isFalse();
+        assertThat(state.isRevoked(claims("recent", null, longAgo))).isTrue();
+    }
+
+    @Test
+    void purge_ShouldDropExpiredTokenIds() {
+        // Arrange
+        Instant now = Instant.now();
+        state.revokeToken("expired", now.minusSeconds(1).getEpochSecond());
+        state.revokeToken("live", now.plusSeconds(60).getEpochSecond());
+
+        // Act
+        state.purge();
+
+        // Assert
+        assertThat(state.isRevoked(claims("user-1", "expired", now))).isFalse();
+        assertThat(state.isRevoked(claims("user-1", "live", now))).isTrue();
+    }
+
+    private static TokenClaims claims(String subject, String tokenId, Instant issuedAt) {
+        return new TokenClaims(subject, "app-1", tokenId, issuedAt, issuedAt.plus(Duration.ofHours(1)), Map.of());
+    }
+}